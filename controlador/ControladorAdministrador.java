@@ -7,30 +7,51 @@ import modelo.gestores.GestorPrincipal;
 import modelo.gestores.SistemaEstacionamiento;
 import modelo.estructuras.Cola;
 import modelo.estructuras.ListaEnlazada;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 /**
  * Controlador para el panel de administrador.
  * Maneja la lógica de gestión del estacionamiento usando el sistema integrado.
  */
 public class ControladorAdministrador {
-    private final GestorPrincipal gestorPrincipal;
+    private final Supplier<GestorPrincipal> gestorPrincipal;
     private final ControladorEstadias controladorEstadias;
     
+    /**
+     * Controlador sobre la sede principal. Se puede crear aunque el sistema
+     * todavía se esté cargando: las llamadas que lleguen antes de que termine
+     * la carga la esperan (ver SistemaEstacionamiento.gestorPrincipalDiferido).
+     */
     public ControladorAdministrador() {
-        this.gestorPrincipal = SistemaEstacionamiento.getInstancia().getGestorPrincipal();
-        this.controladorEstadias = new ControladorEstadias();
-        System.out.println("ControladorAdministrador: Sistema integrado inicializado.");
+        this(SistemaEstacionamiento.gestorPrincipalDiferido());
     }
     
     /**
      * Constructor alternativo (mantiene compatibilidad pero usa sistema integrado).
      */
     public ControladorAdministrador(int numPisos, int numSectores, int numPlazasPorSector) {
-        this.gestorPrincipal = SistemaEstacionamiento.getInstancia().getGestorPrincipal();
-        this.controladorEstadias = new ControladorEstadias();
+        this();
+    }
+    
+    public ControladorAdministrador(GestorPrincipal gestorPrincipal) {
+        this(() -> gestorPrincipal);
+    }
+    
+    ControladorAdministrador(Supplier<GestorPrincipal> gestorPrincipal) {
+        this.gestorPrincipal = gestorPrincipal;
+        this.controladorEstadias = new ControladorEstadias(gestorPrincipal);
         System.out.println("ControladorAdministrador: Sistema integrado inicializado.");
     }
     
+    /**
+     * Crea el controlador cuando el sistema termine de cargarse, sin bloquear.
+     * @param sistema Futuro de SistemaEstacionamiento.inicializar().
+     */
+    public static CompletableFuture<ControladorAdministrador> crear(CompletableFuture<SistemaEstacionamiento> sistema) {
+        return sistema.thenApply(s -> new ControladorAdministrador(s.getGestorPrincipal()));
+    }
+    
     /**
      * Registra el ingreso de un vehículo al estacionamiento.
      * @param placa Placa del vehículo
@@ -44,7 +65,7 @@ public class ControladorAdministrador {
         }
         
         // Usar DNI por defecto para registro rápido
-        return gestorPrincipal.registrarIngreso(placa, tipo, "00000000");
+        return gestorPrincipal.get().registrarIngreso(placa, tipo, "00000000");
     }
     
     /**
@@ -61,11 +82,7 @@ public class ControladorAdministrador {
      * @return Ticket deshecho o null si no hay operaciones
      */
     public Ticket deshacerUltimaOperacion() {
-        modelo.estructuras.Pila<Ticket> historial = gestorPrincipal.getHistorialTickets();
-        if (!historial.estaVacia()) {
-            return historial.desapilar();
-        }
-        return null;
+        return gestorPrincipal.get().deshacerUltimaOperacion();
     }
     
     /**
@@ -73,7 +90,7 @@ public class ControladorAdministrador {
      * @return Número de elementos en la cola de espera
      */
     public int getCantidadEnEspera() {
-        return gestorPrincipal.getCantidadEnEspera();
+        return gestorPrincipal.get().getCantidadEnEspera();
     }
     
     /**
@@ -81,7 +98,7 @@ public class ControladorAdministrador {
      * @return Número de elementos en la pila de historial
      */
     public int getCantidadEnHistorial() {
-        return gestorPrincipal.getHistorialTickets().getTamano();
+        return gestorPrincipal.get().getHistorialTickets().getTamano();
     }
     
     /**
@@ -89,7 +106,11 @@ public class ControladorAdministrador {
      * @return Cola de solicitudes en espera
      */
     public Cola<SolicitudEspera> getColaEspera() {
-        return new Cola<>();
+        Cola<SolicitudEspera> cola = new Cola<>();
+        for (SolicitudEspera solicitud : gestorPrincipal.get().obtenerSolicitudesEnEspera()) {
+            cola.encolar(solicitud);
+        }
+        return cola;
     }
     
     /**
@@ -97,7 +118,7 @@ public class ControladorAdministrador {
      * @return Lista enlazada de todos los tickets
      */
     public ListaEnlazada<Ticket> getTodosLosTickets() {
-        return gestorPrincipal.getTodosLosTickets();
+        return gestorPrincipal.get().getTodosLosTickets();
     }
     
     /**
@@ -105,7 +126,7 @@ public class ControladorAdministrador {
      * @return Lista enlazada de tickets activos
      */
     public ListaEnlazada<Ticket> getTicketsActivos() {
-        return gestorPrincipal.getTicketsActivos();
+        return gestorPrincipal.get().getTicketsActivos();
     }
     
     /**
@@ -119,7 +140,7 @@ public class ControladorAdministrador {
         }
         
         try {
-            Ticket ticketSalida = gestorPrincipal.registrarSalida(ticket.getVehiculo().getPlaca());
+            Ticket ticketSalida = gestorPrincipal.get().registrarSalida(ticket.getVehiculo().getPlaca());
             return ticketSalida;
         } catch (Exception e) {
             System.err.println("Error al registrar egreso: " + e.getMessage());
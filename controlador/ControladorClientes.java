@@ -5,6 +5,8 @@ import modelo.entidades.TipoUsuario;
 import modelo.estructuras.ListaEnlazada;
 import modelo.gestores.GestorPrincipal;
 import modelo.gestores.SistemaEstacionamiento;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 /**
  * Controlador para gestionar las operaciones del módulo de Clientes/Usuarios.
@@ -12,10 +14,31 @@ import modelo.gestores.SistemaEstacionamiento;
  */
 public class ControladorClientes {
   
-  private GestorPrincipal gestorPrincipal;
+  private final Supplier<GestorPrincipal> gestorPrincipal;
   
+  /**
+   * Controlador sobre la sede principal. Se puede crear aunque el sistema
+   * todavía se esté cargando: las llamadas que lleguen antes de que termine
+   * la carga la esperan (ver SistemaEstacionamiento.gestorPrincipalDiferido).
+   */
   public ControladorClientes() {
-    this.gestorPrincipal = SistemaEstacionamiento.getInstancia().getGestorPrincipal();
+    this(SistemaEstacionamiento.gestorPrincipalDiferido());
+  }
+  
+  public ControladorClientes(GestorPrincipal gestorPrincipal) {
+    this(() -> gestorPrincipal);
+  }
+  
+  ControladorClientes(Supplier<GestorPrincipal> gestorPrincipal) {
+    this.gestorPrincipal = gestorPrincipal;
+  }
+  
+  /**
+   * Crea el controlador cuando el sistema termine de cargarse, sin bloquear.
+   * @param sistema Futuro de SistemaEstacionamiento.inicializar().
+   */
+  public static CompletableFuture<ControladorClientes> crear(CompletableFuture<SistemaEstacionamiento> sistema) {
+    return sistema.thenApply(s -> new ControladorClientes(s.getGestorPrincipal()));
   }
   
   /**
@@ -46,45 +69,45 @@ public class ControladorClientes {
       nuevoCliente.agregarVehiculo(placaInicial.trim().toUpperCase());
     }
     
-    return gestorPrincipal.registrarCliente(nuevoCliente);
+    return gestorPrincipal.get().registrarCliente(nuevoCliente);
   }
   
   /**
    * Busca un cliente por DNI (usa árbol binario O(log n)).
    */
   public Cliente buscarPorDni(String dni) {
-    return gestorPrincipal.buscarCliente(dni);
+    return gestorPrincipal.get().buscarCliente(dni);
+  }
+  
+  /**
+   * Obtiene los clientes con DNI entre los dos valores dados (inclusive).
+   */
+  public ListaEnlazada<Cliente> buscarPorRangoDni(String desdeDni, String hastaDni) {
+    if (desdeDni == null || hastaDni == null) {
+      return new ListaEnlazada<>();
+    }
+    return gestorPrincipal.get().buscarClientesPorRangoDni(desdeDni.trim(), hastaDni.trim());
   }
   
   /**
    * Obtiene todos los clientes (recorrido inorden del árbol).
    */
   public ListaEnlazada<Cliente> obtenerTodosLosClientes() {
-    return gestorPrincipal.obtenerTodosLosClientes();
+    return gestorPrincipal.get().obtenerTodosLosClientes();
   }
   
   /**
    * Agrega un vehículo a un cliente.
    */
   public boolean agregarVehiculoACliente(String dni, String placa) {
-    Cliente cliente = gestorPrincipal.buscarCliente(dni);
-    if (cliente != null && placa != null && !placa.trim().isEmpty()) {
-      cliente.agregarVehiculo(placa.trim().toUpperCase());
-      return true;
-    }
-    return false;
+    return gestorPrincipal.get().agregarVehiculoACliente(dni, placa);
   }
   
   /**
    * Elimina un vehículo de un cliente.
    */
   public boolean eliminarVehiculoDeCliente(String dni, String placa) {
-    Cliente cliente = gestorPrincipal.buscarCliente(dni);
-    if (cliente != null && placa != null) {
-      cliente.eliminarVehiculo(placa.trim().toUpperCase());
-      return true;
-    }
-    return false;
+    return gestorPrincipal.get().eliminarVehiculoDeCliente(dni, placa);
   }
   
   /**
@@ -93,32 +116,46 @@ public class ControladorClientes {
   public boolean modificarCliente(String dni, String nombres, String apellidos,
                                    String correo, String telefono, String direccion,
                                    String genero, TipoUsuario tipo) {
-    Cliente cliente = gestorPrincipal.buscarCliente(dni);
-    if (cliente == null) {
-      return false;
-    }
-    
-    cliente.setNombres(nombres);
-    cliente.setApellidos(apellidos);
-    cliente.setCorreo(correo);
-    cliente.setTelefono(telefono);
-    cliente.setDireccion(direccion);
-    cliente.setGenero(genero);
-    cliente.setTipoUsuario(tipo);
-    
-    return true;
+    return gestorPrincipal.get().modificarCliente(dni, nombres, apellidos, correo,
+                                            telefono, direccion, genero, tipo);
   }
   
   /**
    * Elimina (desactiva) un cliente.
    */
   public boolean eliminarCliente(String dni) {
-    Cliente cliente = gestorPrincipal.buscarCliente(dni);
-    if (cliente == null) {
-      return false;
-    }
-    
-    cliente.setActivo(false);
-    return true;
+    return gestorPrincipal.get().desactivarCliente(dni);
+  }
+  
+  // Variantes asíncronas: corren en el hilo de E/S (ver TareasAsincronas).
+  
+  public CompletableFuture<Boolean> registrarClienteAsync(String dni, String nombres, String apellidos,
+                                                          String correo, String telefono, String direccion,
+                                                          String genero, TipoUsuario tipo, String placaInicial) {
+    return TareasAsincronas.enIO(() -> registrarCliente(dni, nombres, apellidos, correo, telefono,
+                                                        direccion, genero, tipo, placaInicial));
+  }
+  
+  public CompletableFuture<Boolean> modificarClienteAsync(String dni, String nombres, String apellidos,
+                                                          String correo, String telefono, String direccion,
+                                                          String genero, TipoUsuario tipo) {
+    return TareasAsincronas.enIO(() -> modificarCliente(dni, nombres, apellidos, correo, telefono,
+                                                        direccion, genero, tipo));
+  }
+  
+  public CompletableFuture<Boolean> eliminarClienteAsync(String dni) {
+    return TareasAsincronas.enIO(() -> eliminarCliente(dni));
+  }
+  
+  public CompletableFuture<Boolean> agregarVehiculoAClienteAsync(String dni, String placa) {
+    return TareasAsincronas.enIO(() -> agregarVehiculoACliente(dni, placa));
+  }
+  
+  public CompletableFuture<Boolean> eliminarVehiculoDeClienteAsync(String dni, String placa) {
+    return TareasAsincronas.enIO(() -> eliminarVehiculoDeCliente(dni, placa));
+  }
+  
+  public CompletableFuture<ListaEnlazada<Cliente>> obtenerTodosLosClientesAsync() {
+    return TareasAsincronas.enIO(this::obtenerTodosLosClientes);
   }
 }
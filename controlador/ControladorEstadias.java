@@ -4,8 +4,11 @@ import modelo.entidades.Ticket;
 import modelo.entidades.TipoVehiculo;
 import modelo.estructuras.ListaEnlazada;
 import modelo.estructuras.Pila;
+import modelo.gestores.EstadisticasSistema;
 import modelo.gestores.GestorPrincipal;
 import modelo.gestores.SistemaEstacionamiento;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 /**
  * Controlador para gestionar ingresos y salidas del estacionamiento.
@@ -13,10 +16,35 @@ import modelo.gestores.SistemaEstacionamiento;
  */
 public class ControladorEstadias {
   
-  private final GestorPrincipal gestorPrincipal;
+  private final Supplier<GestorPrincipal> gestorPrincipal;
   
+  /**
+   * Controlador sobre la sede principal. Se puede crear aunque el sistema
+   * todavía se esté cargando: las llamadas que lleguen antes de que termine
+   * la carga la esperan (ver SistemaEstacionamiento.gestorPrincipalDiferido).
+   */
   public ControladorEstadias() {
-    this.gestorPrincipal = SistemaEstacionamiento.getInstancia().getGestorPrincipal();
+    this(SistemaEstacionamiento.gestorPrincipalDiferido());
+  }
+  
+  /**
+   * Controlador sobre un gestor propio (por ejemplo, el de una simulación
+   * con su carpeta de datos aparte).
+   */
+  public ControladorEstadias(GestorPrincipal gestorPrincipal) {
+    this(() -> gestorPrincipal);
+  }
+  
+  ControladorEstadias(Supplier<GestorPrincipal> gestorPrincipal) {
+    this.gestorPrincipal = gestorPrincipal;
+  }
+  
+  /**
+   * Crea el controlador cuando el sistema termine de cargarse, sin bloquear.
+   * @param sistema Futuro de SistemaEstacionamiento.inicializar().
+   */
+  public static CompletableFuture<ControladorEstadias> crear(CompletableFuture<SistemaEstacionamiento> sistema) {
+    return sistema.thenApply(s -> new ControladorEstadias(s.getGestorPrincipal()));
   }
   
   /**
@@ -48,7 +76,7 @@ public class ControladorEstadias {
       return null;
     }
     
-    return gestorPrincipal.registrarIngreso(
+    return gestorPrincipal.get().registrarIngreso(
       placa.trim().toUpperCase(), 
       tipo, 
       dniCliente.trim()
@@ -75,7 +103,7 @@ public class ControladorEstadias {
       return null;
     }
     
-    return gestorPrincipal.registrarSalida(placa.trim().toUpperCase());
+    return gestorPrincipal.get().registrarSalida(placa.trim().toUpperCase());
   }
   
   /**
@@ -88,7 +116,7 @@ public class ControladorEstadias {
       return false;
     }
     
-    return gestorPrincipal.registrarPago(codigoTicket);
+    return gestorPrincipal.get().registrarPago(codigoTicket);
   }
   
   /**
@@ -96,7 +124,7 @@ public class ControladorEstadias {
    * @return Lista de tickets activos
    */
   public ListaEnlazada<Ticket> obtenerTicketsActivos() {
-    return gestorPrincipal.getTicketsActivos();
+    return gestorPrincipal.get().getTicketsActivos();
   }
   
   /**
@@ -104,7 +132,7 @@ public class ControladorEstadias {
    * @return Pila con historial de tickets
    */
   public Pila<Ticket> obtenerHistorialTickets() {
-    return gestorPrincipal.getHistorialTickets();
+    return gestorPrincipal.get().getHistorialTickets();
   }
   
   /**
@@ -112,7 +140,7 @@ public class ControladorEstadias {
    * @return Cantidad de vehículos activos
    */
   public int getCantidadVehiculosEnEstacionamiento() {
-    return gestorPrincipal.getCantidadVehiculosEnEstacionamiento();
+    return gestorPrincipal.get().getCantidadVehiculosEnEstacionamiento();
   }
   
   /**
@@ -120,7 +148,7 @@ public class ControladorEstadias {
    * @return Cantidad de solicitudes en cola
    */
   public int getCantidadEnEspera() {
-    return gestorPrincipal.getCantidadEnEspera();
+    return gestorPrincipal.get().getCantidadEnEspera();
   }
   
   /**
@@ -133,20 +161,11 @@ public class ControladorEstadias {
       return null;
     }
     
-    ListaEnlazada<Ticket> activos = obtenerTicketsActivos();
-    for (int i = 0; i < activos.getTamano(); i++) {
-      Ticket t = activos.get(i);
-      if (t != null && t.getVehiculo() != null && 
-          t.getVehiculo().getPlaca().equalsIgnoreCase(placa.trim())) {
-        return t;
-      }
-    }
-    
-    return null;
+    return gestorPrincipal.get().buscarTicketActivoPorPlaca(placa);
   }
   
   /**
-   * Busca un ticket por su código.
+   * Busca un ticket activo por su código (índice hash del gestor, O(1)).
    * @param codigo Código del ticket
    * @return Ticket encontrado o null
    */
@@ -155,12 +174,9 @@ public class ControladorEstadias {
       return null;
     }
     
-    ListaEnlazada<Ticket> activos = obtenerTicketsActivos();
-    for (int i = 0; i < activos.getTamano(); i++) {
-      Ticket t = activos.get(i);
-      if (t != null && t.getCodigo().equals(codigo)) {
-        return t;
-      }
+    Ticket t = gestorPrincipal.get().buscarTicketPorCodigo(codigo);
+    if (t != null && t.getEstado() == Ticket.EstadoTicket.ACTIVO) {
+      return t;
     }
     
     return null;
@@ -171,31 +187,36 @@ public class ControladorEstadias {
    * @return String con estadísticas formateadas
    */
   public String obtenerEstadisticas() {
-    int totalActivos = getCantidadVehiculosEnEstacionamiento();
-    int totalEspera = getCantidadEnEspera();
-    Pila<Ticket> historial = obtenerHistorialTickets();
-    int totalHistorial = historial.getTamano();
-    
-    double ingresoTotal = 0.0;
-    Pila<Ticket> temp = new Pila<>();
+    EstadisticasSistema estadisticas = gestorPrincipal.get().getEstadisticas();
+    int totalActivos = estadisticas.getTicketsActivos();
+    int totalEspera = estadisticas.getEnEspera();
+    int totalHistorial = obtenerHistorialTickets().getTamano();
     
-    // Calcular ingreso total sin perder datos de la pila
-    while (!historial.estaVacia()) {
-      Ticket t = historial.desapilar();
-      if (t != null && t.isPagado()) {
-        ingresoTotal += t.getMontoAPagar();
-      }
-      temp.apilar(t);
-    }
-    
-    // Restaurar la pila original
-    while (!temp.estaVacia()) {
-      historial.apilar(temp.desapilar());
-    }
+    // Ingreso mantenido por el gestor en cada pago (sin vaciar la pila)
+    double ingresoTotal = gestorPrincipal.get().getIngresoHistorial();
     
     return String.format(
       "Tickets Activos: %d | Historial: %d | En Espera: %d | Ingreso Total: S/. %.2f",
       totalActivos, totalHistorial, totalEspera, ingresoTotal
     );
   }
+  
+  // Variantes asíncronas: corren en el hilo de E/S (ver TareasAsincronas)
+  // para que la reescritura de archivos no congele la interfaz.
+  
+  public CompletableFuture<Ticket> registrarIngresoAsync(String placa, TipoVehiculo tipo, String dniCliente) {
+    return TareasAsincronas.enIO(() -> registrarIngreso(placa, tipo, dniCliente));
+  }
+  
+  public CompletableFuture<Ticket> registrarSalidaAsync(String placa) {
+    return TareasAsincronas.enIO(() -> registrarSalida(placa));
+  }
+  
+  public CompletableFuture<Boolean> registrarPagoAsync(String codigoTicket) {
+    return TareasAsincronas.enIO(() -> registrarPago(codigoTicket));
+  }
+  
+  public CompletableFuture<ListaEnlazada<Ticket>> obtenerTicketsActivosAsync() {
+    return TareasAsincronas.enIO(this::obtenerTicketsActivos);
+  }
 }
@@ -3,8 +3,11 @@ package controlador;
 import modelo.entidades.TipoVehiculo;
 import modelo.entidades.Vehiculo;
 import modelo.estructuras.ListaEnlazada;
+import modelo.gestores.EstadisticasSistema;
 import modelo.gestores.GestorPrincipal;
 import modelo.gestores.SistemaEstacionamiento;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 /**
  * Controlador para el módulo de vehículos.
@@ -12,10 +15,31 @@ import modelo.gestores.SistemaEstacionamiento;
  */
 public class ControladorVehiculos {
   
-  private final GestorPrincipal gestorPrincipal;
+  private final Supplier<GestorPrincipal> gestorPrincipal;
   
+  /**
+   * Controlador sobre la sede principal. Se puede crear aunque el sistema
+   * todavía se esté cargando: las llamadas que lleguen antes de que termine
+   * la carga la esperan (ver SistemaEstacionamiento.gestorPrincipalDiferido).
+   */
   public ControladorVehiculos() {
-    this.gestorPrincipal = SistemaEstacionamiento.getInstancia().getGestorPrincipal();
+    this(SistemaEstacionamiento.gestorPrincipalDiferido());
+  }
+  
+  public ControladorVehiculos(GestorPrincipal gestorPrincipal) {
+    this(() -> gestorPrincipal);
+  }
+  
+  ControladorVehiculos(Supplier<GestorPrincipal> gestorPrincipal) {
+    this.gestorPrincipal = gestorPrincipal;
+  }
+  
+  /**
+   * Crea el controlador cuando el sistema termine de cargarse, sin bloquear.
+   * @param sistema Futuro de SistemaEstacionamiento.inicializar().
+   */
+  public static CompletableFuture<ControladorVehiculos> crear(CompletableFuture<SistemaEstacionamiento> sistema) {
+    return sistema.thenApply(s -> new ControladorVehiculos(s.getGestorPrincipal()));
   }
   
   /**
@@ -41,7 +65,7 @@ public class ControladorVehiculos {
                                            dniPropietario.trim(), marca, modelo, color);
     
     // GestorPrincipal valida que el propietario exista
-    return gestorPrincipal.registrarVehiculo(nuevoVehiculo);
+    return gestorPrincipal.get().registrarVehiculo(nuevoVehiculo);
   }
   
   /**
@@ -51,59 +75,58 @@ public class ControladorVehiculos {
     if (placa == null || placa.trim().isEmpty()) {
       return null;
     }
-    return gestorPrincipal.buscarVehiculo(placa.trim().toUpperCase());
+    return gestorPrincipal.get().buscarVehiculo(placa.trim().toUpperCase());
+  }
+  
+  /**
+   * Busca vehículos cuya placa empieza por el texto ingresado (entrada parcial).
+   */
+  public ListaEnlazada<Vehiculo> buscarPorPlacaParcial(String placaParcial) {
+    if (placaParcial == null || placaParcial.trim().isEmpty()) {
+      return new ListaEnlazada<>();
+    }
+    return gestorPrincipal.get().buscarVehiculosPorPrefijoPlaca(placaParcial.trim());
   }
   
   /**
    * Busca vehículos por DNI del propietario.
    */
   public ListaEnlazada<Vehiculo> buscarPorPropietario(String dniPropietario) {
-    return gestorPrincipal.buscarVehiculosPorPropietario(dniPropietario);
+    return gestorPrincipal.get().buscarVehiculosPorPropietario(dniPropietario);
   }
   
   /**
    * Obtiene todos los vehículos registrados (recorrido inorden del árbol).
    */
   public ListaEnlazada<Vehiculo> obtenerTodosLosVehiculos() {
-    return gestorPrincipal.obtenerTodosLosVehiculos();
+    return gestorPrincipal.get().obtenerTodosLosVehiculos();
   }
   
   /**
    * Obtiene estadísticas de vehículos por tipo.
    */
   public String obtenerEstadisticas() {
-    ListaEnlazada<Vehiculo> todos = gestorPrincipal.obtenerTodosLosVehiculos();
-    int total = todos.getTamano();
-    int bicicletas = 0;
-    int motos = 0;
-    int autos = 0;
-    int suvs = 0;
-    int minivans = 0;
-    
-    for (int i = 0; i < total; i++) {
-      Vehiculo v = todos.get(i);
-      if (v != null) {
-        switch (v.getTipo()) {
-          case BICICLETA:
-            bicicletas++;
-            break;
-          case MOTO:
-            motos++;
-            break;
-          case AUTO:
-            autos++;
-            break;
-          case SUV:
-            suvs++;
-            break;
-          case MINIVAN:
-            minivans++;
-            break;
-        }
-      }
-    }
+    // Contadores mantenidos por el gestor en cada alta: sin recorrer el árbol
+    EstadisticasSistema estadisticas = gestorPrincipal.get().getEstadisticas();
+    int total = estadisticas.getTotalVehiculos();
+    int bicicletas = estadisticas.getVehiculos(TipoVehiculo.BICICLETA);
+    int motos = estadisticas.getVehiculos(TipoVehiculo.MOTO);
+    int autos = estadisticas.getVehiculos(TipoVehiculo.AUTO);
+    int suvs = estadisticas.getVehiculos(TipoVehiculo.SUV);
+    int minivans = estadisticas.getVehiculos(TipoVehiculo.MINIVAN);
     
     return String.format("Total: %d | Bicicletas: %d | Motos: %d | Autos: %d | SUVs: %d | Minivans: %d",
                         total, bicicletas, motos, autos, suvs, minivans);
   }
+  
+  // Variantes asíncronas: corren en el hilo de E/S (ver TareasAsincronas).
+  
+  public CompletableFuture<Boolean> registrarVehiculoAsync(String placa, TipoVehiculo tipo, String dniPropietario,
+                                                           String marca, String modelo, String color) {
+    return TareasAsincronas.enIO(() -> registrarVehiculo(placa, tipo, dniPropietario, marca, modelo, color));
+  }
+  
+  public CompletableFuture<ListaEnlazada<Vehiculo>> obtenerTodosLosVehiculosAsync() {
+    return TareasAsincronas.enIO(this::obtenerTodosLosVehiculos);
+  }
 }
@@ -0,0 +1,88 @@
+package controlador;
+
+import java.awt.EventQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Ejecutor de E/S de los controladores y ayudas para volver al hilo de
+ * Swing (EDT).
+ * <p>
+ * Las variantes *Async de los controladores corren en un único hilo de E/S
+ * ("io-controladores"), así que se aplican en el mismo orden en que la
+ * interfaz las pidió y la lectura o reescritura de archivos nunca ocupa el
+ * EDT. Uso típico desde una ventana:
+ * <pre>
+ *   TareasAsincronas.alTerminar(controlador.registrarSalidaAsync(placa),
+ *       ticket -&gt; mostrarTicket(ticket),
+ *       error -&gt; mostrarError(error));
+ * </pre>
+ */
+public final class TareasAsincronas {
+
+  private static final ExecutorService EJECUTOR_IO = Executors.newSingleThreadExecutor(tarea -> {
+    Thread hilo = new Thread(tarea, "io-controladores");
+    hilo.setDaemon(true);
+    return hilo;
+  });
+
+  /** Ejecuta en el hilo de eventos de Swing. */
+  public static final Executor EDT = EventQueue::invokeLater;
+
+  private TareasAsincronas() {
+  }
+
+  /**
+   * Ejecuta una operación de los controladores en el hilo de E/S.
+   * @return Futuro con su resultado o con la excepción que lanzó.
+   */
+  public static <T> CompletableFuture<T> enIO(Supplier<T> operacion) {
+    return CompletableFuture.supplyAsync(operacion, EJECUTOR_IO);
+  }
+
+  /**
+   * El mismo resultado, pero completado en el EDT: las continuaciones no
+   * asíncronas que se encadenen pueden tocar componentes Swing.
+   */
+  public static <T> CompletableFuture<T> enEDT(CompletableFuture<T> futuro) {
+    CompletableFuture<T> enEdt = new CompletableFuture<>();
+    futuro.whenComplete((resultado, error) -> EDT.execute(() -> {
+      if (error != null) {
+        enEdt.completeExceptionally(error);
+      } else {
+        enEdt.complete(resultado);
+      }
+    }));
+    return enEdt;
+  }
+
+  /**
+   * Entrega el resultado (o el error) en el EDT cuando el futuro termina.
+   * @param exito Recibe el resultado en el EDT.
+   * @param error Recibe la causa original (sin CompletionException) en el
+   *        EDT; null la ignora.
+   */
+  public static <T> void alTerminar(CompletableFuture<T> futuro, Consumer<? super T> exito,
+                                    Consumer<Throwable> error) {
+    futuro.whenComplete((resultado, falla) -> EDT.execute(() -> {
+      if (falla == null) {
+        exito.accept(resultado);
+      } else if (error != null) {
+        error.accept(falla instanceof CompletionException && falla.getCause() != null
+            ? falla.getCause() : falla);
+      }
+    }));
+  }
+
+  /**
+   * Termina el hilo de E/S después de las operaciones pendientes.
+   */
+  public static void cerrar() {
+    EJECUTOR_IO.shutdown();
+  }
+}
@@ -0,0 +1,72 @@
+package main;
+
+import modelo.estructuras.Cola;
+import modelo.estructuras.ColaCircular;
+import modelo.estructuras.ICola;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Medición sin interfaz de la basura que genera la lista de espera: compara
+ * ColaCircular con la Cola enlazada en régimen estable (la cola ya tiene
+ * cierta cantidad de elementos y cada operación encola uno y desencola
+ * otro, como en hora punta con el estacionamiento lleno).
+ * <p>
+ * Informa los bytes asignados por par encolar + desencolar, según el
+ * contador de memoria del propio hilo, y el tiempo por par. Los elementos
+ * se crean antes de medir, así que solo cuenta lo que asigna la cola.
+ * ColaCircular debería quedar en 0 bytes; la Cola asigna un nodo por
+ * elemento encolado.
+ * <p>
+ * Uso: java main.MedicionColaCircular [operaciones] [elementos en la cola]
+ */
+public class MedicionColaCircular {
+
+  public static void main(String[] args) {
+    int operaciones = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+    int enCola = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+
+    com.sun.management.ThreadMXBean hilos = contadorDeHilos();
+    Object[] elementos = new Object[enCola + 1];
+    for (int i = 0; i < elementos.length; i++) {
+      elementos[i] = new Object();
+    }
+
+    System.out.printf("%d pares encolar + desencolar con %d elementos en la cola%n", operaciones, enCola);
+    System.out.printf("%-14s %16s %12s%n", "Cola", "Bytes por par", "ns por par");
+    for (int vuelta = 0; vuelta < 2; vuelta++) { // La primera vuelta calienta
+      medir("ColaCircular", new ColaCircular<>(), elementos, operaciones, hilos, vuelta == 1);
+      medir("Cola", new Cola<>(), elementos, operaciones, hilos, vuelta == 1);
+    }
+  }
+
+  private static void medir(String nombre, ICola<Object> cola, Object[] elementos, int operaciones,
+                            com.sun.management.ThreadMXBean hilos, boolean imprimir) {
+    // Llenar hasta el régimen estable (aquí la ColaCircular crece a su tamaño)
+    for (int i = 0; i < elementos.length - 1; i++) {
+      cola.encolar(elementos[i]);
+    }
+    long hilo = Thread.currentThread().threadId();
+    long bytesAntes = hilos.getThreadAllocatedBytes(hilo);
+    long inicio = System.nanoTime();
+    for (int i = 0; i < operaciones; i++) {
+      cola.encolar(elementos[i % elementos.length]);
+      cola.desencolar();
+    }
+    long ns = System.nanoTime() - inicio;
+    long bytes = hilos.getThreadAllocatedBytes(hilo) - bytesAntes;
+    if (imprimir) {
+      System.out.printf("%-14s %16.2f %12.1f%n", nombre,
+          (double) bytes / operaciones, (double) ns / operaciones);
+    }
+  }
+
+  private static com.sun.management.ThreadMXBean contadorDeHilos() {
+    if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+      throw new IllegalStateException("Esta JVM no informa la memoria asignada por hilo");
+    }
+    com.sun.management.ThreadMXBean hilos =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    hilos.setThreadAllocatedMemoryEnabled(true);
+    return hilos;
+  }
+}
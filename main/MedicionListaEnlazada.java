@@ -0,0 +1,81 @@
+package main;
+
+import modelo.estructuras.ListaEnlazada;
+
+/**
+ * Medición sin interfaz del recorrido de ListaEnlazada: compara el bucle por
+ * índice que usaban el gestor, los DAO y los controladores
+ * ({@code for (i < getTamano()) lista.get(i)}, O(n²) porque cada get(i)
+ * camina desde la cabeza) con el for-each sobre el iterador y con forEach,
+ * ambos O(n).
+ * <p>
+ * Informa el tiempo de llenar la lista con agregarAlFinal (O(1) con el
+ * puntero a la cola) y el de cada recorrido, y verifica que los tres sumen
+ * lo mismo. El bucle por índice tarda segundos con 100.000 elementos: se
+ * mide una sola vez, después de calentar con una lista más chica.
+ * <p>
+ * Uso: java main.MedicionListaEnlazada [elementos]
+ */
+public class MedicionListaEnlazada {
+
+  public static void main(String[] args) {
+    int elementos = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+
+    // Vuelta de calentamiento con una lista chica
+    medir(Math.min(elementos, 5_000), false);
+    medir(elementos, true);
+  }
+
+  private static void medir(int elementos, boolean imprimir) {
+    Integer[] valores = new Integer[elementos];
+    for (int i = 0; i < elementos; i++) {
+      valores[i] = i;
+    }
+
+    long inicio = System.nanoTime();
+    ListaEnlazada<Integer> lista = new ListaEnlazada<>();
+    for (Integer valor : valores) {
+      lista.agregarAlFinal(valor);
+    }
+    long nsLlenar = System.nanoTime() - inicio;
+
+    inicio = System.nanoTime();
+    long sumaIndice = 0;
+    for (int i = 0; i < lista.getTamano(); i++) {
+      sumaIndice += lista.get(i);
+    }
+    long nsIndice = System.nanoTime() - inicio;
+
+    inicio = System.nanoTime();
+    long sumaIterador = 0;
+    for (Integer valor : lista) {
+      sumaIterador += valor;
+    }
+    long nsIterador = System.nanoTime() - inicio;
+
+    inicio = System.nanoTime();
+    long[] sumaForEach = new long[1];
+    lista.forEach(valor -> sumaForEach[0] += valor);
+    long nsForEach = System.nanoTime() - inicio;
+
+    if (sumaIndice != sumaIterador || sumaIterador != sumaForEach[0]) {
+      throw new IllegalStateException("Los recorridos no coinciden: " + sumaIndice + ", "
+          + sumaIterador + ", " + sumaForEach[0]);
+    }
+    if (!imprimir) {
+      return;
+    }
+    System.out.printf("ListaEnlazada con %d elementos%n", elementos);
+    System.out.printf("%-26s %14s %14s%n", "Operación", "ms", "ns por elemento");
+    imprimir("agregarAlFinal (llenar)", nsLlenar, elementos);
+    imprimir("get(i) por índice", nsIndice, elementos);
+    imprimir("for-each (iterador)", nsIterador, elementos);
+    imprimir("forEach", nsForEach, elementos);
+    System.out.printf("El iterador es %.0f veces más rápido que el bucle por índice%n",
+        (double) nsIndice / Math.max(1, nsIterador));
+  }
+
+  private static void imprimir(String operacion, long ns, int elementos) {
+    System.out.printf("%-26s %14.2f %14.1f%n", operacion, ns / 1_000_000.0, (double) ns / elementos);
+  }
+}
@@ -0,0 +1,101 @@
+package main;
+
+import modelo.entidades.AlmacenPlazas;
+import modelo.entidades.EstadoPlaza;
+import modelo.entidades.Plaza;
+import modelo.entidades.TipoVehiculo;
+import modelo.entidades.Topologia;
+import modelo.gestores.IndiceOcupacion;
+import modelo.gestores.PoliticaAsignacion;
+import java.util.Random;
+
+/**
+ * Medición sin interfaz del costo de ingreso y salida en el IndiceOcupacion
+ * con plazas por tipo: para cada tamaño de estacionamiento lo llena al 95%
+ * y mide el tiempo medio de un par salida + ingreso (liberar una plaza
+ * ocupada al azar y pedir una libre para un tipo al azar). Si la elección es
+ * O(1), el tiempo por par no crece con la cantidad de plazas.
+ * <p>
+ * Cada piso tiene seis sectores con tipo (A bicicletas, B motos, C y D
+ * autos, E SUV y F minivans) de 100 plazas. No toca archivos.
+ * <p>
+ * Uso: java main.MedicionOcupacion [operaciones por medición]
+ */
+public class MedicionOcupacion {
+
+  private static final int[] PLAZAS = {1_200, 12_000, 120_000};
+  private static final double OCUPACION = 0.95;
+  private static final int PLAZAS_POR_SECTOR = 100;
+  private static final TipoVehiculo[] TIPO_SECTOR = {
+    TipoVehiculo.BICICLETA, TipoVehiculo.MOTO, TipoVehiculo.AUTO,
+    TipoVehiculo.AUTO, TipoVehiculo.SUV, TipoVehiculo.MINIVAN
+  };
+  private static final TipoVehiculo[] TIPOS = TipoVehiculo.values();
+
+  public static void main(String[] args) {
+    int operaciones = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+
+    System.out.printf("Ocupación %.0f%% | %d pares salida + ingreso por medición%n",
+        OCUPACION * 100, operaciones);
+    System.out.printf("%-14s %10s %14s %12s%n", "Política", "Plazas", "ns por par", "Sin plaza");
+    for (PoliticaAsignacion.Tipo politica : PoliticaAsignacion.Tipo.values()) {
+      for (int plazas : PLAZAS) {
+        medir(politica, plazas, operaciones / 4, false); // Calentamiento
+        medir(politica, plazas, operaciones, true);
+      }
+    }
+  }
+
+  private static void medir(PoliticaAsignacion.Tipo politica, int plazas, int operaciones,
+                            boolean imprimir) {
+    AlmacenPlazas almacen = new AlmacenPlazas(crearTopologia(plazas));
+    IndiceOcupacion indice = IndiceOcupacion.crear(almacen);
+    indice.setPolitica(politica.crear(almacen.getTamano()));
+    Random azar = new Random(7);
+
+    // Llenar al 95% respetando los tipos: se guardan las ocupadas para
+    // liberarlas al azar en O(1)
+    int objetivo = (int) (almacen.getTamano() * OCUPACION);
+    int[] ocupadas = new int[almacen.getTamano()];
+    int cantidad = 0;
+    while (cantidad < objetivo) {
+      Plaza plaza = indice.libreParaTipo(TIPOS[azar.nextInt(TIPOS.length)]);
+      if (plaza != null) {
+        plaza.setEstado(EstadoPlaza.OCUPADA);
+        ocupadas[cantidad++] = plaza.getIndice();
+      }
+    }
+
+    int sinPlaza = 0;
+    long inicio = System.nanoTime();
+    for (int i = 0; i < operaciones; i++) {
+      int posicion = azar.nextInt(cantidad);
+      almacen.getPlaza(ocupadas[posicion]).setEstado(EstadoPlaza.LIBRE);
+      Plaza plaza = indice.libreParaTipo(TIPOS[azar.nextInt(TIPOS.length)]);
+      if (plaza == null) {
+        // Ningún sector compatible: la plaza liberada se vuelve a ocupar
+        plaza = almacen.getPlaza(ocupadas[posicion]);
+        sinPlaza++;
+      }
+      plaza.setEstado(EstadoPlaza.OCUPADA);
+      ocupadas[posicion] = plaza.getIndice();
+    }
+    long ns = System.nanoTime() - inicio;
+
+    if (imprimir) {
+      System.out.printf("%-14s %10d %14.1f %11.1f%%%n", politica, almacen.getTamano(),
+          (double) ns / operaciones, 100.0 * sinPlaza / operaciones);
+    }
+  }
+
+  private static Topologia crearTopologia(int plazas) {
+    Topologia topologia = new Topologia();
+    int pisos = plazas / (PLAZAS_POR_SECTOR * TIPO_SECTOR.length);
+    for (int piso = 1; piso <= pisos; piso++) {
+      for (int s = 0; s < TIPO_SECTOR.length; s++) {
+        topologia.agregarTramo(piso, (char) ('A' + s), PLAZAS_POR_SECTOR, TIPO_SECTOR[s]);
+      }
+    }
+    return topologia;
+  }
+}
@@ -0,0 +1,418 @@
+package main;
+
+import controlador.ControladorEstadias;
+import modelo.entidades.EstadoPlaza;
+import modelo.entidades.Ticket;
+import modelo.entidades.TipoVehiculo;
+import modelo.estructuras.Histograma;
+import modelo.gestores.GestorPrincipal;
+import modelo.gestores.PoliticaAsignacion;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Simulador sin interfaz de la hora punta en las puertas del estacionamiento.
+ * Cada vehículo es un hilo virtual que llama a ControladorEstadias: ingresa,
+ * si queda en la lista de espera sondea hasta recibir plaza (o se cansa),
+ * permanece su estadía y sale. Al final informa el rendimiento, la latencia
+ * p50/p99/p999 de cada operación y la ocupación.
+ * <p>
+ * Trabaja sobre un GestorPrincipal propio en una carpeta de datos aparte
+ * (temporal, salvo --carpeta), así que nunca toca la carpeta "datos".
+ * <p>
+ * Uso: java main.SimuladorPuertas [--opcion valor]... (ver --ayuda)
+ */
+public class SimuladorPuertas {
+
+  private static final TipoVehiculo[] TIPOS = TipoVehiculo.values();
+
+  // === PARÁMETROS (valores por defecto) ===
+  private int vehiculos = 5000;
+  private double tasa = 500.0;               // Llegadas por segundo
+  private String llegadas = "poisson";       // poisson | uniforme | rafaga
+  private int rafaga = 50;                   // Vehículos por ráfaga
+  private long estadiaMs = 200;              // Estadía media
+  private String estadia = "exp";            // exp | fija
+  private double[] mezcla = {5, 15, 60, 15, 5}; // Peso de cada TipoVehiculo, en su orden
+  private long pacienciaMs = 0;              // 0 = espera hasta recibir plaza
+  private long sondeoMs = 10;
+  private int clientes = 1000;
+  private long semilla = 42;
+  private String carpeta = null;
+  private String politica = "primera";      // primera | cercana
+
+  // === MÉTRICAS ===
+  private final Metrica ingreso = new Metrica();
+  private final Metrica salida = new Metrica();
+  private final Metrica espera = new Metrica();     // Desde que queda en espera hasta tener plaza
+  private final AtomicInteger directos = new AtomicInteger();
+  private final AtomicInteger desdeEspera = new AtomicInteger();
+  private final AtomicInteger abandonos = new AtomicInteger();
+  private final AtomicInteger rechazados = new AtomicInteger();
+
+  private ControladorEstadias controlador;
+
+  public static void main(String[] args) {
+    SimuladorPuertas simulador = new SimuladorPuertas();
+    try {
+      if (!simulador.leerArgumentos(args)) {
+        return;
+      }
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      imprimirAyuda();
+      System.exit(2);
+    }
+    simulador.ejecutar();
+  }
+
+  /**
+   * Ejecuta la simulación completa e imprime el informe.
+   */
+  public void ejecutar() {
+    String carpetaDatos = prepararCarpeta();
+    System.out.println("Carpeta de datos: " + carpetaDatos);
+
+    GestorPrincipal gestor = new GestorPrincipal(carpetaDatos, mensaje -> { });
+    gestor.usarPoliticaAsignacion(politica.equals("cercana")
+        ? PoliticaAsignacion.Tipo.MAS_CERCANA : PoliticaAsignacion.Tipo.PRIMERA_LIBRE);
+    controlador = new ControladorEstadias(gestor);
+
+    Random azar = new Random(semilla);
+    long inicio = System.nanoTime();
+    try (ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor()) {
+      long llegadaNs = 0;
+      for (int i = 0; i < vehiculos; i++) {
+        llegadaNs += intervaloLlegada(azar, i);
+        dormirHasta(inicio + llegadaNs);
+        String placa = String.format("SIM-%05d", i);
+        TipoVehiculo tipo = elegirTipo(azar);
+        String dni = String.format("%08d", azar.nextInt(clientes));
+        long estadiaNs = duracionEstadia(azar);
+        hilos.submit(() -> simularVehiculo(placa, tipo, dni, estadiaNs));
+      }
+    } // Espera a que terminen todos los vehículos
+    long fin = System.nanoTime();
+
+    imprimirInforme(gestor, fin - inicio);
+  }
+
+  /**
+   * Recorrido de un vehículo: ingreso, espera (si no hubo plaza), estadía y salida.
+   */
+  private void simularVehiculo(String placa, TipoVehiculo tipo, String dni, long estadiaNs) {
+    long t0 = System.nanoTime();
+    Ticket ticket = controlador.registrarIngreso(placa, tipo, dni);
+    ingreso.registrar(System.nanoTime() - t0);
+
+    if (ticket != null) {
+      directos.incrementAndGet();
+    } else {
+      // Quedó en la lista de espera: sondear hasta que le asignen plaza
+      long desde = System.nanoTime();
+      long limite = pacienciaMs > 0 ? desde + pacienciaMs * 1_000_000L : Long.MAX_VALUE;
+      while (ticket == null && System.nanoTime() < limite) {
+        if (!dormir(sondeoMs * 1_000_000L)) {
+          return;
+        }
+        ticket = controlador.buscarTicketPorPlaca(placa);
+      }
+      if (ticket == null) {
+        // No hay forma de retirar la solicitud: si luego recibe plaza, queda
+        // ocupada por un vehículo ausente (se informa al final)
+        abandonos.incrementAndGet();
+        return;
+      }
+      espera.registrar(System.nanoTime() - desde);
+      desdeEspera.incrementAndGet();
+    }
+
+    if (!dormir(estadiaNs)) {
+      return;
+    }
+    t0 = System.nanoTime();
+    Ticket cerrado = controlador.registrarSalida(placa);
+    salida.registrar(System.nanoTime() - t0);
+    if (cerrado == null) {
+      rechazados.incrementAndGet();
+    }
+  }
+
+  // ============================================================================
+  // DISTRIBUCIONES
+  // ============================================================================
+
+  /**
+   * Tiempo entre la llegada anterior y la del vehículo i, en nanosegundos.
+   */
+  private long intervaloLlegada(Random azar, int i) {
+    double mediaNs = 1e9 / tasa;
+    switch (llegadas) {
+      case "uniforme":
+        return (long) mediaNs;
+      case "rafaga":
+        // Llegan de a 'rafaga' juntos, con la misma tasa media
+        return i % rafaga == 0 && i > 0 ? (long) (mediaNs * rafaga) : 0;
+      default:
+        return exponencial(azar, mediaNs);
+    }
+  }
+
+  private long duracionEstadia(Random azar) {
+    double mediaNs = estadiaMs * 1e6;
+    return "fija".equals(estadia) ? (long) mediaNs : exponencial(azar, mediaNs);
+  }
+
+  private TipoVehiculo elegirTipo(Random azar) {
+    double total = 0;
+    for (double peso : mezcla) {
+      total += peso;
+    }
+    double r = azar.nextDouble() * total;
+    for (int i = 0; i < TIPOS.length; i++) {
+      r -= mezcla[i];
+      if (r < 0) {
+        return TIPOS[i];
+      }
+    }
+    return TIPOS[TIPOS.length - 1];
+  }
+
+  private static long exponencial(Random azar, double mediaNs) {
+    return (long) (-Math.log(1.0 - azar.nextDouble()) * mediaNs);
+  }
+
+  // ============================================================================
+  // INFORME
+  // ============================================================================
+
+  private void imprimirInforme(GestorPrincipal gestor, long duracionNs) {
+    double segundos = duracionNs / 1e9;
+    long operaciones = ingreso.getCantidad() + salida.getCantidad();
+    int totalPlazas = 0;
+    for (EstadoPlaza estado : EstadoPlaza.values()) {
+      totalPlazas += gestor.contarPlazas(estado);
+    }
+
+    System.out.println("═══════════════════════════════════════");
+    System.out.println("  SIMULACIÓN DE PUERTAS");
+    System.out.println("═══════════════════════════════════════");
+    System.out.printf("Vehículos: %d | llegadas %s a %.0f/s | estadía %s media %d ms | política %s%n",
+        vehiculos, llegadas, tasa, estadia, estadiaMs, politica);
+    System.out.printf("Duración: %.2f s | operaciones: %d | rendimiento: %.0f op/s%n%n",
+        segundos, operaciones, operaciones / segundos);
+
+    System.out.printf("%-10s %8s %10s %10s %10s %10s%n", "Operación", "n", "p50", "p99", "p999", "máx");
+    ingreso.imprimir("ingreso");
+    salida.imprimir("salida");
+    espera.imprimir("espera");
+
+    System.out.printf("%nCon plaza al llegar: %d | desde la espera: %d | abandonos: %d | salidas fallidas: %d%n",
+        directos.get(), desdeEspera.get(), abandonos.get(), rechazados.get());
+    System.out.printf("Ocupación final: %d/%d plazas ocupadas | vehículos dentro: %d | en espera: %d%n",
+        gestor.contarPlazas(EstadoPlaza.OCUPADA), totalPlazas,
+        controlador.getCantidadVehiculosEnEstacionamiento(), controlador.getCantidadEnEspera());
+    if (abandonos.get() > 0) {
+      System.out.println("(Los vehículos dentro al final son solicitudes abandonadas que recibieron plaza después.)");
+    }
+  }
+
+  // ============================================================================
+  // ARGUMENTOS
+  // ============================================================================
+
+  /**
+   * Lee las opciones de la línea de comandos.
+   * @return false si solo se pidió la ayuda.
+   * @throws IllegalArgumentException si una opción o su valor no son válidos.
+   */
+  private boolean leerArgumentos(String[] args) {
+    for (int i = 0; i < args.length; i++) {
+      String opcion = args[i];
+      if (opcion.equals("--ayuda") || opcion.equals("-h")) {
+        imprimirAyuda();
+        return false;
+      }
+      if (i + 1 >= args.length) {
+        throw new IllegalArgumentException("Falta el valor de " + opcion);
+      }
+      String valor = args[++i];
+      try {
+        switch (opcion) {
+          case "--vehiculos": vehiculos = positivo(Integer.parseInt(valor), opcion); break;
+          case "--tasa": tasa = positivo(Double.parseDouble(valor), opcion); break;
+          case "--llegadas": llegadas = opcionDe(valor, opcion, "poisson", "uniforme", "rafaga"); break;
+          case "--rafaga": rafaga = positivo(Integer.parseInt(valor), opcion); break;
+          case "--estadia-ms": estadiaMs = (long) positivo(Long.parseLong(valor), opcion); break;
+          case "--estadia": estadia = opcionDe(valor, opcion, "exp", "fija"); break;
+          case "--mezcla": mezcla = leerMezcla(valor); break;
+          case "--paciencia-ms": pacienciaMs = Long.parseLong(valor); break;
+          case "--sondeo-ms": sondeoMs = (long) positivo(Long.parseLong(valor), opcion); break;
+          case "--clientes": clientes = positivo(Integer.parseInt(valor), opcion); break;
+          case "--semilla": semilla = Long.parseLong(valor); break;
+          case "--carpeta": carpeta = valor; break;
+          case "--politica": politica = opcionDe(valor, opcion, "primera", "cercana"); break;
+          default: throw new IllegalArgumentException("Opción desconocida: " + opcion);
+        }
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Valor no numérico para " + opcion + ": " + valor);
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Pesos por tipo, ej: "AUTO=60,MOTO=20,SUV=20" (los tipos omitidos pesan 0).
+   */
+  private static double[] leerMezcla(String valor) {
+    double[] pesos = new double[TIPOS.length];
+    double total = 0;
+    for (String parte : valor.split(",")) {
+      String[] claveValor = parte.split("=");
+      if (claveValor.length != 2) {
+        throw new IllegalArgumentException("Mezcla inválida: " + parte);
+      }
+      TipoVehiculo tipo;
+      try {
+        tipo = TipoVehiculo.valueOf(claveValor[0].trim().toUpperCase());
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException("Tipo de vehículo desconocido: " + claveValor[0]);
+      }
+      double peso = Double.parseDouble(claveValor[1].trim());
+      if (peso < 0) {
+        throw new IllegalArgumentException("Peso negativo en la mezcla: " + parte);
+      }
+      pesos[tipo.ordinal()] = peso;
+      total += peso;
+    }
+    if (total <= 0) {
+      throw new IllegalArgumentException("La mezcla debe tener algún peso positivo");
+    }
+    return pesos;
+  }
+
+  private static int positivo(int valor, String opcion) {
+    if (valor <= 0) {
+      throw new IllegalArgumentException(opcion + " debe ser positivo");
+    }
+    return valor;
+  }
+
+  private static double positivo(double valor, String opcion) {
+    if (valor <= 0) {
+      throw new IllegalArgumentException(opcion + " debe ser positivo");
+    }
+    return valor;
+  }
+
+  private static String opcionDe(String valor, String opcion, String... validas) {
+    for (String valida : validas) {
+      if (valida.equals(valor)) {
+        return valor;
+      }
+    }
+    throw new IllegalArgumentException("Valor inválido para " + opcion + ": " + valor);
+  }
+
+  private static void imprimirAyuda() {
+    System.out.println(
+        "Uso: java main.SimuladorPuertas [opciones]\n"
+        + "  --vehiculos N       Vehículos que llegan (5000)\n"
+        + "  --tasa R            Llegadas por segundo (500)\n"
+        + "  --llegadas D        poisson | uniforme | rafaga (poisson)\n"
+        + "  --rafaga K          Vehículos por ráfaga con --llegadas rafaga (50)\n"
+        + "  --estadia-ms M      Estadía media en ms (200)\n"
+        + "  --estadia D         exp | fija (exp)\n"
+        + "  --mezcla M          Pesos por tipo, ej: AUTO=60,MOTO=20,SUV=20\n"
+        + "                      (BICICLETA=5,MOTO=15,AUTO=60,SUV=15,MINIVAN=5)\n"
+        + "  --paciencia-ms P    Espera máxima en la cola; 0 = sin límite (0)\n"
+        + "  --sondeo-ms S       Cada cuánto revisa si ya tiene plaza (10)\n"
+        + "  --clientes C        Cantidad de DNIs distintos (1000)\n"
+        + "  --semilla S         Semilla del generador (42)\n"
+        + "  --carpeta DIR       Carpeta de datos (por defecto, una temporal nueva)\n"
+        + "  --politica P        Asignación de plazas: primera | cercana (primera)");
+  }
+
+  // ============================================================================
+  // AUXILIARES
+  // ============================================================================
+
+  private String prepararCarpeta() {
+    if (carpeta != null) {
+      return carpeta;
+    }
+    try {
+      return Files.createTempDirectory("simulacion-").toString();
+    } catch (IOException e) {
+      throw new IllegalStateException("No se pudo crear la carpeta temporal: " + e.getMessage(), e);
+    }
+  }
+
+  private static void dormirHasta(long instanteNs) {
+    long restante = instanteNs - System.nanoTime();
+    if (restante > 0) {
+      dormir(restante);
+    }
+  }
+
+  /**
+   * @return false si el hilo fue interrumpido.
+   */
+  private static boolean dormir(long nanos) {
+    try {
+      Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  /**
+   * Histograma de latencias en nanosegundos compartido por los hilos
+   * virtuales (Histograma no es seguro entre hilos).
+   */
+  private static class Metrica {
+    private final Histograma histograma = new Histograma();
+    private final ReentrantLock cerrojo = new ReentrantLock();
+
+    void registrar(long nanos) {
+      cerrojo.lock();
+      try {
+        histograma.registrar(nanos);
+      } finally {
+        cerrojo.unlock();
+      }
+    }
+
+    long getCantidad() {
+      return histograma.getCantidad();
+    }
+
+    void imprimir(String nombre) {
+      System.out.printf("%-10s %8d %10s %10s %10s %10s%n", nombre, histograma.getCantidad(),
+          formato(histograma.percentil(50)),
+          formato(histograma.percentil(99)),
+          formato(histograma.percentil(99.9)),
+          formato(histograma.getMaximo()));
+    }
+
+    /**
+     * Latencia en la unidad más legible (µs, ms o s).
+     */
+    private static String formato(long nanos) {
+      if (nanos < 1_000_000L) {
+        return String.format("%.1f µs", nanos / 1e3);
+      }
+      if (nanos < 1_000_000_000L) {
+        return String.format("%.1f ms", nanos / 1e6);
+      }
+      return String.format("%.2f s", nanos / 1e9);
+    }
+  }
+}
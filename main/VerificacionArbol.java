@@ -0,0 +1,121 @@
+package main;
+
+import modelo.estructuras.ArbolBinario;
+import java.util.Comparator;
+import java.util.Random;
+
+/**
+ * Verificación sin interfaz del modo equilibrado de ArbolBinario con claves
+ * que llegan ya ordenadas (como los DNI y placas de los archivos): inserta
+ * un millón de claves en orden creciente y comprueba que:
+ * - la altura no pasa de 1.45·log2(n + 2), el límite de un árbol AVL;
+ * - cada clave insertada se encuentra y las que faltan no;
+ * - el recorrido inorden devuelve todas las claves en orden.
+ * Además mide la latencia media de búsqueda a 1k, 10k, 100k y 1M claves: en
+ * un árbol equilibrado crece con log n, no con n.
+ * <p>
+ * Termina con código 1 si alguna comprobación falla.
+ * <p>
+ * Uso: java main.VerificacionArbol [claves]
+ */
+public class VerificacionArbol {
+
+  private static final int BUSQUEDAS = 1_000_000;
+
+  public static void main(String[] args) {
+    int claves = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+    int errores = 0;
+
+    ArbolBinario<Integer> arbol = new ArbolBinario<>(Comparator.<Integer>naturalOrder(), true);
+    long inicio = System.nanoTime();
+    for (int i = 0; i < claves; i++) {
+      arbol.insertar(2 * i); // Pares: los impares sirven de claves ausentes
+    }
+    long insercionMs = (System.nanoTime() - inicio) / 1_000_000;
+
+    int altura = arbol.altura();
+    double limite = 1.45 * Math.log(claves + 2.0) / Math.log(2);
+    System.out.printf("%d claves ordenadas insertadas en %d ms | altura %d (límite %.1f)%n",
+        claves, insercionMs, altura, limite);
+    if (arbol.getTamano() != claves) {
+      System.out.println("FALLA: tamaño " + arbol.getTamano() + ", se esperaba " + claves);
+      errores++;
+    }
+    if (altura > limite) {
+      System.out.println("FALLA: la altura supera 1.45·log2(n + 2)");
+      errores++;
+    }
+
+    int noEncontradas = 0;
+    int falsas = 0;
+    for (int i = 0; i < claves; i++) {
+      if (!arbol.buscar(2 * i)) {
+        noEncontradas++;
+      }
+      if (arbol.buscar(2 * i + 1)) {
+        falsas++;
+      }
+    }
+    if (noEncontradas > 0 || falsas > 0) {
+      System.out.println("FALLA: " + noEncontradas + " claves no encontradas, "
+          + falsas + " encontradas sin estar");
+      errores++;
+    }
+
+    int[] esperada = {0};
+    boolean[] ordenado = {true};
+    arbol.recorrerInorden(clave -> {
+      if (clave != esperada[0]) {
+        ordenado[0] = false;
+      }
+      esperada[0] += 2;
+    });
+    if (!ordenado[0] || esperada[0] != 2 * claves) {
+      System.out.println("FALLA: el recorrido inorden no devuelve las claves en orden");
+      errores++;
+    }
+
+    System.out.printf("%10s %8s %16s%n", "Claves", "Altura", "ns por búsqueda");
+    for (int n = 1_000; n <= claves; n *= 10) {
+      medirBusqueda(n);
+    }
+
+    if (errores > 0) {
+      System.out.println("VERIFICACIÓN FALLIDA: " + errores + " error(es)");
+      System.exit(1);
+    }
+    System.out.println("OK: altura logarítmica con claves ordenadas");
+  }
+
+  /**
+   * Árbol de n claves ordenadas; tiempo medio de buscar claves al azar.
+   */
+  private static void medirBusqueda(int n) {
+    ArbolBinario<Integer> arbol = new ArbolBinario<>(Comparator.<Integer>naturalOrder(), true);
+    for (int i = 0; i < n; i++) {
+      arbol.insertar(i);
+    }
+    Random azar = new Random(3);
+    Integer[] buscadas = new Integer[BUSQUEDAS];
+    for (int i = 0; i < BUSQUEDAS; i++) {
+      buscadas[i] = azar.nextInt(n);
+    }
+    int encontradas = 0;
+    for (int vuelta = 0; vuelta < 2; vuelta++) { // La primera vuelta calienta
+      encontradas = 0;
+      long inicio = System.nanoTime();
+      for (Integer clave : buscadas) {
+        if (arbol.buscar(clave)) {
+          encontradas++;
+        }
+      }
+      long ns = System.nanoTime() - inicio;
+      if (vuelta == 1) {
+        System.out.printf("%10d %8d %16.1f%n", n, arbol.altura(), (double) ns / BUSQUEDAS);
+      }
+    }
+    if (encontradas != BUSQUEDAS) {
+      throw new IllegalStateException("Búsquedas fallidas en el árbol de " + n + " claves");
+    }
+  }
+}
@@ -0,0 +1,207 @@
+package main;
+
+import modelo.estructuras.Cola;
+import modelo.estructuras.ColaConcurrente;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Verificación sin interfaz de ColaConcurrente con varios productores y
+ * varios consumidores: cada productor encola valores propios y distintos,
+ * los consumidores desencolan hasta que se hayan consumido todos, y al final
+ * se comprueba que:
+ * - cada valor se entregó exactamente una vez (nada perdido ni duplicado);
+ * - cada consumidor recibió los valores de un mismo productor en el orden
+ *   en que se encolaron (FIFO por productor);
+ * - la cola quedó vacía y getTamano() vuelve a 0 en reposo.
+ * <p>
+ * Después compara el rendimiento con una Cola protegida por synchronized,
+ * con la misma carga. Termina con código 1 si alguna comprobación falla.
+ * <p>
+ * Uso: java main.VerificacionColaConcurrente [productores] [consumidores] [valores por productor]
+ */
+public class VerificacionColaConcurrente {
+
+  private static final Integer FIN = -1;
+
+  public static void main(String[] args) throws Exception {
+    int productores = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+    int consumidores = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+    int porProductor = args.length > 2 ? Integer.parseInt(args[2]) : 250_000;
+
+    ColaConcurrente<Integer> cola = new ColaConcurrente<>();
+    int errores = verificar(cola, productores, consumidores, porProductor);
+    if (!cola.estaVacia() || cola.getTamano() != 0) {
+      System.out.println("FALLA: la cola quedó con " + cola.getTamano() + " elementos");
+      errores++;
+    }
+
+    System.out.printf("%d productores, %d consumidores, %d valores%n",
+        productores, consumidores, productores * porProductor);
+    Cola<Integer> sincronizada = new Cola<>();
+    long sinCerrojos = medir(productores, consumidores, porProductor,
+        cola::encolar, cola::intentarDesencolar);
+    long conCerrojo = medir(productores, consumidores, porProductor,
+        valor -> {
+          synchronized (sincronizada) {
+            sincronizada.encolar(valor);
+          }
+        },
+        () -> {
+          synchronized (sincronizada) {
+            return sincronizada.estaVacia() ? null : sincronizada.desencolar();
+          }
+        });
+    System.out.printf("ColaConcurrente:      %6d ms%n", sinCerrojos);
+    System.out.printf("Cola + synchronized:  %6d ms%n", conCerrojo);
+
+    if (errores > 0) {
+      System.out.println("VERIFICACIÓN FALLIDA: " + errores + " error(es)");
+      System.exit(1);
+    }
+    System.out.println("OK: sin valores perdidos, duplicados ni fuera de orden");
+  }
+
+  /**
+   * Corre productores y consumidores sobre la cola y revisa lo entregado.
+   * El valor p * porProductor + i es el i-ésimo del productor p.
+   */
+  private static int verificar(ColaConcurrente<Integer> cola, int productores,
+                               int consumidores, int porProductor) throws InterruptedException {
+    int total = productores * porProductor;
+    AtomicIntegerArray entregas = new AtomicIntegerArray(total);
+    AtomicReference<String> desorden = new AtomicReference<>();
+    CountDownLatch largada = new CountDownLatch(1);
+
+    Thread[] hilos = new Thread[productores + consumidores];
+    for (int p = 0; p < productores; p++) {
+      int productor = p;
+      hilos[p] = new Thread(() -> {
+        esperar(largada);
+        for (int i = 0; i < porProductor; i++) {
+          cola.encolar(productor * porProductor + i);
+        }
+      }, "productor-" + p);
+    }
+    for (int c = 0; c < consumidores; c++) {
+      hilos[productores + c] = new Thread(() -> {
+        int[] ultimoPorProductor = new int[productores];
+        Arrays.fill(ultimoPorProductor, -1);
+        esperar(largada);
+        while (true) {
+          Integer valor = cola.intentarDesencolar();
+          if (valor == null) {
+            Thread.onSpinWait();
+            continue;
+          }
+          if (valor.equals(FIN)) {
+            return;
+          }
+          entregas.incrementAndGet(valor);
+          int productor = valor / porProductor;
+          int posicion = valor % porProductor;
+          if (posicion <= ultimoPorProductor[productor]) {
+            desorden.compareAndSet(null, "productor " + productor + ": " + posicion
+                + " después de " + ultimoPorProductor[productor]);
+          }
+          ultimoPorProductor[productor] = posicion;
+        }
+      }, "consumidor-" + c);
+    }
+    for (Thread hilo : hilos) {
+      hilo.start();
+    }
+    largada.countDown();
+    for (int p = 0; p < productores; p++) {
+      hilos[p].join();
+    }
+    // Un FIN por consumidor, después de todos los valores
+    for (int c = 0; c < consumidores; c++) {
+      cola.encolar(FIN);
+    }
+    for (int c = 0; c < consumidores; c++) {
+      hilos[productores + c].join();
+    }
+
+    int errores = 0;
+    int perdidos = 0;
+    int duplicados = 0;
+    for (int i = 0; i < total; i++) {
+      int veces = entregas.get(i);
+      if (veces == 0) {
+        perdidos++;
+      } else if (veces > 1) {
+        duplicados++;
+      }
+    }
+    if (perdidos > 0) {
+      System.out.println("FALLA: " + perdidos + " valores perdidos");
+      errores++;
+    }
+    if (duplicados > 0) {
+      System.out.println("FALLA: " + duplicados + " valores entregados más de una vez");
+      errores++;
+    }
+    if (desorden.get() != null) {
+      System.out.println("FALLA: orden FIFO roto, " + desorden.get());
+      errores++;
+    }
+    return errores;
+  }
+
+  /**
+   * Tiempo en ms de encolar y desencolar todos los valores con la carga de
+   * la verificación.
+   */
+  private static long medir(int productores, int consumidores, int porProductor,
+                            Consumer<Integer> encolar, Supplier<Integer> desencolar)
+      throws InterruptedException {
+    CountDownLatch largada = new CountDownLatch(1);
+    Thread[] hilos = new Thread[productores + consumidores];
+    int porConsumidor = productores * porProductor / consumidores;
+    int sobrantes = productores * porProductor % consumidores;
+    for (int p = 0; p < productores; p++) {
+      hilos[p] = new Thread(() -> {
+        esperar(largada);
+        for (int i = 0; i < porProductor; i++) {
+          encolar.accept(i);
+        }
+      });
+    }
+    for (int c = 0; c < consumidores; c++) {
+      int cuota = porConsumidor + (c < sobrantes ? 1 : 0);
+      hilos[productores + c] = new Thread(() -> {
+        esperar(largada);
+        int recibidos = 0;
+        while (recibidos < cuota) {
+          if (desencolar.get() != null) {
+            recibidos++;
+          } else {
+            Thread.onSpinWait();
+          }
+        }
+      });
+    }
+    for (Thread hilo : hilos) {
+      hilo.start();
+    }
+    long inicio = System.nanoTime();
+    largada.countDown();
+    for (Thread hilo : hilos) {
+      hilo.join();
+    }
+    return (System.nanoTime() - inicio) / 1_000_000;
+  }
+
+  private static void esperar(CountDownLatch largada) {
+    try {
+      largada.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,226 @@
+package main;
+
+import modelo.entidades.EstadoPlaza;
+import modelo.entidades.Plaza;
+import modelo.entidades.Ticket;
+import modelo.entidades.TipoUsuario;
+import modelo.entidades.TipoVehiculo;
+import modelo.estructuras.ListaArreglo;
+import modelo.estructuras.TablaHash;
+import modelo.gestores.GestorPrincipal;
+import modelo.persistencia.TicketDAO;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Verificación sin interfaz de las puertas concurrentes: N hilos ingresan y
+ * sacan vehículos sobre el mismo GestorPrincipal mientras otro hilo modifica
+ * clientes, y al final se comprueba que:
+ * - ninguna plaza quedó asignada a dos tickets activos, y todas las de los
+ *   tickets activos están OCUPADAS (y solo ellas);
+ * - ninguna placa tiene dos tickets activos;
+ * - no hay códigos de ticket repetidos, ni en memoria ni en tickets.txt.
+ * <p>
+ * Se repite para varias cantidades de puertas (1, 8 y 32 por defecto, más una
+ * ronda de calentamiento), cada una con un gestor nuevo en una carpeta
+ * temporal nueva, e informa las
+ * operaciones por segundo de cada ronda y cuánto escalan respecto de la
+ * primera. Termina con código 1 si alguna comprobación falla.
+ * <p>
+ * Uso: java main.VerificacionPuertas [puertas,puertas,...] [operaciones por puerta]
+ */
+public class VerificacionPuertas {
+
+  private static final TipoVehiculo[] TIPOS = TipoVehiculo.values();
+  private static final int PLACAS_POR_PUERTA = 10;
+
+  public static void main(String[] args) throws Exception {
+    String[] rondas = (args.length > 0 ? args[0] : "1,8,32").split(",");
+    int operaciones = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+    System.out.println("Procesadores disponibles: " + Runtime.getRuntime().availableProcessors());
+    // Ronda de calentamiento: que la primera ronda medida no pague la compilación JIT
+    int errores = verificar(Integer.parseInt(rondas[0].trim()), operaciones) < 0 ? 1 : 0;
+    double opsPrimera = 0;
+    for (String ronda : rondas) {
+      int puertas = Integer.parseInt(ronda.trim());
+      long ms = verificar(puertas, operaciones);
+      if (ms < 0) {
+        errores++;
+        continue;
+      }
+      double opsPorSegundo = puertas * operaciones * 1000.0 / Math.max(1, ms);
+      if (opsPrimera == 0) {
+        opsPrimera = opsPorSegundo;
+      }
+      System.out.printf("==> %d puerta(s): %.0f ops/s (x%.2f respecto de la primera ronda)%n%n",
+          puertas, opsPorSegundo, opsPorSegundo / opsPrimera);
+    }
+    if (errores > 0) {
+      System.out.println("VERIFICACIÓN FALLIDA en " + errores + " ronda(s)");
+      System.exit(1);
+    }
+    System.out.println("OK: sin plazas dobles ni códigos repetidos");
+  }
+
+  /**
+   * Una ronda con un gestor nuevo.
+   * @return Duración de las operaciones en ms, o -1 si alguna comprobación falló.
+   */
+  private static long verificar(int puertas, int operaciones) throws InterruptedException {
+    String carpeta = crearCarpeta();
+    System.out.println("Carpeta de datos: " + carpeta);
+    GestorPrincipal gestor = new GestorPrincipal(carpeta, mensaje -> { });
+
+    AtomicReference<Throwable> falla = new AtomicReference<>();
+    CountDownLatch largada = new CountDownLatch(1);
+    Thread[] hilos = new Thread[puertas + 1];
+    for (int p = 0; p < puertas; p++) {
+      int puerta = p;
+      hilos[p] = new Thread(() -> {
+        esperar(largada);
+        String dni = String.format("%08d", puerta);
+        for (int i = 0; i < operaciones; i++) {
+          String placa = String.format("V%02d-%03d", puerta, i % PLACAS_POR_PUERTA);
+          gestor.registrarIngreso(placa, TIPOS[(puerta + i) % TIPOS.length], dni);
+          if (i % 3 != 0) {
+            gestor.registrarSalida(placa);
+          }
+        }
+      }, "puerta-" + p);
+    }
+    // Edita los clientes que las puertas crean y usan al mismo tiempo
+    hilos[puertas] = new Thread(() -> {
+      esperar(largada);
+      for (int i = 0; i < operaciones; i++) {
+        String dni = String.format("%08d", i % puertas);
+        gestor.agregarVehiculoACliente(dni, "EXTRA-" + i);
+        gestor.modificarCliente(dni, "Cliente", "Puerta " + i, "", "", "", "",
+                                i % 2 == 0 ? TipoUsuario.REGULAR : TipoUsuario.FRECUENTE);
+        gestor.eliminarVehiculoDeCliente(dni, "EXTRA-" + i);
+      }
+    }, "clientes");
+    for (Thread hilo : hilos) {
+      hilo.setUncaughtExceptionHandler((h, e) -> falla.compareAndSet(null, e));
+      hilo.start();
+    }
+
+    long inicio = System.nanoTime();
+    largada.countDown();
+    for (Thread hilo : hilos) {
+      hilo.join();
+    }
+    long ms = (System.nanoTime() - inicio) / 1_000_000;
+    gestor.guardarPendientes();
+
+    int errores = 0;
+    if (falla.get() != null) {
+      System.out.println("FALLA: un hilo terminó con excepción");
+      falla.get().printStackTrace(System.out);
+      errores++;
+    }
+    errores += verificarPlazas(gestor);
+    errores += verificarCodigos(gestor, carpeta);
+
+    System.out.printf("Puertas: %d | operaciones: %d | %d ms%n", puertas, puertas * operaciones, ms);
+    System.out.printf("Tickets: %d | activos: %d | plazas ocupadas: %d | en espera: %d%n",
+        gestor.getTodosLosTickets().getTamano(), gestor.getTicketsActivos().getTamano(),
+        gestor.contarPlazas(EstadoPlaza.OCUPADA), gestor.getCantidadEnEspera());
+    gestor.cerrar();
+    if (errores > 0) {
+      System.out.println("FALLIDA: " + errores + " error(es)");
+      return -1;
+    }
+    return ms;
+  }
+
+  /**
+   * Una plaza y una placa por ticket activo, y el índice de ocupación de
+   * acuerdo con ellos.
+   */
+  private static int verificarPlazas(GestorPrincipal gestor) {
+    int errores = 0;
+    TablaHash<String, String> porPlaza = new TablaHash<>();
+    TablaHash<String, String> porPlaca = new TablaHash<>();
+    int activos = 0;
+    for (Ticket ticket : gestor.getTicketsActivos()) {
+      activos++;
+      Plaza plaza = ticket.getPlaza();
+      String ubicacion = plaza.getPiso() + "" + plaza.getSector() + plaza.getNumero();
+      String otro = porPlaza.obtener(ubicacion);
+      if (otro != null) {
+        System.out.println("FALLA: plaza " + ubicacion + " en " + otro + " y " + ticket.getCodigo());
+        errores++;
+      }
+      porPlaza.poner(ubicacion, ticket.getCodigo());
+      if (plaza.getEstado() != EstadoPlaza.OCUPADA) {
+        System.out.println("FALLA: plaza " + ubicacion + " de " + ticket.getCodigo()
+            + " está " + plaza.getEstado());
+        errores++;
+      }
+      String placa = ticket.getVehiculo().getPlaca();
+      if (porPlaca.contieneClave(placa)) {
+        System.out.println("FALLA: placa " + placa + " con dos tickets activos");
+        errores++;
+      }
+      porPlaca.poner(placa, ticket.getCodigo());
+    }
+    int ocupadas = gestor.contarPlazas(EstadoPlaza.OCUPADA);
+    if (ocupadas != activos) {
+      System.out.println("FALLA: " + ocupadas + " plazas ocupadas para " + activos + " tickets activos");
+      errores++;
+    }
+    return errores;
+  }
+
+  /**
+   * Códigos únicos entre todos los tickets del gestor y entre las líneas de
+   * tickets.txt, y la misma cantidad en ambos.
+   */
+  private static int verificarCodigos(GestorPrincipal gestor, String carpeta) {
+    int errores = 0;
+    TablaHash<String, Boolean> vistos = new TablaHash<>();
+    int enMemoria = 0;
+    for (Ticket ticket : gestor.getTodosLosTickets()) {
+      enMemoria++;
+      if (vistos.contieneClave(ticket.getCodigo())) {
+        System.out.println("FALLA: código repetido en memoria " + ticket.getCodigo());
+        errores++;
+      }
+      vistos.poner(ticket.getCodigo(), Boolean.TRUE);
+    }
+    ListaArreglo<Ticket> guardados = TicketDAO.cargarTodos(carpeta);
+    TablaHash<String, Boolean> enArchivo = new TablaHash<>();
+    for (Ticket ticket : guardados) {
+      if (enArchivo.contieneClave(ticket.getCodigo())) {
+        System.out.println("FALLA: código repetido en tickets.txt " + ticket.getCodigo());
+        errores++;
+      }
+      enArchivo.poner(ticket.getCodigo(), Boolean.TRUE);
+    }
+    if (guardados.getTamano() != enMemoria) {
+      System.out.println("FALLA: " + guardados.getTamano() + " tickets en archivo y "
+          + enMemoria + " en memoria");
+      errores++;
+    }
+    return errores;
+  }
+
+  private static void esperar(CountDownLatch largada) {
+    try {
+      largada.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static String crearCarpeta() {
+    try {
+      return Files.createTempDirectory("verificacion-").toString();
+    } catch (IOException e) {
+      throw new IllegalStateException("No se pudo crear la carpeta temporal: " + e.getMessage(), e);
+    }
+  }
+}
@@ -2,6 +2,7 @@ package main;
 
 import vista.VentanaInicio;
 import utilidad.ManejadorArchivos;
+import modelo.gestores.SistemaEstacionamiento;
 
 public class main {
 
@@ -11,10 +12,26 @@ public class main {
     ManejadorArchivos.inicializarArchivos();
     System.out.println("Sistema de archivos listo.");
     
+    // Cargar clientes, vehículos y tickets en segundo plano: la ventana de
+    // inicio se muestra de inmediato y los controladores esperan la carga
+    SistemaEstacionamiento.inicializar(mensaje -> System.out.println("[carga] " + mensaje))
+        .exceptionally(error -> {
+          System.err.println("No se pudo cargar el sistema: " + error.getMessage());
+          return null;
+        });
+    
     java.awt.EventQueue.invokeLater(new Runnable() {
       public void run() {
         VentanaInicio inicio = new VentanaInicio();
         inicio.setVisible(true);
+        
+        // Mostrar el avance de la carga en el título de la ventana (en el hilo
+        // de Swing) y volver al título original cuando termine
+        String titulo = inicio.getTitle();
+        SistemaEstacionamiento.alAvanzarCarga(java.awt.EventQueue::invokeLater,
+            mensaje -> inicio.setTitle(titulo + " - " + mensaje));
+        SistemaEstacionamiento.listo().thenRun(
+            () -> java.awt.EventQueue.invokeLater(() -> inicio.setTitle(titulo)));
       }
     });
   }
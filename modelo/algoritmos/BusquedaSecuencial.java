@@ -19,10 +19,12 @@ public class BusquedaSecuencial implements IBusqueda {
         @SuppressWarnings("unchecked")
         ListaEnlazada<T> lista = (ListaEnlazada<T>) estructura;
         
-        for (int i = 0; i < lista.getTamano(); i++) {
-            if (comparador.compare(lista.get(i), elementoBuscado) == 0) {
+        int i = 0;
+        for (T elemento : lista) {
+            if (comparador.compare(elemento, elementoBuscado) == 0) {
                 return i;
             }
+            i++;
         }
         return -1;
     }
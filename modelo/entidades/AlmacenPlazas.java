@@ -0,0 +1,205 @@
+package modelo.entidades;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/*
+ * Almacén compacto de todas las plazas de un estacionamiento, organizado como
+ * arreglos paralelos (struct-of-arrays) en lugar de un objeto por plaza:
+ *  - estados: byte con el EstadoPlaza (ordinal + 1; 0 = sin estado)
+ *  - tipos: byte con el TipoVehiculo permitido (ordinal + 1; 0 = sin tipo)
+ *  - ocupantes: int con la fila de la tabla de ocupantes, o -1
+ *  - ocupadaDesde: long con la hora de ocupación en milisegundos, o SIN_HORA
+ * La ubicación (piso, sector, número) no se guarda: la calcula la Topologia a
+ * partir del índice. Vehículo y ticket actuales viven en una tabla de
+ * ocupantes cuyo tamaño sigue a la ocupación, no al total de plazas.
+ *
+ * Los objetos Plaza que entrega getPlaza son vistas livianas (almacén +
+ * índice): leen y escriben directamente en estos arreglos, así que dos vistas
+ * de la misma plaza siempre coinciden. Cada cambio de estado o tipo se
+ * notifica al ObservadorPlaza registrado.
+ *
+ * Los arreglos por plaza no tienen cerrojo propio: cada plaza la protege
+ * quien la usa (el gestor, por piso). La tabla de ocupantes sí lo tiene,
+ * porque sus filas se reparten entre plazas de todos los pisos.
+ */
+public class AlmacenPlazas {
+
+  private static final long SIN_HORA = Long.MIN_VALUE;
+  private static final int SIN_OCUPANTE = -1;
+  private static final EstadoPlaza[] ESTADOS = EstadoPlaza.values();
+  private static final TipoVehiculo[] TIPOS = TipoVehiculo.values();
+
+  private final Topologia topologia;
+  private final byte[] estados;
+  private final byte[] tipos;
+  private final int[] ocupantes;
+  private final long[] ocupadaDesde;
+
+  // === TABLA DE OCUPANTES (filas reutilizables) ===
+  private Vehiculo[] vehiculos = new Vehiculo[16];
+  private Ticket[] tickets = new Ticket[16];
+  private int[] filasLibres = new int[16];
+  private int numFilasLibres;
+  private int filasUsadas;
+
+  private ObservadorPlaza observador;
+
+  /*
+   * Crea el almacén con todas las plazas de la topología en estado LIBRE y
+   * con el tipo permitido de su tramo.
+   */
+  public AlmacenPlazas(Topologia topologia) {
+    this.topologia = topologia;
+    int total = topologia.getTotalPlazas();
+    this.estados = new byte[total];
+    this.tipos = new byte[total];
+    this.ocupantes = new int[total];
+    this.ocupadaDesde = new long[total];
+    Arrays.fill(estados, codigo(EstadoPlaza.LIBRE));
+    Arrays.fill(ocupantes, SIN_OCUPANTE);
+    Arrays.fill(ocupadaDesde, SIN_HORA);
+    for (int i = 0; i < total; i++) {
+      tipos[i] = codigo(topologia.tipoPermitidoDe(i));
+    }
+  }
+
+  public Topologia getTopologia() {
+    return topologia;
+  }
+
+  public int getTamano() {
+    return estados.length;
+  }
+
+  public void setObservador(ObservadorPlaza observador) {
+    this.observador = observador;
+  }
+
+  // - Vista de la plaza en un índice
+  public Plaza getPlaza(int indice) {
+    validar(indice);
+    return new Plaza(this, indice);
+  }
+
+  // - Vista de la plaza en una ubicación, o null si no existe (O(1))
+  public Plaza buscarPlaza(int piso, char sector, int numero) {
+    int indice = topologia.indiceDe(piso, sector, numero);
+    return indice < 0 ? null : new Plaza(this, indice);
+  }
+
+  public EstadoPlaza getEstado(int indice) {
+    int codigo = estados[indice];
+    return codigo == 0 ? null : ESTADOS[codigo - 1];
+  }
+
+  public TipoVehiculo getTipoPermitido(int indice) {
+    int codigo = tipos[indice];
+    return codigo == 0 ? null : TIPOS[codigo - 1];
+  }
+
+  /*
+   * ACCESO DE LAS VISTAS Plaza (paquete)
+   */
+  void setEstado(int indice, EstadoPlaza estado) {
+    EstadoPlaza anterior = getEstado(indice);
+    estados[indice] = codigo(estado);
+    if (observador != null && anterior != estado) {
+      observador.estadoCambiado(new Plaza(this, indice), anterior, estado);
+    }
+  }
+
+  void setTipoPermitido(int indice, TipoVehiculo tipo) {
+    TipoVehiculo anterior = getTipoPermitido(indice);
+    tipos[indice] = codigo(tipo);
+    if (observador != null && anterior != tipo) {
+      observador.tipoCambiado(new Plaza(this, indice), anterior, tipo);
+    }
+  }
+
+  LocalDateTime getHoraOcupacion(int indice) {
+    long milis = ocupadaDesde[indice];
+    if (milis == SIN_HORA) {
+      return null;
+    }
+    return LocalDateTime.ofEpochSecond(Math.floorDiv(milis, 1000L),
+        (int) Math.floorMod(milis, 1000L) * 1_000_000, ZoneOffset.UTC);
+  }
+
+  void setHoraOcupacion(int indice, LocalDateTime hora) {
+    ocupadaDesde[indice] = hora == null
+        ? SIN_HORA
+        : hora.toEpochSecond(ZoneOffset.UTC) * 1000L + hora.getNano() / 1_000_000;
+  }
+
+  synchronized Vehiculo getVehiculo(int indice) {
+    int fila = ocupantes[indice];
+    return fila == SIN_OCUPANTE ? null : vehiculos[fila];
+  }
+
+  synchronized void setVehiculo(int indice, Vehiculo vehiculo) {
+    int fila = filaPara(indice, vehiculo != null);
+    if (fila != SIN_OCUPANTE) {
+      vehiculos[fila] = vehiculo;
+      liberarFilaSiVacia(indice);
+    }
+  }
+
+  synchronized Ticket getTicket(int indice) {
+    int fila = ocupantes[indice];
+    return fila == SIN_OCUPANTE ? null : tickets[fila];
+  }
+
+  synchronized void setTicket(int indice, Ticket ticket) {
+    int fila = filaPara(indice, ticket != null);
+    if (fila != SIN_OCUPANTE) {
+      tickets[fila] = ticket;
+      liberarFilaSiVacia(indice);
+    }
+  }
+
+  /*
+   * MÉTODOS AUXILIARES
+   */
+  private static byte codigo(Enum<?> valor) {
+    return (byte) (valor == null ? 0 : valor.ordinal() + 1);
+  }
+
+  private void validar(int indice) {
+    if (indice < 0 || indice >= estados.length) {
+      throw new IndexOutOfBoundsException("Índice de plaza fuera de rango: " + indice);
+    }
+  }
+
+  // - Fila de ocupantes de la plaza; si no tiene y se pide, toma una libre
+  private int filaPara(int indice, boolean crear) {
+    int fila = ocupantes[indice];
+    if (fila != SIN_OCUPANTE || !crear) {
+      return fila;
+    }
+    if (numFilasLibres > 0) {
+      fila = filasLibres[--numFilasLibres];
+    } else {
+      if (filasUsadas == vehiculos.length) {
+        vehiculos = Arrays.copyOf(vehiculos, filasUsadas * 2);
+        tickets = Arrays.copyOf(tickets, filasUsadas * 2);
+      }
+      fila = filasUsadas++;
+    }
+    ocupantes[indice] = fila;
+    return fila;
+  }
+
+  private void liberarFilaSiVacia(int indice) {
+    int fila = ocupantes[indice];
+    if (vehiculos[fila] != null || tickets[fila] != null) {
+      return;
+    }
+    ocupantes[indice] = SIN_OCUPANTE;
+    if (numFilasLibres == filasLibres.length) {
+      filasLibres = Arrays.copyOf(filasLibres, numFilasLibres * 2);
+    }
+    filasLibres[numFilasLibres++] = fila;
+  }
+}
@@ -1,6 +1,7 @@
 package modelo.entidades;
 
 import java.time.LocalDate;
+import modelo.estructuras.ConjuntoCadenas;
 import modelo.estructuras.ListaEnlazada;
 
 /**
@@ -20,6 +21,7 @@ public class Cliente {
   private TipoUsuario tipoUsuario;
   private boolean activo;
   private ListaEnlazada<String> placasVehiculos; // Placas de vehículos asociados
+  private ConjuntoCadenas indicePlacas;           // Mismas placas, para consultas O(1)
   
   public Cliente(String dni, String nombres, String apellidos, String correo) {
     this.dni = dni;
@@ -33,6 +35,7 @@ public class Cliente {
     this.tipoUsuario = TipoUsuario.REGULAR;
     this.activo = true;
     this.placasVehiculos = new ListaEnlazada<>();
+    this.indicePlacas = new ConjuntoCadenas();
   }
   
   public Cliente(String dni, String nombres, String apellidos, String correo, 
@@ -48,34 +51,25 @@ public class Cliente {
     this.tipoUsuario = tipoUsuario;
     this.activo = true;
     this.placasVehiculos = new ListaEnlazada<>();
+    this.indicePlacas = new ConjuntoCadenas();
   }
   
   // Métodos para gestionar vehículos
   public void agregarVehiculo(String placa) {
-    // Verificar si ya existe
-    boolean existe = false;
-    for (int i = 0; i < placasVehiculos.getTamano(); i++) {
-      if (placasVehiculos.get(i).equals(placa)) {
-        existe = true;
-        break;
-      }
-    }
-    if (!existe) {
+    // El conjunto descarta duplicados en O(1); la lista conserva el orden
+    if (indicePlacas.agregar(placa)) {
       placasVehiculos.agregarAlFinal(placa);
     }
   }
   
   public void eliminarVehiculo(String placa) {
-    placasVehiculos.eliminar(placa);
+    if (indicePlacas.eliminar(placa)) {
+      placasVehiculos.eliminar(placa);
+    }
   }
   
   public boolean tieneVehiculo(String placa) {
-    for (int i = 0; i < placasVehiculos.getTamano(); i++) {
-      if (placasVehiculos.get(i).equals(placa)) {
-        return true;
-      }
-    }
-    return false;
+    return indicePlacas.contiene(placa);
   }
   
   public String getNombreCompleto() {
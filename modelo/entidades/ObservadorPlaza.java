@@ -0,0 +1,14 @@
+package modelo.entidades;
+
+/*
+ * INTERFAZ para los componentes que necesitan enterarse de cada cambio de
+ * estado o de tipo permitido de una plaza (por ejemplo, los índices de plazas
+ * libres del gestor). AlmacenPlazas la invoca cuando una de sus plazas cambia
+ * de estado o de tipo permitido, solo si el valor realmente cambia.
+ */
+public interface ObservadorPlaza {
+
+  void estadoCambiado(Plaza plaza, EstadoPlaza anterior, EstadoPlaza nuevo);
+
+  void tipoCambiado(Plaza plaza, TipoVehiculo anterior, TipoVehiculo nuevo);
+}
@@ -18,6 +18,10 @@ public class Plaza {
    *    - MANTENIMIENTO: la plaza está en mantenimiento
    * - vehiculoActual: vehículo actual contenido en la plaza
    * - horaOcupacion: hora de último inicio de ocupación de la plaza
+   * - ticketActual: ticket de la estadía en curso en la plaza
+   * - almacen, indice: si la plaza pertenece a un AlmacenPlazas, es solo una
+   *   vista y todos los datos se leen y escriben en el almacén (los campos
+   *   anteriores quedan sin uso)
    */
     private int numero;
     private int piso;
@@ -26,95 +30,165 @@ public class Plaza {
     private EstadoPlaza estado;
     private Vehiculo vehiculoActual;
     private LocalDateTime horaOcupacion;
+    private Ticket ticketActual;
+    private final AlmacenPlazas almacen;
+    private final int indice;
 
     /*
      * CONSTRUCTURES DE LA CLASE Plaza
      */
     public Plaza() {
+        this.almacen = null;
+        this.indice = -1;
     }
 
     // - Constructor con parámetros de la clase
     public Plaza(int numero, int piso, char sector){
+        this();
         this.numero = numero;
         this.piso = piso;
         this.sector = sector;
     }
 
     public Plaza(int numero, int piso, char sector, TipoVehiculo tipoPermitido, EstadoPlaza estado, Vehiculo vehiculoActual, LocalDateTime horaOcupacion) {
-        this.numero = numero;
-        this.piso = piso;
-        this.sector = sector;
+        this(numero, piso, sector);
         this.tipoPermitido = tipoPermitido;
         this.estado = estado;
         this.vehiculoActual = vehiculoActual;
         this.horaOcupacion = horaOcupacion;
     }
-    
+
+    // - Vista de una plaza del almacén (solo la crea AlmacenPlazas)
+    Plaza(AlmacenPlazas almacen, int indice) {
+        this.almacen = almacen;
+        this.indice = indice;
+    }
+
     /*
      * GETTERS Y SETTERS Plaza
      * - getters: devuelven el valor de un atributo
      * - setters: modifican el valor de un atributo
      */
     public int getNumero() {
-        return numero;
+        return almacen != null ? almacen.getTopologia().numeroDe(indice) : numero;
     }
 
-    // - 
+    // -
     public void setNumero(int numero) {
         if(numero <= 0){
             throw new IllegalArgumentException("El numero ingresado debe ser mayor a 0");
         }
+        validarUbicacionModificable();
         this.numero = numero;
     }
 
     public int getPiso() {
-        return piso;
+        return almacen != null ? almacen.getTopologia().pisoDe(indice) : piso;
     }
 
     public void setPiso(int piso) {
         if(piso <= 0){
             throw new IllegalArgumentException("El piso ingresado debe ser mayor a 0");
         }
+        validarUbicacionModificable();
         this.piso = piso;
     }
 
     public char getSector() {
-        return sector;
+        return almacen != null ? almacen.getTopologia().sectorDe(indice) : sector;
     }
 
     public void setSector(char sector) {
+        validarUbicacionModificable();
         this.sector = sector;
     }
 
     public TipoVehiculo getTipoPermitido() {
-        return tipoPermitido;
+        return almacen != null ? almacen.getTipoPermitido(indice) : tipoPermitido;
     }
 
     public void setTipoPermitido(TipoVehiculo tipoPermitido) {
-        this.tipoPermitido = tipoPermitido;
+        if (almacen != null) {
+            almacen.setTipoPermitido(indice, tipoPermitido);
+        } else {
+            this.tipoPermitido = tipoPermitido;
+        }
     }
 
     public EstadoPlaza getEstado() {
-        return estado;
+        return almacen != null ? almacen.getEstado(indice) : estado;
     }
 
     public void setEstado(EstadoPlaza estadoPlaza) {
-        this.estado = estadoPlaza;
+        if (almacen != null) {
+            almacen.setEstado(indice, estadoPlaza);
+        } else {
+            this.estado = estadoPlaza;
+        }
     }
 
     public Vehiculo getVehiculoActual() {
-        return vehiculoActual;
+        return almacen != null ? almacen.getVehiculo(indice) : vehiculoActual;
     }
 
     public void setVehiculoActual(Vehiculo vehiculoActual) {
-        this.vehiculoActual = vehiculoActual;
+        if (almacen != null) {
+            almacen.setVehiculo(indice, vehiculoActual);
+        } else {
+            this.vehiculoActual = vehiculoActual;
+        }
     }
 
     public LocalDateTime getHoraOcupacion() {
-        return horaOcupacion;
+        return almacen != null ? almacen.getHoraOcupacion(indice) : horaOcupacion;
     }
 
     public void setHoraOcupacion(LocalDateTime horaOcupacion) {
-        this.horaOcupacion = horaOcupacion;
+        if (almacen != null) {
+            almacen.setHoraOcupacion(indice, horaOcupacion);
+        } else {
+            this.horaOcupacion = horaOcupacion;
+        }
+    }
+
+    public Ticket getTicketActual() {
+        return almacen != null ? almacen.getTicket(indice) : ticketActual;
+    }
+
+    public void setTicketActual(Ticket ticketActual) {
+        if (almacen != null) {
+            almacen.setTicket(indice, ticketActual);
+        } else {
+            this.ticketActual = ticketActual;
+        }
+    }
+
+    // - Posición de la plaza en su almacén (-1 si es una plaza suelta)
+    public int getIndice() {
+        return indice;
+    }
+
+    // - Dos vistas de la misma plaza del almacén son iguales; las plazas sueltas se comparan por identidad
+    @Override
+    public boolean equals(Object otro) {
+        if (this == otro) {
+            return true;
+        }
+        if (almacen == null || !(otro instanceof Plaza)) {
+            return false;
+        }
+        Plaza plaza = (Plaza) otro;
+        return plaza.almacen == almacen && plaza.indice == indice;
+    }
+
+    @Override
+    public int hashCode() {
+        return almacen != null ? 31 * System.identityHashCode(almacen) + indice : super.hashCode();
+    }
+
+    private void validarUbicacionModificable() {
+        if (almacen != null) {
+            throw new IllegalStateException("La ubicación de una plaza del almacén la define la topología");
+        }
     }
 }
@@ -0,0 +1,90 @@
+package modelo.entidades;
+
+import java.time.LocalDateTime;
+
+public class Reserva {
+
+  /*
+   * ATRIBUTOS DE LA RESERVA
+   * - codigo: código de la reserva
+   * - placa: placa del vehículo para el que se reserva
+   * - plaza: plaza reservada
+   * - inicio: comienzo de la ventana reservada (inclusive)
+   * - fin: final de la ventana reservada (exclusive)
+   */
+    private String codigo;
+    private String placa;
+    private Plaza plaza;
+    private LocalDateTime inicio;
+    private LocalDateTime fin;
+
+    /*
+     * CONSTRUCTURES DE LA CLASE Reserva
+     */
+    public Reserva() {
+    }
+
+    public Reserva(String codigo, String placa, Plaza plaza, LocalDateTime inicio, LocalDateTime fin) {
+        this.codigo = codigo;
+        this.placa = placa;
+        this.plaza = plaza;
+        this.inicio = inicio;
+        this.fin = fin;
+    }
+
+    public String getCodigo() {
+        return codigo;
+    }
+
+    public void setCodigo(String codigo) {
+        this.codigo = codigo;
+    }
+
+    public String getPlaca() {
+        return placa;
+    }
+
+    public void setPlaca(String placa) {
+        this.placa = placa;
+    }
+
+    public Plaza getPlaza() {
+        return plaza;
+    }
+
+    public void setPlaza(Plaza plaza) {
+        this.plaza = plaza;
+    }
+
+    public LocalDateTime getInicio() {
+        return inicio;
+    }
+
+    public void setInicio(LocalDateTime inicio) {
+        this.inicio = inicio;
+    }
+
+    public LocalDateTime getFin() {
+        return fin;
+    }
+
+    public void setFin(LocalDateTime fin) {
+        this.fin = fin;
+    }
+
+    // - Indica si la ventana de la reserva incluye el momento dado
+    public boolean estaVigente(LocalDateTime momento) {
+        return !momento.isBefore(inicio) && momento.isBefore(fin);
+    }
+
+    @Override
+    public String toString() {
+        return "Reserva{" +
+                "codigo='" + codigo + '\'' +
+                ", placa='" + placa + '\'' +
+                ", plaza=" + (plaza == null ? "null" : plaza.getPiso() + "" + plaza.getSector() + plaza.getNumero()) +
+                ", inicio=" + inicio +
+                ", fin=" + fin +
+                '}';
+    }
+}
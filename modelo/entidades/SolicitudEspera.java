@@ -6,6 +6,7 @@ public class SolicitudEspera {
     private String placa;
     private TipoVehiculo tipo;
     private LocalDateTime fechaHoraSolicitud;
+    private String dniPropietario;
     
     public SolicitudEspera(String placa, TipoVehiculo tipo, LocalDateTime fechaHoraSolicitud) {
         this.placa = placa;
@@ -13,6 +14,11 @@ public class SolicitudEspera {
         this.fechaHoraSolicitud = fechaHoraSolicitud;
     }
     
+    public SolicitudEspera(String placa, TipoVehiculo tipo, String dniPropietario, LocalDateTime fechaHoraSolicitud) {
+        this(placa, tipo, fechaHoraSolicitud);
+        this.dniPropietario = dniPropietario;
+    }
+    
     public String getPlaca() {
         return placa;
     }
@@ -37,11 +43,20 @@ public class SolicitudEspera {
         this.fechaHoraSolicitud = fechaHoraSolicitud;
     }
     
+    public String getDniPropietario() {
+        return dniPropietario;
+    }
+    
+    public void setDniPropietario(String dniPropietario) {
+        this.dniPropietario = dniPropietario;
+    }
+    
     @Override
     public String toString() {
         return "SolicitudEspera{" +
                 "placa='" + placa + '\'' +
                 ", tipo=" + tipo +
+                ", dniPropietario='" + dniPropietario + '\'' +
                 ", fechaHoraSolicitud=" + fechaHoraSolicitud +
                 '}';
     }
@@ -46,6 +46,16 @@ public enum TipoVehiculo {
     return codigo;
   }
 
+  /**
+   * Indica si un vehículo de este tipo puede estacionar en una plaza destinada
+   * a otro tipo. Las constantes están ordenadas de menor a mayor tamaño, así
+   * que una plaza sirve para su tipo y para todos los más pequeños (una MOTO
+   * puede usar una plaza de AUTO, pero no al revés).
+   */
+  public boolean cabeEn(TipoVehiculo tipoPlaza) {
+    return tipoPlaza.ordinal() >= this.ordinal();
+  }
+
   /**
    *
    *
@@ -0,0 +1,185 @@
+package modelo.entidades;
+
+import java.util.Arrays;
+
+/*
+ * Topología de un estacionamiento: la lista de tramos (piso, sector, cantidad
+ * de plazas y tipo permitido) que lo forman. Cada plaza recibe un índice
+ * consecutivo según el orden de los tramos, y la topología traduce en ambos
+ * sentidos entre ese índice y la ubicación (piso, sector, número):
+ *  - ubicación → índice: tabla directa [piso][sector] → tramo, O(1)
+ *  - índice → ubicación: búsqueda binaria sobre el inicio de cada tramo
+ * Así las plazas no necesitan guardar sus coordenadas.
+ * Pisos y números empiezan en 1; los sectores van de 'A' a 'Z'.
+ */
+public class Topologia {
+
+  private static final int NUM_SECTORES = 26;
+  private static final int SIN_TRAMO = -1;
+
+  /*
+   * ATRIBUTOS DE LA TOPOLOGÍA (arreglos paralelos, uno por tramo)
+   * - tramoPiso, tramoSector: ubicación del tramo
+   * - tramoCantidad: plazas del tramo, numeradas desde 1
+   * - tramoTipo: tipo de vehículo permitido (null = sin restricción)
+   * - tramoInicio: índice de la primera plaza del tramo
+   * - tramoPorUbicacion: [piso][sector] → tramo, o SIN_TRAMO
+   */
+  private int[] tramoPiso = new int[8];
+  private char[] tramoSector = new char[8];
+  private int[] tramoCantidad = new int[8];
+  private TipoVehiculo[] tramoTipo = new TipoVehiculo[8];
+  private int[] tramoInicio = new int[8];
+  private int numTramos;
+  private int totalPlazas;
+  private int[][] tramoPorUbicacion = new int[0][];
+
+  /*
+   * Agrega un tramo de plazas numeradas de 1 a cantidad.
+   * @throws IllegalArgumentException si los datos son inválidos o el tramo ya existe.
+   */
+  public void agregarTramo(int piso, char sector, int cantidad, TipoVehiculo tipoPermitido) {
+    if (piso <= 0) {
+      throw new IllegalArgumentException("El piso debe ser mayor a 0: " + piso);
+    }
+    if (sector < 'A' || sector > 'Z') {
+      throw new IllegalArgumentException("El sector debe ser una letra de la A a la Z: " + sector);
+    }
+    if (cantidad <= 0) {
+      throw new IllegalArgumentException("La cantidad de plazas debe ser mayor a 0: " + cantidad);
+    }
+    if (buscarTramo(piso, sector) != SIN_TRAMO) {
+      throw new IllegalArgumentException("Tramo repetido: piso " + piso + ", sector " + sector);
+    }
+    if (numTramos == tramoPiso.length) {
+      int nueva = numTramos * 2;
+      tramoPiso = Arrays.copyOf(tramoPiso, nueva);
+      tramoSector = Arrays.copyOf(tramoSector, nueva);
+      tramoCantidad = Arrays.copyOf(tramoCantidad, nueva);
+      tramoTipo = Arrays.copyOf(tramoTipo, nueva);
+      tramoInicio = Arrays.copyOf(tramoInicio, nueva);
+    }
+    if (piso >= tramoPorUbicacion.length) {
+      tramoPorUbicacion = Arrays.copyOf(tramoPorUbicacion, piso + 1);
+    }
+    if (tramoPorUbicacion[piso] == null) {
+      tramoPorUbicacion[piso] = new int[NUM_SECTORES];
+      Arrays.fill(tramoPorUbicacion[piso], SIN_TRAMO);
+    }
+    tramoPorUbicacion[piso][sector - 'A'] = numTramos;
+    tramoPiso[numTramos] = piso;
+    tramoSector[numTramos] = sector;
+    tramoCantidad[numTramos] = cantidad;
+    tramoTipo[numTramos] = tipoPermitido;
+    tramoInicio[numTramos] = totalPlazas;
+    numTramos++;
+    totalPlazas += cantidad;
+  }
+
+  /*
+   * Topología original del sistema: 3 pisos con sectores A a F de 10 plazas,
+   * sin tipo permitido (cualquier vehículo en cualquier plaza). Los sectores
+   * por tipo se configuran en topologia.txt.
+   */
+  public static Topologia porDefecto() {
+    Topologia topologia = new Topologia();
+    for (int piso = 1; piso <= 3; piso++) {
+      for (char sector = 'A'; sector <= 'F'; sector++) {
+        topologia.agregarTramo(piso, sector, 10, null);
+      }
+    }
+    return topologia;
+  }
+
+  /*
+   * GETTERS DE LA TOPOLOGÍA
+   */
+  public int getTotalPlazas() {
+    return totalPlazas;
+  }
+
+  public int getNumTramos() {
+    return numTramos;
+  }
+
+  public int getPisoMaximo() {
+    return tramoPorUbicacion.length - 1;
+  }
+
+  // - Datos de cada tramo, en orden de agregado (0 a getNumTramos() - 1)
+  public int getPisoTramo(int tramo) {
+    return tramoPiso[validarTramo(tramo)];
+  }
+
+  public char getSectorTramo(int tramo) {
+    return tramoSector[validarTramo(tramo)];
+  }
+
+  public int getCantidadTramo(int tramo) {
+    return tramoCantidad[validarTramo(tramo)];
+  }
+
+  public TipoVehiculo getTipoTramo(int tramo) {
+    return tramoTipo[validarTramo(tramo)];
+  }
+
+  // - Índice de la plaza en una ubicación, o -1 si no existe (O(1))
+  public int indiceDe(int piso, char sector, int numero) {
+    int tramo = buscarTramo(piso, sector);
+    if (tramo == SIN_TRAMO || numero < 1 || numero > tramoCantidad[tramo]) {
+      return -1;
+    }
+    return tramoInicio[tramo] + numero - 1;
+  }
+
+  public int pisoDe(int indice) {
+    return tramoPiso[tramoDe(indice)];
+  }
+
+  public char sectorDe(int indice) {
+    return tramoSector[tramoDe(indice)];
+  }
+
+  public int numeroDe(int indice) {
+    int tramo = tramoDe(indice);
+    return indice - tramoInicio[tramo] + 1;
+  }
+
+  public TipoVehiculo tipoPermitidoDe(int indice) {
+    return tramoTipo[tramoDe(indice)];
+  }
+
+  private int validarTramo(int tramo) {
+    if (tramo < 0 || tramo >= numTramos) {
+      throw new IndexOutOfBoundsException("Tramo fuera de rango: " + tramo);
+    }
+    return tramo;
+  }
+
+  private int buscarTramo(int piso, char sector) {
+    int s = sector - 'A';
+    if (piso < 0 || piso >= tramoPorUbicacion.length || tramoPorUbicacion[piso] == null
+        || s < 0 || s >= NUM_SECTORES) {
+      return SIN_TRAMO;
+    }
+    return tramoPorUbicacion[piso][s];
+  }
+
+  // - Tramo que contiene el índice: el último cuyo inicio es <= indice
+  private int tramoDe(int indice) {
+    if (indice < 0 || indice >= totalPlazas) {
+      throw new IndexOutOfBoundsException("Índice de plaza fuera de rango: " + indice);
+    }
+    int bajo = 0;
+    int alto = numTramos - 1;
+    while (bajo < alto) {
+      int medio = (bajo + alto + 1) >>> 1;
+      if (tramoInicio[medio] <= indice) {
+        bajo = medio;
+      } else {
+        alto = medio - 1;
+      }
+    }
+    return bajo;
+  }
+}
@@ -1,10 +1,24 @@
 package modelo.estructuras;
 
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 
 /**
  * Representa un árbol binario de búsqueda genérico. Los elementos se organizan
  * usando un Comparador personalizado.
+ * <p>
+ * En modo equilibrado el árbol se comporta como un AVL: tras cada inserción o
+ * eliminación se rota para que las alturas de los subárboles de cada nodo no
+ * difieran en más de uno, garantizando altura O(log n) aunque los datos
+ * lleguen ordenados.
+ * <p>
+ * Todas las operaciones son iterativas (pila explícita en lugar de recursión),
+ * de modo que un árbol degenerado no puede provocar StackOverflowError.
  *
  * @param <T> El tipo de dato que almacenará el árbol.
  */
@@ -13,18 +27,40 @@ public class ArbolBinario<T> implements IArbol<T> {
     private NodoArbol<T> raiz;
     private int tamano;
     private Comparator<T> comparador;
+    private final boolean equilibrado;
+    private NodoArbol<T>[] camino; // Camino raíz→nodo reutilizado por insertar/eliminar
 
     /**
-     * Constructor para crear un árbol vacío.
+     * Constructor para crear un árbol vacío (BST sin equilibrar).
      *
      * @param comparador El comparador que se usará para ordenar los elementos.
      */
     public ArbolBinario(Comparator<T> comparador) {
+        this(comparador, false);
+    }
+
+    /**
+     * Constructor para crear un árbol vacío indicando si debe auto-equilibrarse.
+     *
+     * @param comparador El comparador que se usará para ordenar los elementos.
+     * @param equilibrado true para mantener el árbol equilibrado (AVL).
+     */
+    public ArbolBinario(Comparator<T> comparador, boolean equilibrado) {
         this.raiz = null;
         this.tamano = 0;
         this.comparador = comparador;
+        this.equilibrado = equilibrado;
+        this.camino = nuevoArregloNodos(32);
+    }
+
+    /**
+     * Indica si el árbol se mantiene equilibrado tras cada modificación.
+     *
+     * @return true si el árbol funciona en modo AVL.
+     */
+    public boolean isEquilibrado() {
+        return equilibrado;
     }
-    
 
     /**
      * Devuelve el número de elementos en el árbol.
@@ -56,37 +92,49 @@ public class ArbolBinario<T> implements IArbol<T> {
     }
 
     /**
-     * Inserta un nuevo elemento en el árbol.
+     * Inserta un nuevo elemento en el árbol. Los duplicados se ignoran.
+     * Desciende iterativamente guardando el camino y, en modo equilibrado,
+     * lo recorre de vuelta hacia la raíz aplicando las rotaciones necesarias.
      *
      * @param dato El dato a insertar.
      */
     @Override
     public void insertar(T dato) {
-        raiz = insertarRecursivo(raiz, dato);
-        tamano++;
-    }
-
-    /**
-     * Método recursivo auxiliar para insertar un elemento.
-     *
-     * @param nodo El nodo actual en la recursión.
-     * @param dato El dato a insertar.
-     * @return El nodo actualizado.
-     */
-    private NodoArbol<T> insertarRecursivo(NodoArbol<T> nodo, T dato) {
-        if (nodo == null) {
-            return new NodoArbol<>(dato);
+        if (raiz == null) {
+            raiz = new NodoArbol<>(dato);
+            tamano++;
+            return;
         }
 
-        int comparacion = comparador.compare(dato, nodo.getDato());
-        if (comparacion < 0) {
-            nodo.setIzquierdo(insertarRecursivo(nodo.getIzquierdo(), dato));
-        } else if (comparacion > 0) {
-            nodo.setDerecho(insertarRecursivo(nodo.getDerecho(), dato));
+        int profundidad = 0;
+        NodoArbol<T> nodo = raiz;
+        while (true) {
+            agregarAlCamino(profundidad++, nodo);
+            int comparacion = comparador.compare(dato, nodo.getDato());
+            if (comparacion == 0) {
+                limpiarCamino(profundidad);
+                return; // Si es igual, no insertamos duplicados
+            }
+            if (comparacion < 0) {
+                if (nodo.getIzquierdo() == null) {
+                    nodo.setIzquierdo(new NodoArbol<>(dato));
+                    break;
+                }
+                nodo = nodo.getIzquierdo();
+            } else {
+                if (nodo.getDerecho() == null) {
+                    nodo.setDerecho(new NodoArbol<>(dato));
+                    break;
+                }
+                nodo = nodo.getDerecho();
+            }
         }
-        // Si es igual, no insertamos duplicados
+        tamano++;
 
-        return nodo;
+        if (equilibrado) {
+            equilibrarCamino(profundidad);
+        }
+        limpiarCamino(profundidad);
     }
 
     /**
@@ -97,31 +145,36 @@ public class ArbolBinario<T> implements IArbol<T> {
      */
     @Override
     public boolean buscar(T dato) {
-        return buscarRecursivo(raiz, dato);
+        return buscarNodo(dato) != null;
     }
 
     /**
-     * Método recursivo auxiliar para buscar un elemento.
+     * Obtiene el elemento almacenado que es igual (según el comparador) al dato dado.
      *
-     * @param nodo El nodo actual en la recursión.
-     * @param dato El dato a buscar.
-     * @return true si el dato fue encontrado.
+     * @param dato El dato de referencia.
+     * @return El elemento almacenado, o null si no existe.
      */
-    private boolean buscarRecursivo(NodoArbol<T> nodo, T dato) {
-        if (nodo == null) {
-            return false;
-        }
-
-        int comparacion = comparador.compare(dato, nodo.getDato());
-        if (comparacion == 0) {
-            return true;
-        }
+    public T obtener(T dato) {
+        NodoArbol<T> nodo = buscarNodo(dato);
+        return nodo == null ? null : nodo.getDato();
+    }
 
-        if (comparacion < 0) {
-            return buscarRecursivo(nodo.getIzquierdo(), dato);
-        } else {
-            return buscarRecursivo(nodo.getDerecho(), dato);
+    /**
+     * Desciende iterativamente desde la raíz hasta el nodo que contiene el dato.
+     *
+     * @param dato El dato a buscar.
+     * @return El nodo encontrado, o null si no existe.
+     */
+    private NodoArbol<T> buscarNodo(T dato) {
+        NodoArbol<T> nodo = raiz;
+        while (nodo != null) {
+            int comparacion = comparador.compare(dato, nodo.getDato());
+            if (comparacion == 0) {
+                return nodo;
+            }
+            nodo = comparacion < 0 ? nodo.getIzquierdo() : nodo.getDerecho();
         }
+        return null;
     }
 
     /**
@@ -132,63 +185,214 @@ public class ArbolBinario<T> implements IArbol<T> {
      */
     @Override
     public boolean eliminar(T dato) {
-        if (!buscar(dato)) {
+        // 1. Localizar el nodo guardando el camino desde la raíz
+        int profundidad = 0;
+        NodoArbol<T> nodo = raiz;
+        while (nodo != null) {
+            int comparacion = comparador.compare(dato, nodo.getDato());
+            if (comparacion == 0) {
+                break;
+            }
+            agregarAlCamino(profundidad++, nodo);
+            nodo = comparacion < 0 ? nodo.getIzquierdo() : nodo.getDerecho();
+        }
+        if (nodo == null) {
+            limpiarCamino(profundidad);
             return false;
         }
-        raiz = eliminarRecursivo(raiz, dato);
+
+        // 2. Nodo con dos hijos: copiar el sucesor inorden (menor del subárbol
+        //    derecho) y pasar a eliminar el sucesor, que no tiene hijo izquierdo
+        if (nodo.getIzquierdo() != null && nodo.getDerecho() != null) {
+            agregarAlCamino(profundidad++, nodo);
+            NodoArbol<T> sucesor = nodo.getDerecho();
+            while (sucesor.getIzquierdo() != null) {
+                agregarAlCamino(profundidad++, sucesor);
+                sucesor = sucesor.getIzquierdo();
+            }
+            nodo.setDato(sucesor.getDato());
+            nodo = sucesor;
+        }
+
+        // 3. Nodo sin hijos o con un solo hijo: enlazar al padre con su hijo
+        NodoArbol<T> hijo = nodo.getIzquierdo() != null ? nodo.getIzquierdo() : nodo.getDerecho();
+        reemplazarHijo(profundidad == 0 ? null : camino[profundidad - 1], nodo, hijo);
         tamano--;
+
+        if (equilibrado) {
+            equilibrarCamino(profundidad);
+        }
+        limpiarCamino(profundidad);
         return true;
     }
 
+    // ========================================================================
+    // CONSULTAS ORDENADAS
+    // ========================================================================
+
     /**
-     * Método recursivo auxiliar para eliminar un elemento.
+     * Obtiene el mayor elemento menor o igual al dato dado (floor).
      *
-     * @param nodo El nodo actual en la recursión.
-     * @param dato El dato a eliminar.
-     * @return El nodo actualizado.
+     * @param dato El dato de referencia.
+     * @return El elemento encontrado, o null si todos son mayores.
      */
-    private NodoArbol<T> eliminarRecursivo(NodoArbol<T> nodo, T dato) {
-        if (nodo == null) {
-            return null;
+    public T piso(T dato) {
+        T candidato = null;
+        NodoArbol<T> nodo = raiz;
+        while (nodo != null) {
+            int comparacion = comparador.compare(dato, nodo.getDato());
+            if (comparacion == 0) {
+                return nodo.getDato();
+            }
+            if (comparacion > 0) {
+                candidato = nodo.getDato();
+                nodo = nodo.getDerecho();
+            } else {
+                nodo = nodo.getIzquierdo();
+            }
         }
+        return candidato;
+    }
 
-        int comparacion = comparador.compare(dato, nodo.getDato());
-        if (comparacion < 0) {
-            nodo.setIzquierdo(eliminarRecursivo(nodo.getIzquierdo(), dato));
-        } else if (comparacion > 0) {
-            nodo.setDerecho(eliminarRecursivo(nodo.getDerecho(), dato));
-        } else {
-            // Nodo encontrado
-            // Caso 1: Nodo sin hijos o con un solo hijo
-            if (nodo.getIzquierdo() == null) {
-                return nodo.getDerecho();
-            } else if (nodo.getDerecho() == null) {
-                return nodo.getIzquierdo();
+    /**
+     * Obtiene el menor elemento mayor o igual al dato dado (ceiling).
+     *
+     * @param dato El dato de referencia.
+     * @return El elemento encontrado, o null si todos son menores.
+     */
+    public T techo(T dato) {
+        T candidato = null;
+        NodoArbol<T> nodo = raiz;
+        while (nodo != null) {
+            int comparacion = comparador.compare(dato, nodo.getDato());
+            if (comparacion == 0) {
+                return nodo.getDato();
+            }
+            if (comparacion < 0) {
+                candidato = nodo.getDato();
+                nodo = nodo.getIzquierdo();
+            } else {
+                nodo = nodo.getDerecho();
             }
-
-            // Caso 2: Nodo con dos hijos
-            // Encontrar el sucesor inorden (menor del subárbol derecho)
-            T sucesor = encontrarMinimo(nodo.getDerecho());
-            nodo.setDato(sucesor);
-            nodo.setDerecho(eliminarRecursivo(nodo.getDerecho(), sucesor));
         }
+        return candidato;
+    }
 
-        return nodo;
+    /**
+     * Elementos comprendidos en [desde, hasta], en orden. El iterador es
+     * perezoso: solo desciende por las ramas que pueden contener elementos del
+     * rango, en O(log n + k). No debe modificarse el árbol mientras se recorre.
+     *
+     * @param desde Límite inferior (inclusive).
+     * @param hasta Límite superior (inclusive).
+     * @return Los elementos del rango.
+     */
+    public Iterable<T> rango(T desde, T hasta) {
+        return () -> new IteradorRango(
+                dato -> comparador.compare(dato, desde),
+                dato -> comparador.compare(dato, hasta) <= 0);
+    }
+
+    /**
+     * Igual que {@link #rango(Object, Object)} pero con límites expresados
+     * sobre la clave por la que está ordenado el árbol (por ejemplo el DNI).
+     * La clave debe ordenar igual que el comparador del árbol.
+     *
+     * @param <K> El tipo de la clave.
+     * @param desde Clave inferior (inclusive).
+     * @param hasta Clave superior (inclusive).
+     * @param clave Función que extrae la clave de cada elemento.
+     * @return Los elementos cuya clave está en el rango.
+     */
+    public <K extends Comparable<? super K>> Iterable<T> rangoPorClave(
+            K desde, K hasta, Function<? super T, ? extends K> clave) {
+        return () -> new IteradorRango(
+                dato -> clave.apply(dato).compareTo(desde),
+                dato -> clave.apply(dato).compareTo(hasta) <= 0);
     }
 
     /**
-     * Encuentra el valor mínimo en un subárbol.
+     * Elementos cuya clave de texto empieza por el prefijo dado, en orden.
+     * Como todas esas claves son contiguas en el orden del árbol, el iterador
+     * arranca en la primera coincidencia y se detiene en la primera que no lo es.
      *
-     * @param nodo La raíz del subárbol.
-     * @return El valor mínimo.
+     * @param prefijo El prefijo buscado.
+     * @param clave Función que extrae la clave (la misma que ordena el árbol).
+     * @return Los elementos cuya clave empieza por el prefijo.
      */
-    private T encontrarMinimo(NodoArbol<T> nodo) {
-        while (nodo.getIzquierdo() != null) {
-            nodo = nodo.getIzquierdo();
+    public Iterable<T> prefijo(String prefijo, Function<? super T, String> clave) {
+        return () -> new IteradorRango(
+                dato -> clave.apply(dato).compareTo(prefijo),
+                dato -> clave.apply(dato).startsWith(prefijo));
+    }
+
+    /**
+     * Iterador inorden que empieza en el primer elemento mayor o igual a un
+     * límite inferior y termina cuando un elemento deja de cumplir la condición
+     * de continuación. La pila guarda solo la frontera de nodos pendientes.
+     */
+    private final class IteradorRango implements Iterator<T> {
+
+        private final Predicate<T> continuar;
+        private final PilaNodos<T> pila;
+        private NodoArbol<T> siguiente;
+
+        /**
+         * @param respectoAlInicio Signo de la comparación del dato con el límite inferior.
+         * @param continuar Condición que deben cumplir los elementos para seguir.
+         */
+        IteradorRango(ToIntFunction<T> respectoAlInicio, Predicate<T> continuar) {
+            this.continuar = continuar;
+            this.pila = new PilaNodos<>(alturaEstimada());
+            // Apilar los ancestros ≥ inicio del primer elemento del rango
+            NodoArbol<T> nodo = raiz;
+            while (nodo != null) {
+                if (respectoAlInicio.applyAsInt(nodo.getDato()) >= 0) {
+                    pila.apilar(nodo);
+                    nodo = nodo.getIzquierdo();
+                } else {
+                    nodo = nodo.getDerecho();
+                }
+            }
+            avanzar();
+        }
+
+        private void avanzar() {
+            if (pila.estaVacia()) {
+                siguiente = null;
+                return;
+            }
+            NodoArbol<T> nodo = pila.desapilar();
+            if (!continuar.test(nodo.getDato())) {
+                siguiente = null;
+                return;
+            }
+            siguiente = nodo;
+            for (NodoArbol<T> hijo = nodo.getDerecho(); hijo != null; hijo = hijo.getIzquierdo()) {
+                pila.apilar(hijo);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return siguiente != null;
+        }
+
+        @Override
+        public T next() {
+            if (siguiente == null) {
+                throw new NoSuchElementException("No hay más elementos en el rango");
+            }
+            T dato = siguiente.getDato();
+            avanzar();
+            return dato;
         }
-        return nodo.getDato();
     }
 
+    // ========================================================================
+    // RECORRIDOS
+    // ========================================================================
+
     /**
      * Recorrido inorden (izquierda-raíz-derecha).
      *
@@ -197,18 +401,28 @@ public class ArbolBinario<T> implements IArbol<T> {
     @Override
     public ListaEnlazada<T> recorridoInorden() {
         ListaEnlazada<T> lista = new ListaEnlazada<>();
-        inordenRecursivo(raiz, lista);
+        recorrerInorden(lista::agregarAlFinal);
         return lista;
     }
 
     /**
-     * Método auxiliar recursivo para recorrido inorden.
+     * Recorre el árbol en inorden entregando cada elemento al visitante,
+     * sin construir listas intermedias. Usa una pila explícita de nodos.
+     *
+     * @param visitante La acción a ejecutar sobre cada elemento.
      */
-    private void inordenRecursivo(NodoArbol<T> nodo, ListaEnlazada<T> lista) {
-        if (nodo != null) {
-            inordenRecursivo(nodo.getIzquierdo(), lista);
-            lista.agregarAlFinal(nodo.getDato());
-            inordenRecursivo(nodo.getDerecho(), lista);
+    @Override
+    public void recorrerInorden(Consumer<? super T> visitante) {
+        PilaNodos<T> pila = new PilaNodos<>(alturaEstimada());
+        NodoArbol<T> actual = raiz;
+        while (actual != null || !pila.estaVacia()) {
+            while (actual != null) {
+                pila.apilar(actual);
+                actual = actual.getIzquierdo();
+            }
+            actual = pila.desapilar();
+            visitante.accept(actual.getDato());
+            actual = actual.getDerecho();
         }
     }
 
@@ -220,18 +434,32 @@ public class ArbolBinario<T> implements IArbol<T> {
     @Override
     public ListaEnlazada<T> recorridoPreorden() {
         ListaEnlazada<T> lista = new ListaEnlazada<>();
-        preordenRecursivo(raiz, lista);
+        recorrerPreorden(lista::agregarAlFinal);
         return lista;
     }
 
     /**
-     * Método auxiliar recursivo para recorrido preorden.
+     * Recorre el árbol en preorden entregando cada elemento al visitante.
+     *
+     * @param visitante La acción a ejecutar sobre cada elemento.
      */
-    private void preordenRecursivo(NodoArbol<T> nodo, ListaEnlazada<T> lista) {
-        if (nodo != null) {
-            lista.agregarAlFinal(nodo.getDato());
-            preordenRecursivo(nodo.getIzquierdo(), lista);
-            preordenRecursivo(nodo.getDerecho(), lista);
+    @Override
+    public void recorrerPreorden(Consumer<? super T> visitante) {
+        if (raiz == null) {
+            return;
+        }
+        PilaNodos<T> pila = new PilaNodos<>(alturaEstimada());
+        pila.apilar(raiz);
+        while (!pila.estaVacia()) {
+            NodoArbol<T> actual = pila.desapilar();
+            visitante.accept(actual.getDato());
+            // Se apila primero el derecho para visitar antes el izquierdo
+            if (actual.getDerecho() != null) {
+                pila.apilar(actual.getDerecho());
+            }
+            if (actual.getIzquierdo() != null) {
+                pila.apilar(actual.getIzquierdo());
+            }
         }
     }
 
@@ -243,18 +471,34 @@ public class ArbolBinario<T> implements IArbol<T> {
     @Override
     public ListaEnlazada<T> recorridoPostorden() {
         ListaEnlazada<T> lista = new ListaEnlazada<>();
-        postordenRecursivo(raiz, lista);
+        recorrerPostorden(lista::agregarAlFinal);
         return lista;
     }
 
     /**
-     * Método auxiliar recursivo para recorrido postorden.
+     * Recorre el árbol en postorden entregando cada elemento al visitante.
+     * Un nodo se visita cuando su subárbol derecho ya fue procesado.
+     *
+     * @param visitante La acción a ejecutar sobre cada elemento.
      */
-    private void postordenRecursivo(NodoArbol<T> nodo, ListaEnlazada<T> lista) {
-        if (nodo != null) {
-            postordenRecursivo(nodo.getIzquierdo(), lista);
-            postordenRecursivo(nodo.getDerecho(), lista);
-            lista.agregarAlFinal(nodo.getDato());
+    @Override
+    public void recorrerPostorden(Consumer<? super T> visitante) {
+        PilaNodos<T> pila = new PilaNodos<>(alturaEstimada());
+        NodoArbol<T> actual = raiz;
+        NodoArbol<T> ultimoVisitado = null;
+        while (actual != null || !pila.estaVacia()) {
+            if (actual != null) {
+                pila.apilar(actual);
+                actual = actual.getIzquierdo();
+            } else {
+                NodoArbol<T> tope = pila.verTope();
+                if (tope.getDerecho() != null && tope.getDerecho() != ultimoVisitado) {
+                    actual = tope.getDerecho();
+                } else {
+                    visitante.accept(tope.getDato());
+                    ultimoVisitado = pila.desapilar();
+                }
+            }
         }
     }
 
@@ -265,39 +509,245 @@ public class ArbolBinario<T> implements IArbol<T> {
      */
     @Override
     public int altura() {
-        return alturaRecursiva(raiz);
+        if (equilibrado) {
+            return alturaNodo(raiz); // Mantenida en cada nodo: O(1)
+        }
+        if (raiz == null) {
+            return 0;
+        }
+        // Recorrido en profundidad: el nivel de cada nodo apilado se guarda
+        // en la misma posición de un arreglo paralelo
+        PilaNodos<T> pila = new PilaNodos<>(32);
+        int[] niveles = new int[32];
+        int maxima = 0;
+        pila.apilar(raiz);
+        niveles[0] = 1;
+        while (!pila.estaVacia()) {
+            int nivel = niveles[pila.getTamano() - 1];
+            NodoArbol<T> actual = pila.desapilar();
+            maxima = Math.max(maxima, nivel);
+            if (actual.getIzquierdo() != null) {
+                niveles = asegurarNiveles(niveles, pila.getTamano());
+                niveles[pila.getTamano()] = nivel + 1;
+                pila.apilar(actual.getIzquierdo());
+            }
+            if (actual.getDerecho() != null) {
+                niveles = asegurarNiveles(niveles, pila.getTamano());
+                niveles[pila.getTamano()] = nivel + 1;
+                pila.apilar(actual.getDerecho());
+            }
+        }
+        return maxima;
     }
 
     /**
-     * Método auxiliar recursivo para calcular la altura.
+     * Amplía el arreglo de niveles si la posición indicada no cabe.
      */
-    private int alturaRecursiva(NodoArbol<T> nodo) {
-        if (nodo == null) {
-            return 0;
+    private static int[] asegurarNiveles(int[] niveles, int posicion) {
+        if (posicion < niveles.length) {
+            return niveles;
         }
-        int alturaIzq = alturaRecursiva(nodo.getIzquierdo());
-        int alturaDer = alturaRecursiva(nodo.getDerecho());
-        return Math.max(alturaIzq, alturaDer) + 1;
+        int[] nuevo = new int[niveles.length * 2];
+        System.arraycopy(niveles, 0, nuevo, 0, niveles.length);
+        return nuevo;
     }
-    
-    public T obtener(T dato) {
-        return obtenerRecursivo(raiz, dato);
+
+    /**
+     * Capacidad inicial razonable para la pila de un recorrido.
+     */
+    private int alturaEstimada() {
+        return equilibrado ? Math.max(alturaNodo(raiz), 1) : 32;
     }
-    
-    private T obtenerRecursivo(NodoArbol<T> nodo, T dato) {
-        if (nodo == null) {
-            return null;
+
+    // ========================================================================
+    // CAMINO DE INSERCIÓN / ELIMINACIÓN
+    // ========================================================================
+
+    /**
+     * Crea un arreglo de nodos del tipo del árbol (Java no permite crear
+     * arreglos genéricos directamente).
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> NodoArbol<T>[] nuevoArregloNodos(int capacidad) {
+        return (NodoArbol<T>[]) new NodoArbol[capacidad];
+    }
+
+    /**
+     * Registra un nodo en la posición indicada del camino, ampliándolo si hace falta.
+     */
+    private void agregarAlCamino(int posicion, NodoArbol<T> nodo) {
+        if (posicion == camino.length) {
+            NodoArbol<T>[] nuevo = nuevoArregloNodos(camino.length * 2);
+            System.arraycopy(camino, 0, nuevo, 0, camino.length);
+            camino = nuevo;
         }
-        
-        int comparacion = comparador.compare(dato, nodo.getDato());
-        if (comparacion == 0) {
-            return nodo.getDato();
+        camino[posicion] = nodo;
+    }
+
+    /**
+     * Suelta las referencias del camino para no retener nodos eliminados.
+     */
+    private void limpiarCamino(int profundidad) {
+        for (int i = 0; i < profundidad; i++) {
+            camino[i] = null;
         }
-        
-        if (comparacion < 0) {
-            return obtenerRecursivo(nodo.getIzquierdo(), dato);
+    }
+
+    /**
+     * Sustituye en el padre la referencia a un hijo por otro nodo.
+     *
+     * @param padre El padre (null si el hijo es la raíz).
+     * @param anterior El hijo actual.
+     * @param nuevo El nodo que ocupará su lugar.
+     */
+    private void reemplazarHijo(NodoArbol<T> padre, NodoArbol<T> anterior, NodoArbol<T> nuevo) {
+        if (padre == null) {
+            raiz = nuevo;
+        } else if (padre.getIzquierdo() == anterior) {
+            padre.setIzquierdo(nuevo);
         } else {
-            return obtenerRecursivo(nodo.getDerecho(), dato);
+            padre.setDerecho(nuevo);
+        }
+    }
+
+    /**
+     * Recorre el camino guardado desde el nodo más profundo hacia la raíz,
+     * equilibrando cada ancestro y reenlazándolo si una rotación lo sustituyó.
+     *
+     * @param profundidad Número de nodos válidos en el camino.
+     */
+    private void equilibrarCamino(int profundidad) {
+        for (int i = profundidad - 1; i >= 0; i--) {
+            NodoArbol<T> nodo = camino[i];
+            NodoArbol<T> subarbol = equilibrar(nodo);
+            if (subarbol != nodo) {
+                reemplazarHijo(i == 0 ? null : camino[i - 1], nodo, subarbol);
+            }
+        }
+    }
+
+    // ========================================================================
+    // EQUILIBRIO AVL
+    // ========================================================================
+
+    /**
+     * Devuelve la altura almacenada de un nodo (0 para null).
+     */
+    private int alturaNodo(NodoArbol<T> nodo) {
+        return nodo == null ? 0 : nodo.getAltura();
+    }
+
+    /**
+     * Recalcula la altura de un nodo a partir de la de sus hijos.
+     */
+    private void actualizarAltura(NodoArbol<T> nodo) {
+        nodo.setAltura(Math.max(alturaNodo(nodo.getIzquierdo()), alturaNodo(nodo.getDerecho())) + 1);
+    }
+
+    /**
+     * Diferencia de alturas entre el subárbol izquierdo y el derecho.
+     */
+    private int factorEquilibrio(NodoArbol<T> nodo) {
+        return alturaNodo(nodo.getIzquierdo()) - alturaNodo(nodo.getDerecho());
+    }
+
+    /**
+     * Rotación simple a la derecha.
+     *
+     * @param nodo La raíz del subárbol desequilibrado hacia la izquierda.
+     * @return La nueva raíz del subárbol.
+     */
+    private NodoArbol<T> rotarDerecha(NodoArbol<T> nodo) {
+        NodoArbol<T> nuevaRaiz = nodo.getIzquierdo();
+        nodo.setIzquierdo(nuevaRaiz.getDerecho());
+        nuevaRaiz.setDerecho(nodo);
+        actualizarAltura(nodo);
+        actualizarAltura(nuevaRaiz);
+        return nuevaRaiz;
+    }
+
+    /**
+     * Rotación simple a la izquierda.
+     *
+     * @param nodo La raíz del subárbol desequilibrado hacia la derecha.
+     * @return La nueva raíz del subárbol.
+     */
+    private NodoArbol<T> rotarIzquierda(NodoArbol<T> nodo) {
+        NodoArbol<T> nuevaRaiz = nodo.getDerecho();
+        nodo.setDerecho(nuevaRaiz.getIzquierdo());
+        nuevaRaiz.setIzquierdo(nodo);
+        actualizarAltura(nodo);
+        actualizarAltura(nuevaRaiz);
+        return nuevaRaiz;
+    }
+
+    /**
+     * Actualiza la altura del nodo y aplica la rotación simple o doble que
+     * corresponda si su factor de equilibrio sale del rango [-1, 1].
+     *
+     * @param nodo La raíz del subárbol recién modificado.
+     * @return La raíz del subárbol ya equilibrado.
+     */
+    private NodoArbol<T> equilibrar(NodoArbol<T> nodo) {
+        actualizarAltura(nodo);
+        int factor = factorEquilibrio(nodo);
+
+        if (factor > 1) {
+            // Caso izquierda-derecha: primero rotar el hijo izquierdo
+            if (factorEquilibrio(nodo.getIzquierdo()) < 0) {
+                nodo.setIzquierdo(rotarIzquierda(nodo.getIzquierdo()));
+            }
+            return rotarDerecha(nodo);
+        }
+        if (factor < -1) {
+            // Caso derecha-izquierda: primero rotar el hijo derecho
+            if (factorEquilibrio(nodo.getDerecho()) > 0) {
+                nodo.setDerecho(rotarDerecha(nodo.getDerecho()));
+            }
+            return rotarIzquierda(nodo);
+        }
+        return nodo;
+    }
+
+    /**
+     * Pila de nodos respaldada por arreglo para los recorridos iterativos.
+     * Evita crear un NodoLista por cada nodo apilado.
+     */
+    private static final class PilaNodos<T> {
+
+        private NodoArbol<T>[] nodos;
+        private int tamano;
+
+        PilaNodos(int capacidad) {
+            this.nodos = nuevoArregloNodos(Math.max(capacidad, 1));
+            this.tamano = 0;
+        }
+
+        boolean estaVacia() {
+            return tamano == 0;
+        }
+
+        int getTamano() {
+            return tamano;
+        }
+
+        void apilar(NodoArbol<T> nodo) {
+            if (tamano == nodos.length) {
+                NodoArbol<T>[] nuevo = nuevoArregloNodos(nodos.length * 2);
+                System.arraycopy(nodos, 0, nuevo, 0, tamano);
+                nodos = nuevo;
+            }
+            nodos[tamano++] = nodo;
+        }
+
+        NodoArbol<T> desapilar() {
+            NodoArbol<T> nodo = nodos[--tamano];
+            nodos[tamano] = null;
+            return nodo;
+        }
+
+        NodoArbol<T> verTope() {
+            return nodos[tamano - 1];
         }
     }
 }
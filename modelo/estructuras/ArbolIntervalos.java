@@ -0,0 +1,331 @@
+package modelo.estructuras;
+
+import java.util.function.Consumer;
+
+/**
+ * Árbol de intervalos semiabiertos [inicio, fin) sobre valores long, cada uno
+ * con un dato asociado. Es un AVL ordenado por inicio (luego fin y orden de
+ * inserción) en el que cada nodo guarda además el mayor fin de su subárbol.
+ * Con ese dato se descartan ramas enteras que terminan antes del intervalo
+ * consultado:
+ * <ul>
+ *   <li>insertar y eliminar: O(log n)</li>
+ *   <li>haySolapamiento: O(log n)</li>
+ *   <li>recorrerSolapados / solapados: O(log n + k), con k intervalos encontrados</li>
+ * </ul>
+ * Dos intervalos se solapan si a.inicio &lt; b.fin y b.inicio &lt; a.fin, así
+ * que uno que termina justo cuando empieza otro no lo solapa.
+ * <p>
+ * La recursión está acotada por la altura del AVL (menos de 1.5·log2(n)), por
+ * lo que no hay riesgo de desbordar la pila.
+ *
+ * @param <T> El tipo de dato asociado a cada intervalo.
+ */
+public class ArbolIntervalos<T> {
+
+    /**
+     * Nodo del árbol: intervalo, dato y datos de equilibrio y aumento.
+     */
+    private static final class NodoIntervalo<T> {
+
+        private final long inicio;
+        private final long fin;
+        private final long secuencia; // Desempata intervalos iguales
+        private final T dato;
+        private long finMaximo;       // Mayor fin del subárbol con raíz en este nodo
+        private int altura;
+        private NodoIntervalo<T> izquierdo;
+        private NodoIntervalo<T> derecho;
+
+        NodoIntervalo(long inicio, long fin, long secuencia, T dato) {
+            this.inicio = inicio;
+            this.fin = fin;
+            this.secuencia = secuencia;
+            this.dato = dato;
+            this.finMaximo = fin;
+            this.altura = 1;
+        }
+    }
+
+    private NodoIntervalo<T> raiz;
+    private int tamano;
+    private long siguienteSecuencia;
+    private boolean eliminado; // Resultado de la última eliminación recursiva
+
+    /**
+     * Agrega un intervalo. Se admiten intervalos repetidos.
+     *
+     * @param inicio Inicio del intervalo (inclusive).
+     * @param fin Fin del intervalo (exclusive).
+     * @param dato Dato asociado.
+     * @throws IllegalArgumentException si fin no es mayor que inicio.
+     */
+    public void insertar(long inicio, long fin, T dato) {
+        validar(inicio, fin);
+        raiz = insertar(raiz, new NodoIntervalo<>(inicio, fin, siguienteSecuencia++, dato));
+        tamano++;
+    }
+
+    /**
+     * Elimina un intervalo con su dato (comparado con equals).
+     *
+     * @param inicio Inicio del intervalo.
+     * @param fin Fin del intervalo.
+     * @param dato Dato asociado.
+     * @return true si el intervalo estaba en el árbol.
+     */
+    public boolean eliminar(long inicio, long fin, T dato) {
+        eliminado = false;
+        raiz = eliminar(raiz, inicio, fin, dato);
+        if (eliminado) {
+            tamano--;
+        }
+        return eliminado;
+    }
+
+    /**
+     * Verifica si algún intervalo se solapa con [inicio, fin).
+     *
+     * @param inicio Inicio del intervalo consultado.
+     * @param fin Fin del intervalo consultado.
+     * @return true si existe al menos uno.
+     */
+    public boolean haySolapamiento(long inicio, long fin) {
+        NodoIntervalo<T> nodo = raiz;
+        while (nodo != null) {
+            if (nodo.inicio < fin && inicio < nodo.fin) {
+                return true;
+            }
+            // Si algo del subárbol izquierdo termina después de inicio y nada
+            // allí se solapa, tampoco puede hacerlo el derecho (empieza aún más tarde)
+            if (nodo.izquierdo != null && nodo.izquierdo.finMaximo > inicio) {
+                nodo = nodo.izquierdo;
+            } else {
+                nodo = nodo.derecho;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Devuelve el dato de un intervalo cualquiera que se solape con
+     * [inicio, fin).
+     *
+     * @return El dato, o null si no hay ninguno.
+     */
+    public T buscarSolapado(long inicio, long fin) {
+        NodoIntervalo<T> nodo = raiz;
+        while (nodo != null) {
+            if (nodo.inicio < fin && inicio < nodo.fin) {
+                return nodo.dato;
+            }
+            if (nodo.izquierdo != null && nodo.izquierdo.finMaximo > inicio) {
+                nodo = nodo.izquierdo;
+            } else {
+                nodo = nodo.derecho;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Visita, en orden de inicio, los datos de todos los intervalos que se
+     * solapan con [inicio, fin).
+     *
+     * @param visitante Acción a ejecutar con cada dato.
+     */
+    public void recorrerSolapados(long inicio, long fin, Consumer<? super T> visitante) {
+        recorrerSolapados(raiz, inicio, fin, visitante);
+    }
+
+    /**
+     * Datos de todos los intervalos que se solapan con [inicio, fin), en
+     * orden de inicio.
+     *
+     * @return Una lista (vacía si no hay ninguno).
+     */
+    public ListaArreglo<T> solapados(long inicio, long fin) {
+        ListaArreglo<T> resultado = new ListaArreglo<>();
+        recorrerSolapados(raiz, inicio, fin, resultado::agregarAlFinal);
+        return resultado;
+    }
+
+    public int getTamano() {
+        return tamano;
+    }
+
+    public boolean estaVacio() {
+        return tamano == 0;
+    }
+
+    public void limpiar() {
+        raiz = null;
+        tamano = 0;
+    }
+
+    // ========================================================================
+    // MÉTODOS AUXILIARES DEL ÁRBOL DE INTERVALOS
+    // ========================================================================
+
+    private static void validar(long inicio, long fin) {
+        if (fin <= inicio) {
+            throw new IllegalArgumentException("El fin del intervalo debe ser mayor que su inicio");
+        }
+    }
+
+    private static <T> int comparar(NodoIntervalo<T> a, NodoIntervalo<T> b) {
+        if (a.inicio != b.inicio) {
+            return Long.compare(a.inicio, b.inicio);
+        }
+        if (a.fin != b.fin) {
+            return Long.compare(a.fin, b.fin);
+        }
+        return Long.compare(a.secuencia, b.secuencia);
+    }
+
+    private NodoIntervalo<T> insertar(NodoIntervalo<T> nodo, NodoIntervalo<T> nuevo) {
+        if (nodo == null) {
+            return nuevo;
+        }
+        if (comparar(nuevo, nodo) < 0) {
+            nodo.izquierdo = insertar(nodo.izquierdo, nuevo);
+        } else {
+            nodo.derecho = insertar(nodo.derecho, nuevo);
+        }
+        return equilibrar(nodo);
+    }
+
+    /**
+     * Los intervalos iguales a (inicio, fin) pueden estar a ambos lados de un
+     * nodo con la misma clave, así que en ese caso se prueban los dos.
+     */
+    private NodoIntervalo<T> eliminar(NodoIntervalo<T> nodo, long inicio, long fin, T dato) {
+        if (nodo == null) {
+            return null;
+        }
+        int cmp = inicio != nodo.inicio ? Long.compare(inicio, nodo.inicio) : Long.compare(fin, nodo.fin);
+        if (cmp < 0) {
+            nodo.izquierdo = eliminar(nodo.izquierdo, inicio, fin, dato);
+        } else if (cmp > 0) {
+            nodo.derecho = eliminar(nodo.derecho, inicio, fin, dato);
+        } else if (dato == null ? nodo.dato == null : dato.equals(nodo.dato)) {
+            eliminado = true;
+            return quitarNodo(nodo);
+        } else {
+            nodo.izquierdo = eliminar(nodo.izquierdo, inicio, fin, dato);
+            if (!eliminado) {
+                nodo.derecho = eliminar(nodo.derecho, inicio, fin, dato);
+            }
+        }
+        return eliminado ? equilibrar(nodo) : nodo;
+    }
+
+    /**
+     * Quita un nodo del árbol y devuelve la raíz de su subárbol reemplazante.
+     */
+    private NodoIntervalo<T> quitarNodo(NodoIntervalo<T> nodo) {
+        if (nodo.izquierdo == null) {
+            return nodo.derecho;
+        }
+        if (nodo.derecho == null) {
+            return nodo.izquierdo;
+        }
+        // Dos hijos: el sucesor (mínimo del subárbol derecho) ocupa su lugar
+        NodoIntervalo<T> sucesor = nodo.derecho;
+        while (sucesor.izquierdo != null) {
+            sucesor = sucesor.izquierdo;
+        }
+        sucesor.derecho = quitarMinimo(nodo.derecho);
+        sucesor.izquierdo = nodo.izquierdo;
+        return equilibrar(sucesor);
+    }
+
+    private NodoIntervalo<T> quitarMinimo(NodoIntervalo<T> nodo) {
+        if (nodo.izquierdo == null) {
+            return nodo.derecho;
+        }
+        nodo.izquierdo = quitarMinimo(nodo.izquierdo);
+        return equilibrar(nodo);
+    }
+
+    private void recorrerSolapados(NodoIntervalo<T> nodo, long inicio, long fin, Consumer<? super T> visitante) {
+        if (nodo == null || nodo.finMaximo <= inicio) {
+            return; // Todo el subárbol termina antes del intervalo consultado
+        }
+        recorrerSolapados(nodo.izquierdo, inicio, fin, visitante);
+        if (nodo.inicio >= fin) {
+            return; // Este nodo y su subárbol derecho empiezan después
+        }
+        if (inicio < nodo.fin) {
+            visitante.accept(nodo.dato);
+        }
+        recorrerSolapados(nodo.derecho, inicio, fin, visitante);
+    }
+
+    // ========================================================================
+    // EQUILIBRIO AVL Y AUMENTO
+    // ========================================================================
+
+    private static <T> int altura(NodoIntervalo<T> nodo) {
+        return nodo == null ? 0 : nodo.altura;
+    }
+
+    /**
+     * Recalcula altura y fin máximo de un nodo a partir de sus hijos.
+     */
+    private static <T> void actualizar(NodoIntervalo<T> nodo) {
+        nodo.altura = Math.max(altura(nodo.izquierdo), altura(nodo.derecho)) + 1;
+        long maximo = nodo.fin;
+        if (nodo.izquierdo != null && nodo.izquierdo.finMaximo > maximo) {
+            maximo = nodo.izquierdo.finMaximo;
+        }
+        if (nodo.derecho != null && nodo.derecho.finMaximo > maximo) {
+            maximo = nodo.derecho.finMaximo;
+        }
+        nodo.finMaximo = maximo;
+    }
+
+    private static <T> int factorEquilibrio(NodoIntervalo<T> nodo) {
+        return altura(nodo.izquierdo) - altura(nodo.derecho);
+    }
+
+    private static <T> NodoIntervalo<T> rotarDerecha(NodoIntervalo<T> nodo) {
+        NodoIntervalo<T> nuevaRaiz = nodo.izquierdo;
+        nodo.izquierdo = nuevaRaiz.derecho;
+        nuevaRaiz.derecho = nodo;
+        actualizar(nodo);
+        actualizar(nuevaRaiz);
+        return nuevaRaiz;
+    }
+
+    private static <T> NodoIntervalo<T> rotarIzquierda(NodoIntervalo<T> nodo) {
+        NodoIntervalo<T> nuevaRaiz = nodo.derecho;
+        nodo.derecho = nuevaRaiz.izquierdo;
+        nuevaRaiz.izquierdo = nodo;
+        actualizar(nodo);
+        actualizar(nuevaRaiz);
+        return nuevaRaiz;
+    }
+
+    /**
+     * Actualiza el nodo y aplica la rotación simple o doble que corresponda,
+     * igual que {@link ArbolBinario} en modo equilibrado.
+     */
+    private static <T> NodoIntervalo<T> equilibrar(NodoIntervalo<T> nodo) {
+        actualizar(nodo);
+        int factor = factorEquilibrio(nodo);
+        if (factor > 1) {
+            if (factorEquilibrio(nodo.izquierdo) < 0) {
+                nodo.izquierdo = rotarIzquierda(nodo.izquierdo);
+            }
+            return rotarDerecha(nodo);
+        }
+        if (factor < -1) {
+            if (factorEquilibrio(nodo.derecho) > 0) {
+                nodo.derecho = rotarDerecha(nodo.derecho);
+            }
+            return rotarIzquierda(nodo);
+        }
+        return nodo;
+    }
+}
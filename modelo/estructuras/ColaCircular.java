@@ -0,0 +1,257 @@
+package modelo.estructuras;
+
+/**
+ * Representa una cola (Queue) genérica implementada con un arreglo circular.
+ * Sigue el principio FIFO (First In, First Out).
+ * <p>
+ * A diferencia de {@link Cola}, no crea un nodo por cada elemento encolado:
+ * una vez que el arreglo alcanza su tamaño de trabajo, encolar y desencolar
+ * no generan basura. La capacidad es siempre potencia de dos para calcular
+ * las posiciones con una máscara. Opcionalmente puede limitarse a un máximo
+ * de elementos, aplicando una política de rechazo cuando se llena.
+ *
+ * @param <T> El tipo de dato que almacenará la cola.
+ */
+public class ColaCircular<T> implements ICola<T> {
+
+    /**
+     * Comportamiento de encolar cuando la cola acotada está llena.
+     */
+    public enum PoliticaRechazo {
+        /** Lanza IllegalStateException. */
+        LANZAR_EXCEPCION,
+        /** Ignora el elemento nuevo. */
+        DESCARTAR_NUEVO,
+        /** Desencola el elemento más antiguo para hacer sitio al nuevo. */
+        DESCARTAR_MAS_ANTIGUO
+    }
+
+    private static final int CAPACIDAD_INICIAL = 16;
+    private static final int SIN_LIMITE = Integer.MAX_VALUE;
+
+    private Object[] elementos;
+    private int frente;       // Posición del primer elemento
+    private int tamano;
+    private final int capacidadMaxima;
+    private final PoliticaRechazo politica;
+
+    /**
+     * Constructor para crear una cola vacía sin límite de elementos.
+     */
+    public ColaCircular() {
+        this(CAPACIDAD_INICIAL, SIN_LIMITE, PoliticaRechazo.LANZAR_EXCEPCION);
+    }
+
+    /**
+     * Constructor para crear una cola acotada.
+     *
+     * @param capacidadMaxima Número máximo de elementos que admite la cola.
+     * @param politica Qué hacer al encolar con la cola llena.
+     */
+    public ColaCircular(int capacidadMaxima, PoliticaRechazo politica) {
+        this(Math.min(capacidadMaxima, CAPACIDAD_INICIAL), capacidadMaxima, politica);
+    }
+
+    private ColaCircular(int capacidadInicial, int capacidadMaxima, PoliticaRechazo politica) {
+        if (capacidadMaxima <= 0) {
+            throw new IllegalArgumentException("La capacidad máxima debe ser mayor a 0");
+        }
+        if (politica == null) {
+            throw new IllegalArgumentException("La política de rechazo no puede ser null");
+        }
+        this.elementos = new Object[potenciaDeDos(capacidadInicial)];
+        this.frente = 0;
+        this.tamano = 0;
+        this.capacidadMaxima = capacidadMaxima;
+        this.politica = politica;
+    }
+
+    /**
+     * Devuelve el número de elementos en la cola.
+     *
+     * @return el tamaño de la cola.
+     */
+    @Override
+    public int getTamano() {
+        return tamano;
+    }
+
+    /**
+     * Comprueba si la cola está vacía.
+     *
+     * @return true si la cola no tiene elementos.
+     */
+    @Override
+    public boolean estaVacia() {
+        return tamano == 0;
+    }
+
+    /**
+     * Comprueba si la cola alcanzó su capacidad máxima.
+     *
+     * @return true si la cola está acotada y llena.
+     */
+    public boolean estaLlena() {
+        return tamano >= capacidadMaxima;
+    }
+
+    /**
+     * Agrega un elemento al final de la cola. Si la cola está llena se
+     * aplica la política de rechazo configurada.
+     *
+     * @param dato El dato a agregar.
+     * @throws IllegalStateException si la cola está llena y la política es LANZAR_EXCEPCION.
+     */
+    @Override
+    public void encolar(T dato) {
+        if (estaLlena()) {
+            switch (politica) {
+                case LANZAR_EXCEPCION:
+                    throw new IllegalStateException("La cola está llena");
+                case DESCARTAR_NUEVO:
+                    return;
+                case DESCARTAR_MAS_ANTIGUO:
+                    desencolar();
+                    break;
+            }
+        }
+        agregarAlFinal(dato);
+    }
+
+    /**
+     * Intenta agregar un elemento sin aplicar la política de rechazo.
+     *
+     * @param dato El dato a agregar.
+     * @return true si se encoló, false si la cola estaba llena.
+     */
+    public boolean intentarEncolar(T dato) {
+        if (estaLlena()) {
+            return false;
+        }
+        agregarAlFinal(dato);
+        return true;
+    }
+
+    private void agregarAlFinal(T dato) {
+        if (tamano == elementos.length) {
+            crecer();
+        }
+        elementos[(frente + tamano) & (elementos.length - 1)] = dato;
+        tamano++;
+    }
+
+    /**
+     * Elimina y devuelve el elemento al frente de la cola.
+     *
+     * @return El elemento al frente.
+     * @throws IllegalStateException si la cola está vacía.
+     */
+    @Override
+    public T desencolar() {
+        if (estaVacia()) {
+            throw new IllegalStateException("La cola está vacía");
+        }
+        @SuppressWarnings("unchecked")
+        T dato = (T) elementos[frente];
+        elementos[frente] = null; // Liberar referencia
+        frente = (frente + 1) & (elementos.length - 1);
+        tamano--;
+        return dato;
+    }
+
+    /**
+     * Devuelve el elemento al frente de la cola sin eliminarlo.
+     *
+     * @return El elemento al frente.
+     * @throws IllegalStateException si la cola está vacía.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T verFrente() {
+        if (estaVacia()) {
+            throw new IllegalStateException("La cola está vacía");
+        }
+        return (T) elementos[frente];
+    }
+
+    /**
+     * Devuelve el elemento al final de la cola sin eliminarlo.
+     *
+     * @return El elemento al final.
+     * @throws IllegalStateException si la cola está vacía.
+     */
+    @SuppressWarnings("unchecked")
+    public T verFin() {
+        if (estaVacia()) {
+            throw new IllegalStateException("La cola está vacía");
+        }
+        return (T) elementos[(frente + tamano - 1) & (elementos.length - 1)];
+    }
+
+    /**
+     * Limpia todos los elementos de la cola conservando el arreglo.
+     */
+    @Override
+    public void limpiar() {
+        int mascara = elementos.length - 1;
+        for (int i = 0; i < tamano; i++) {
+            elementos[(frente + i) & mascara] = null;
+        }
+        frente = 0;
+        tamano = 0;
+    }
+
+    /**
+     * Convierte la cola a una lista enlazada (del frente al final).
+     *
+     * @return Una lista con todos los elementos de la cola.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public ListaEnlazada<T> toLista() {
+        ListaEnlazada<T> lista = new ListaEnlazada<>();
+        int mascara = elementos.length - 1;
+        for (int i = 0; i < tamano; i++) {
+            lista.agregarAlFinal((T) elementos[(frente + i) & mascara]);
+        }
+        return lista;
+    }
+
+    /**
+     * Busca un elemento en la cola.
+     *
+     * @param dato El dato a buscar.
+     * @return true si el elemento existe en la cola.
+     */
+    @Override
+    public boolean contiene(T dato) {
+        int mascara = elementos.length - 1;
+        for (int i = 0; i < tamano; i++) {
+            if (elementos[(frente + i) & mascara].equals(dato)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Duplica el arreglo dejando los elementos contiguos desde la posición 0.
+     */
+    private void crecer() {
+        int capacidad = elementos.length;
+        Object[] nuevo = new Object[capacidad * 2];
+        int hastaElFinal = capacidad - frente;
+        System.arraycopy(elementos, frente, nuevo, 0, hastaElFinal);
+        System.arraycopy(elementos, 0, nuevo, hastaElFinal, frente);
+        elementos = nuevo;
+        frente = 0;
+    }
+
+    private static int potenciaDeDos(int valor) {
+        int capacidad = 1;
+        while (capacidad < valor) {
+            capacidad <<= 1;
+        }
+        return capacidad;
+    }
+}
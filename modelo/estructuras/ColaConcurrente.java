@@ -0,0 +1,229 @@
+package modelo.estructuras;
+
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Representa una cola (Queue) genérica segura para varios hilos y sin bloqueos,
+ * basada en el algoritmo de Michael y Scott. Sigue el principio FIFO.
+ * <p>
+ * La cola mantiene siempre un nodo centinela al frente: {@code frente} apunta
+ * al centinela y el primer dato real está en su siguiente. Encolar enlaza el
+ * nodo nuevo al último con CAS y luego intenta avanzar {@code fin}; cualquier
+ * hilo que encuentre {@code fin} atrasado lo ayuda a avanzar. Desencolar mueve
+ * {@code frente} con CAS, de modo que ningún elemento se pierde ni se entrega
+ * dos veces.
+ * <p>
+ * {@link #getTamano()} es aproximado bajo concurrencia (contador distribuido),
+ * pero exacto cuando la cola está en reposo.
+ *
+ * @param <T> El tipo de dato que almacenará la cola.
+ */
+public class ColaConcurrente<T> implements ICola<T> {
+
+    /**
+     * Nodo con enlace volátil, actualizado mediante CAS.
+     */
+    private static final class Nodo<T> {
+
+        private volatile T dato;
+        private volatile Nodo<T> siguiente;
+
+        Nodo(T dato) {
+            this.dato = dato;
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<Nodo, Nodo> SIGUIENTE =
+            AtomicReferenceFieldUpdater.newUpdater(Nodo.class, Nodo.class, "siguiente");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<ColaConcurrente, Nodo> FRENTE =
+            AtomicReferenceFieldUpdater.newUpdater(ColaConcurrente.class, Nodo.class, "frente");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<ColaConcurrente, Nodo> FIN =
+            AtomicReferenceFieldUpdater.newUpdater(ColaConcurrente.class, Nodo.class, "fin");
+
+    private volatile Nodo<T> frente; // Centinela
+    private volatile Nodo<T> fin;    // Último nodo (o uno anterior, si está atrasado)
+    private final LongAdder tamano;
+
+    /**
+     * Constructor para crear una cola vacía.
+     */
+    public ColaConcurrente() {
+        Nodo<T> centinela = new Nodo<>(null);
+        this.frente = centinela;
+        this.fin = centinela;
+        this.tamano = new LongAdder();
+    }
+
+    /**
+     * Devuelve el número aproximado de elementos en la cola.
+     *
+     * @return el tamaño de la cola (exacto si no hay operaciones en curso).
+     */
+    @Override
+    public int getTamano() {
+        long valor = tamano.sum();
+        if (valor < 0) {
+            return 0;
+        }
+        return valor > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) valor;
+    }
+
+    /**
+     * Comprueba si la cola está vacía en este instante.
+     *
+     * @return true si la cola no tiene elementos.
+     */
+    @Override
+    public boolean estaVacia() {
+        return frente.siguiente == null;
+    }
+
+    /**
+     * Agrega un elemento al final de la cola.
+     *
+     * @param dato El dato a agregar.
+     * @throws IllegalArgumentException si el dato es null.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void encolar(T dato) {
+        if (dato == null) {
+            throw new IllegalArgumentException("La cola no admite elementos null");
+        }
+        Nodo<T> nuevo = new Nodo<>(dato);
+        while (true) {
+            Nodo<T> ultimo = fin;
+            Nodo<T> siguiente = ultimo.siguiente;
+            if (ultimo != fin) {
+                continue; // fin cambió mientras se leía
+            }
+            if (siguiente == null) {
+                if (SIGUIENTE.compareAndSet(ultimo, null, nuevo)) {
+                    FIN.compareAndSet(this, ultimo, nuevo); // Si falla, otro hilo ya lo avanzó
+                    tamano.increment();
+                    return;
+                }
+            } else {
+                FIN.compareAndSet(this, ultimo, siguiente); // Ayudar a avanzar fin
+            }
+        }
+    }
+
+    /**
+     * Elimina y devuelve el elemento al frente de la cola.
+     *
+     * @return El elemento al frente.
+     * @throws IllegalStateException si la cola está vacía.
+     */
+    @Override
+    public T desencolar() {
+        T dato = intentarDesencolar();
+        if (dato == null) {
+            throw new IllegalStateException("La cola está vacía");
+        }
+        return dato;
+    }
+
+    /**
+     * Elimina y devuelve el elemento al frente, o null si la cola está vacía.
+     * Preferible a {@code estaVacia()} + {@code desencolar()}, que bajo
+     * concurrencia no es atómico.
+     *
+     * @return El elemento al frente, o null.
+     */
+    @SuppressWarnings("unchecked")
+    public T intentarDesencolar() {
+        while (true) {
+            Nodo<T> primero = frente;
+            Nodo<T> ultimo = fin;
+            Nodo<T> siguiente = primero.siguiente;
+            if (primero != frente) {
+                continue;
+            }
+            if (siguiente == null) {
+                return null;
+            }
+            if (primero == ultimo) {
+                FIN.compareAndSet(this, ultimo, siguiente); // fin atrasado
+                continue;
+            }
+            T dato = siguiente.dato;
+            if (FRENTE.compareAndSet(this, primero, siguiente)) {
+                siguiente.dato = null; // El nodo pasa a ser el nuevo centinela
+                tamano.decrement();
+                return dato;
+            }
+        }
+    }
+
+    /**
+     * Devuelve el elemento al frente de la cola sin eliminarlo.
+     *
+     * @return El elemento al frente.
+     * @throws IllegalStateException si la cola está vacía.
+     */
+    @Override
+    public T verFrente() {
+        while (true) {
+            Nodo<T> primero = frente;
+            Nodo<T> siguiente = primero.siguiente;
+            if (siguiente == null) {
+                throw new IllegalStateException("La cola está vacía");
+            }
+            T dato = siguiente.dato;
+            if (primero == frente && dato != null) {
+                return dato;
+            }
+        }
+    }
+
+    /**
+     * Limpia todos los elementos de la cola desencolándolos uno a uno, para
+     * que el contador quede consistente con los hilos concurrentes.
+     */
+    @Override
+    public void limpiar() {
+        while (intentarDesencolar() != null) {
+            // Vaciar
+        }
+    }
+
+    /**
+     * Convierte la cola a una lista enlazada (del frente al final). Bajo
+     * concurrencia es una instantánea débilmente consistente.
+     *
+     * @return Una lista con los elementos de la cola.
+     */
+    @Override
+    public ListaEnlazada<T> toLista() {
+        ListaEnlazada<T> lista = new ListaEnlazada<>();
+        for (Nodo<T> actual = frente.siguiente; actual != null; actual = actual.siguiente) {
+            T dato = actual.dato;
+            if (dato != null) {
+                lista.agregarAlFinal(dato);
+            }
+        }
+        return lista;
+    }
+
+    /**
+     * Busca un elemento en la cola (débilmente consistente bajo concurrencia).
+     *
+     * @param dato El dato a buscar.
+     * @return true si el elemento existe en la cola.
+     */
+    @Override
+    public boolean contiene(T dato) {
+        for (Nodo<T> actual = frente.siguiente; actual != null; actual = actual.siguiente) {
+            T valor = actual.dato;
+            if (valor != null && valor.equals(dato)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,213 @@
+package modelo.estructuras;
+
+import java.util.function.Consumer;
+
+/**
+ * Conjunto de cadenas (placas, DNIs, códigos) sobre una tabla hash de
+ * direccionamiento abierto con sondeo lineal y tamaño potencia de dos:
+ * agregar, contiene y eliminar son O(1) en promedio. Guarda las cadenas sin
+ * envolverlas y el hash de cada una en un arreglo int paralelo, de modo que
+ * el sondeo compara enteros y solo llama a equals si los hashes coinciden.
+ */
+public class ConjuntoCadenas {
+
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    private String[] claves;  // Casillas de la tabla (null = vacía)
+    private int[] hashes;     // Hash ya mezclado de cada casilla ocupada
+    private int tamano;
+    private int umbral;
+
+    public ConjuntoCadenas() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * Crea un conjunto preparado para recibir la cantidad indicada de
+     * cadenas sin redimensionarse.
+     * @param capacidadEsperada Número de cadenas previsto.
+     */
+    public ConjuntoCadenas(int capacidadEsperada) {
+        int capacidad = CAPACIDAD_INICIAL;
+        while (capacidad / 4 * 3 < capacidadEsperada) {
+            capacidad <<= 1;
+        }
+        inicializarTabla(capacidad);
+    }
+
+    /**
+     * Agrega una cadena al conjunto si no existe.
+     * @param cadena La cadena a agregar.
+     * @return true si fue agregada, false si ya existía.
+     * @throws IllegalArgumentException si la cadena es null.
+     */
+    public boolean agregar(String cadena) {
+        if (cadena == null) {
+            throw new IllegalArgumentException("El conjunto no admite elementos null");
+        }
+        int h = mezclar(cadena.hashCode());
+        int mascara = claves.length - 1;
+        int i = h & mascara;
+        while (claves[i] != null) {
+            if (hashes[i] == h && claves[i].equals(cadena)) {
+                return false;
+            }
+            i = (i + 1) & mascara;
+        }
+        claves[i] = cadena;
+        hashes[i] = h;
+        if (++tamano > umbral) {
+            redimensionar(claves.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * Verifica si el conjunto contiene una cadena.
+     * @param cadena La cadena a buscar.
+     * @return true si la cadena está en el conjunto.
+     */
+    public boolean contiene(String cadena) {
+        return cadena != null && buscarCasilla(cadena) >= 0;
+    }
+
+    /**
+     * Elimina una cadena del conjunto.
+     * @param cadena La cadena a eliminar.
+     * @return true si fue eliminada.
+     */
+    public boolean eliminar(String cadena) {
+        if (cadena == null) {
+            return false;
+        }
+        int i = buscarCasilla(cadena);
+        if (i < 0) {
+            return false;
+        }
+        desplazarHaciaAtras(i);
+        tamano--;
+        return true;
+    }
+
+    /**
+     * Obtiene el tamaño del conjunto.
+     * @return El número de cadenas.
+     */
+    public int getTamano() {
+        return tamano;
+    }
+
+    /**
+     * Verifica si el conjunto está vacío.
+     * @return true si no hay cadenas.
+     */
+    public boolean estaVacio() {
+        return tamano == 0;
+    }
+
+    /**
+     * Elimina todas las cadenas del conjunto.
+     */
+    public void limpiar() {
+        for (int i = 0; i < claves.length; i++) {
+            claves[i] = null;
+        }
+        tamano = 0;
+    }
+
+    /**
+     * Convierte el conjunto a un array (sin orden garantizado).
+     * @return Un array con todas las cadenas.
+     */
+    public String[] toArray() {
+        String[] array = new String[tamano];
+        int j = 0;
+        for (String clave : claves) {
+            if (clave != null) {
+                array[j++] = clave;
+            }
+        }
+        return array;
+    }
+
+    /**
+     * Recorre todas las cadenas del conjunto (sin orden garantizado).
+     * @param accion La acción a ejecutar sobre cada cadena.
+     */
+    public void recorrer(Consumer<String> accion) {
+        for (String clave : claves) {
+            if (clave != null) {
+                accion.accept(clave);
+            }
+        }
+    }
+
+    // ========================================================================
+    // MÉTODOS AUXILIARES DE LA TABLA HASH
+    // ========================================================================
+
+    private int buscarCasilla(String cadena) {
+        int h = mezclar(cadena.hashCode());
+        int mascara = claves.length - 1;
+        int i = h & mascara;
+        while (claves[i] != null) {
+            if (hashes[i] == h && claves[i].equals(cadena)) {
+                return i;
+            }
+            i = (i + 1) & mascara;
+        }
+        return -1;
+    }
+
+    private static int mezclar(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Vacía la casilla indicada y recoloca los elementos siguientes del mismo
+     * grupo (eliminación sin lápidas).
+     */
+    private void desplazarHaciaAtras(int hueco) {
+        int mascara = claves.length - 1;
+        int j = hueco;
+        while (true) {
+            j = (j + 1) & mascara;
+            if (claves[j] == null) {
+                break;
+            }
+            int ideal = hashes[j] & mascara;
+            boolean puedeMoverse = hueco <= j
+                    ? (ideal <= hueco || ideal > j)
+                    : (ideal <= hueco && ideal > j);
+            if (puedeMoverse) {
+                claves[hueco] = claves[j];
+                hashes[hueco] = hashes[j];
+                hueco = j;
+            }
+        }
+        claves[hueco] = null;
+    }
+
+    private void redimensionar(int nuevaCapacidad) {
+        String[] clavesAnteriores = claves;
+        int[] hashesAnteriores = hashes;
+        inicializarTabla(nuevaCapacidad);
+        int mascara = claves.length - 1;
+        for (int k = 0; k < clavesAnteriores.length; k++) {
+            if (clavesAnteriores[k] != null) {
+                int i = hashesAnteriores[k] & mascara;
+                while (claves[i] != null) {
+                    i = (i + 1) & mascara;
+                }
+                claves[i] = clavesAnteriores[k];
+                hashes[i] = hashesAnteriores[k];
+            }
+        }
+    }
+
+    private void inicializarTabla(int capacidad) {
+        this.claves = new String[capacidad];
+        this.hashes = new int[capacidad];
+        this.umbral = capacidad / 4 * 3; // Factor de carga 0.75
+    }
+}
@@ -0,0 +1,197 @@
+package modelo.estructuras;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto de enteros en el rango [0, capacidad) implementado como conjunto
+ * disperso: un arreglo denso con los elementos y un arreglo de posiciones que
+ * indica dónde está cada uno. agregar, eliminar, contiene y extraer son O(1)
+ * sin recorrer nada; eliminar mueve el último elemento al hueco.
+ * <p>
+ * Útil como bolsa de plazas libres: se toma cualquiera en O(1) y se devuelve
+ * en O(1) al liberarse.
+ * <p>
+ * Varios conjuntos disjuntos pueden compartir el arreglo de posiciones (ver
+ * {@link #ConjuntoIndices(int[])}): cada valor está a lo sumo en uno de ellos,
+ * así que una sola casilla por valor alcanza y solo el arreglo denso, que
+ * sigue al tamaño de cada conjunto, es propio.
+ */
+public class ConjuntoIndices {
+
+    private static final int AUSENTE = -1;
+
+    private int[] elementos;  // Elementos en posiciones [0, tamano)
+    private int[] posicion;   // posicion[valor] = índice en elementos, o AUSENTE
+    private int tamano;
+    private final boolean posicionCompartida;
+
+    public ConjuntoIndices() {
+        this(16);
+    }
+
+    /**
+     * Crea un conjunto para valores en [0, capacidad). Crece si se agrega un
+     * valor mayor.
+     * @param capacidad Valor máximo previsto más uno.
+     */
+    public ConjuntoIndices(int capacidad) {
+        if (capacidad < 0) {
+            throw new IllegalArgumentException("La capacidad no puede ser negativa: " + capacidad);
+        }
+        this.elementos = new int[Math.max(capacidad, 1)];
+        this.posicion = new int[Math.max(capacidad, 1)];
+        Arrays.fill(posicion, AUSENTE);
+        this.tamano = 0;
+        this.posicionCompartida = false;
+    }
+
+    /**
+     * Crea un conjunto que usa un arreglo de posiciones compartido con otros
+     * conjuntos disjuntos. El arreglo debe venir lleno de -1 y no crece: los
+     * valores quedan limitados a [0, posiciones.length).
+     * @param posiciones Arreglo de posiciones compartido.
+     */
+    public ConjuntoIndices(int[] posiciones) {
+        if (posiciones == null) {
+            throw new IllegalArgumentException("El arreglo de posiciones no puede ser null");
+        }
+        this.elementos = new int[Math.min(Math.max(posiciones.length, 1), 16)];
+        this.posicion = posiciones;
+        this.tamano = 0;
+        this.posicionCompartida = true;
+    }
+
+    /**
+     * Crea un arreglo de posiciones vacío para compartir entre conjuntos.
+     * @param capacidad Valor máximo previsto más uno.
+     * @return Un arreglo de la capacidad indicada lleno de -1.
+     */
+    public static int[] crearPosiciones(int capacidad) {
+        int[] posiciones = new int[capacidad];
+        Arrays.fill(posiciones, AUSENTE);
+        return posiciones;
+    }
+
+    /**
+     * Agrega un valor si no existe.
+     * @param valor El valor (no negativo).
+     * @return true si fue agregado.
+     */
+    public boolean agregar(int valor) {
+        validar(valor);
+        if (valor >= posicion.length) {
+            if (posicionCompartida) {
+                throw new IllegalArgumentException("Valor fuera del arreglo de posiciones compartido: " + valor);
+            }
+            crecer(valor + 1);
+        }
+        if (contiene(valor)) {
+            return false;
+        }
+        if (posicion[valor] != AUSENTE) {
+            throw new IllegalStateException("El valor " + valor + " ya pertenece a otro conjunto");
+        }
+        if (tamano == elementos.length) {
+            elementos = Arrays.copyOf(elementos, Math.min(elementos.length * 2, Math.max(posicion.length, 1)));
+        }
+        elementos[tamano] = valor;
+        posicion[valor] = tamano;
+        tamano++;
+        return true;
+    }
+
+    /**
+     * Elimina un valor.
+     * @param valor El valor a eliminar.
+     * @return true si estaba en el conjunto.
+     */
+    public boolean eliminar(int valor) {
+        if (!contiene(valor)) {
+            return false;
+        }
+        int hueco = posicion[valor];
+        int ultimo = elementos[--tamano];
+        elementos[hueco] = ultimo;
+        posicion[ultimo] = hueco;
+        posicion[valor] = AUSENTE;
+        return true;
+    }
+
+    /**
+     * Verifica si un valor está en el conjunto.
+     * @param valor El valor a buscar.
+     * @return true si está.
+     */
+    public boolean contiene(int valor) {
+        if (valor < 0 || valor >= posicion.length) {
+            return false;
+        }
+        int p = posicion[valor];
+        return p != AUSENTE && p < tamano && elementos[p] == valor;
+    }
+
+    /**
+     * Devuelve un elemento cualquiera sin eliminarlo (el último agregado
+     * mientras no haya eliminaciones intermedias).
+     * @return Un elemento del conjunto.
+     * @throws IllegalStateException si el conjunto está vacío.
+     */
+    public int cualquiera() {
+        if (tamano == 0) {
+            throw new IllegalStateException("El conjunto está vacío");
+        }
+        return elementos[tamano - 1];
+    }
+
+    /**
+     * Elimina y devuelve un elemento cualquiera.
+     * @return El elemento extraído.
+     * @throws IllegalStateException si el conjunto está vacío.
+     */
+    public int extraer() {
+        int valor = cualquiera();
+        eliminar(valor);
+        return valor;
+    }
+
+    /**
+     * Obtiene el tamaño del conjunto.
+     * @return El número de elementos.
+     */
+    public int getTamano() {
+        return tamano;
+    }
+
+    /**
+     * Verifica si el conjunto está vacío.
+     * @return true si no hay elementos.
+     */
+    public boolean estaVacio() {
+        return tamano == 0;
+    }
+
+    /**
+     * Elimina todos los elementos en O(tamaño).
+     */
+    public void limpiar() {
+        for (int i = 0; i < tamano; i++) {
+            posicion[elementos[i]] = AUSENTE;
+        }
+        tamano = 0;
+    }
+
+    private static void validar(int valor) {
+        if (valor < 0) {
+            throw new IllegalArgumentException("El conjunto solo admite valores no negativos: " + valor);
+        }
+    }
+
+    private void crecer(int capacidadMinima) {
+        int nueva = Math.max(capacidadMinima, posicion.length * 2);
+        int[] nuevasPosiciones = new int[nueva];
+        Arrays.fill(nuevasPosiciones, AUSENTE);
+        System.arraycopy(posicion, 0, nuevasPosiciones, 0, posicion.length);
+        posicion = nuevasPosiciones;
+        elementos = Arrays.copyOf(elementos, nueva);
+    }
+}
@@ -0,0 +1,153 @@
+package modelo.estructuras;
+
+/**
+ * Histograma de valores enteros no negativos (tiempos, latencias) con
+ * cubetas logarítmico-lineales: los valores menores a 64 tienen cubeta
+ * propia y los mayores se agrupan conservando sus 6 bits más significativos,
+ * lo que acota el error relativo de cualquier percentil a 1/32 (~3 %).
+ * <p>
+ * Registrar un valor es O(1) y consultar un percentil recorre un número fijo
+ * de cubetas, sin guardar ni ordenar las muestras.
+ */
+public class Histograma {
+
+    private static final int BITS_PRECISION = 6;
+    private static final int CUBETAS_LINEALES = 1 << BITS_PRECISION;      // 64
+    private static final int POR_MAGNITUD = CUBETAS_LINEALES / 2;         // 32
+    private static final int NUM_CUBETAS = (64 - BITS_PRECISION) * POR_MAGNITUD + CUBETAS_LINEALES;
+
+    private final long[] cubetas;
+    private long cantidad;
+    private long suma;
+    private long minimo;
+    private long maximo;
+
+    public Histograma() {
+        this.cubetas = new long[NUM_CUBETAS];
+        this.cantidad = 0;
+        this.suma = 0;
+        this.minimo = Long.MAX_VALUE;
+        this.maximo = 0;
+    }
+
+    /**
+     * Registra una muestra.
+     * @param valor El valor (no negativo).
+     * @throws IllegalArgumentException si el valor es negativo.
+     */
+    public void registrar(long valor) {
+        if (valor < 0) {
+            throw new IllegalArgumentException("El histograma no admite valores negativos: " + valor);
+        }
+        cubetas[cubeta(valor)]++;
+        cantidad++;
+        suma += valor;
+        if (valor < minimo) {
+            minimo = valor;
+        }
+        if (valor > maximo) {
+            maximo = valor;
+        }
+    }
+
+    /**
+     * Valor por debajo del cual cae el porcentaje indicado de las muestras.
+     * @param porcentaje Entre 0 y 100 (por ejemplo 50, 99 o 99.9).
+     * @return El percentil (límite superior de su cubeta), o 0 si no hay muestras.
+     */
+    public long percentil(double porcentaje) {
+        if (porcentaje < 0 || porcentaje > 100) {
+            throw new IllegalArgumentException("El porcentaje debe estar entre 0 y 100: " + porcentaje);
+        }
+        if (cantidad == 0) {
+            return 0;
+        }
+        long objetivo = Math.max(1, (long) Math.ceil(porcentaje / 100.0 * cantidad));
+        long acumulado = 0;
+        for (int i = 0; i < cubetas.length; i++) {
+            acumulado += cubetas[i];
+            if (acumulado >= objetivo) {
+                return Math.min(limiteSuperior(i), maximo);
+            }
+        }
+        return maximo;
+    }
+
+    /**
+     * Obtiene la cantidad de muestras registradas.
+     * @return El número de muestras.
+     */
+    public long getCantidad() {
+        return cantidad;
+    }
+
+    /**
+     * Obtiene el promedio exacto de las muestras.
+     * @return El promedio, o 0 si no hay muestras.
+     */
+    public double getPromedio() {
+        return cantidad == 0 ? 0.0 : (double) suma / cantidad;
+    }
+
+    /**
+     * @return La menor muestra registrada, o 0 si no hay muestras.
+     */
+    public long getMinimo() {
+        return cantidad == 0 ? 0 : minimo;
+    }
+
+    /**
+     * @return La mayor muestra registrada, o 0 si no hay muestras.
+     */
+    public long getMaximo() {
+        return maximo;
+    }
+
+    /**
+     * Descarta todas las muestras.
+     */
+    public void limpiar() {
+        for (int i = 0; i < cubetas.length; i++) {
+            cubetas[i] = 0;
+        }
+        cantidad = 0;
+        suma = 0;
+        minimo = Long.MAX_VALUE;
+        maximo = 0;
+    }
+
+    /**
+     * Suma al histograma las muestras de otro (por ejemplo, de otro hilo).
+     * @param otro El histograma a incorporar.
+     */
+    public void combinar(Histograma otro) {
+        for (int i = 0; i < cubetas.length; i++) {
+            cubetas[i] += otro.cubetas[i];
+        }
+        cantidad += otro.cantidad;
+        suma += otro.suma;
+        minimo = Math.min(minimo, otro.minimo);
+        maximo = Math.max(maximo, otro.maximo);
+    }
+
+    // ========================================================================
+    // MÉTODOS AUXILIARES DE LAS CUBETAS
+    // ========================================================================
+
+    private static int cubeta(long valor) {
+        if (valor < CUBETAS_LINEALES) {
+            return (int) valor;
+        }
+        int desplazamiento = (64 - Long.numberOfLeadingZeros(valor)) - BITS_PRECISION;
+        return desplazamiento * POR_MAGNITUD + (int) (valor >>> desplazamiento);
+    }
+
+    private static long limiteSuperior(int cubeta) {
+        if (cubeta < CUBETAS_LINEALES) {
+            return cubeta;
+        }
+        int desplazamiento = cubeta / POR_MAGNITUD - 1;
+        long superiores = cubeta - (long) desplazamiento * POR_MAGNITUD;
+        return ((superiores + 1) << desplazamiento) - 1;
+    }
+}
@@ -1,5 +1,7 @@
 package modelo.estructuras;
 
+import java.util.function.Consumer;
+
 /**
  * Interfaz que define el contrato para estructuras de datos tipo Árbol.
  * 
@@ -58,6 +60,25 @@ public interface IArbol<T> {
      */
     ListaEnlazada<T> recorridoPostorden();
     
+    /**
+     * Recorre el árbol en inorden entregando cada elemento al visitante,
+     * sin construir una lista intermedia.
+     * @param visitante La acción a ejecutar sobre cada elemento.
+     */
+    void recorrerInorden(Consumer<? super T> visitante);
+    
+    /**
+     * Recorre el árbol en preorden entregando cada elemento al visitante.
+     * @param visitante La acción a ejecutar sobre cada elemento.
+     */
+    void recorrerPreorden(Consumer<? super T> visitante);
+    
+    /**
+     * Recorre el árbol en postorden entregando cada elemento al visitante.
+     * @param visitante La acción a ejecutar sobre cada elemento.
+     */
+    void recorrerPostorden(Consumer<? super T> visitante);
+    
     /**
      * Calcula la altura del árbol.
      * @return La altura del árbol.
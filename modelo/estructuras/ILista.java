@@ -1,5 +1,7 @@
 package modelo.estructuras;
 
+import java.util.function.Consumer;
+
 /**
  * Interfaz que define el contrato para estructuras de datos tipo Lista.
  * Permite implementar diferentes tipos de listas (enlazadas, dobles, circulares, etc.).
@@ -7,7 +9,7 @@ package modelo.estructuras;
  * @param <T> El tipo de dato que almacenará la lista.
  * @author Sistema
  */
-public interface ILista<T> {
+public interface ILista<T> extends Iterable<T> {
     
     /**
      * Devuelve el número de elementos en la lista.
@@ -48,4 +50,12 @@ public interface ILista<T> {
      * @return Un array con todos los elementos de la lista.
      */
     T[] toArray(T[] a);
+    
+    /**
+     * Recorre la lista en orden aplicando una acción a cada elemento.
+     * Las implementaciones deben hacerlo en tiempo lineal, sin acceso por índice.
+     * @param accion La acción a ejecutar sobre cada elemento.
+     */
+    @Override
+    void forEach(Consumer<? super T> accion);
 }
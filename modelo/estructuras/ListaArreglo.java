@@ -0,0 +1,225 @@
+package modelo.estructuras;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * Representa una lista genérica respaldada por un arreglo que crece bajo demanda.
+ * Ofrece acceso por índice en O(1) y agregarAlFinal en O(1) amortizado, por lo
+ * que conviene en lecturas masivas (carga de archivos, plazas) donde la lista
+ * enlazada obligaría a recorrer nodos.
+ *
+ * @param <T> El tipo de dato que almacenará la lista.
+ */
+public class ListaArreglo<T> implements ILista<T> {
+
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    private Object[] elementos; // Arreglo interno con los datos
+    private int tamano;         // Número de elementos en la lista
+
+    /**
+     * Constructor para crear una lista vacía con la capacidad por defecto.
+     */
+    public ListaArreglo() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * Constructor para crear una lista vacía con una capacidad inicial.
+     *
+     * @param capacidadInicial Número de elementos que caben sin redimensionar.
+     * @throws IllegalArgumentException si la capacidad es negativa.
+     */
+    public ListaArreglo(int capacidadInicial) {
+        if (capacidadInicial < 0) {
+            throw new IllegalArgumentException("La capacidad no puede ser negativa: " + capacidadInicial);
+        }
+        this.elementos = new Object[Math.max(capacidadInicial, 1)];
+        this.tamano = 0;
+    }
+
+    /**
+     * Devuelve el número de elementos en la lista.
+     * @return el tamaño de la lista.
+     */
+    @Override
+    public int getTamano() {
+        return tamano;
+    }
+
+    /**
+     * Comprueba si la lista está vacía.
+     * @return true si la lista no tiene elementos.
+     */
+    @Override
+    public boolean estaVacia() {
+        return tamano == 0;
+    }
+
+    /**
+     * Agrega un nuevo elemento al final de la lista.
+     * Si el arreglo está lleno se duplica su capacidad.
+     * @param dato El dato a agregar.
+     */
+    @Override
+    public void agregarAlFinal(T dato) {
+        if (tamano == elementos.length) {
+            asegurarCapacidad(tamano + 1);
+        }
+        elementos[tamano++] = dato;
+    }
+
+    /**
+     * Garantiza que el arreglo interno pueda contener al menos la cantidad
+     * indicada de elementos sin volver a redimensionarse.
+     * @param capacidadMinima Capacidad requerida.
+     */
+    public void asegurarCapacidad(int capacidadMinima) {
+        if (capacidadMinima <= elementos.length) {
+            return;
+        }
+        int nuevaCapacidad = Math.max(elementos.length * 2, capacidadMinima);
+        Object[] nuevo = new Object[nuevaCapacidad];
+        System.arraycopy(elementos, 0, nuevo, 0, tamano);
+        elementos = nuevo;
+    }
+
+    /**
+     * Elimina la primera ocurrencia de un dato en la lista.
+     * @param dato El dato a eliminar, comparado con .equals().
+     * @return true si el elemento fue encontrado y eliminado.
+     */
+    @Override
+    public boolean eliminar(T dato) {
+        for (int i = 0; i < tamano; i++) {
+            if (elementos[i].equals(dato)) {
+                int desplazar = tamano - i - 1;
+                if (desplazar > 0) {
+                    System.arraycopy(elementos, i + 1, elementos, i, desplazar);
+                }
+                elementos[--tamano] = null; // Liberar referencia
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Obtiene el dato en una posición específica (índice).
+     * @param indice La posición del dato a obtener.
+     * @return El dato en esa posición.
+     * @throws IndexOutOfBoundsException si el índice es inválido.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int indice) {
+        if (indice < 0 || indice >= tamano) {
+            throw new IndexOutOfBoundsException("Índice fuera de rango: " + indice);
+        }
+        return (T) elementos[indice];
+    }
+
+    /**
+     * Convierte la lista a un Array mediante una copia en bloque.
+     * @param a Un array del tipo genérico (ej. new Usuario[0]).
+     * @return Un array con todos los elementos de la lista.
+     */
+    @Override
+    public T[] toArray(T[] a) {
+        @SuppressWarnings("unchecked")
+        T[] array = (T[]) java.lang.reflect.Array.newInstance(
+                a.getClass().getComponentType(), tamano);
+        System.arraycopy(elementos, 0, array, 0, tamano);
+        return array;
+    }
+
+    /**
+     * Verifica si la lista contiene un elemento específico.
+     * @param dato El elemento a buscar.
+     * @return true si el elemento está en la lista.
+     */
+    public boolean contiene(T dato) {
+        for (int i = 0; i < tamano; i++) {
+            if (elementos[i].equals(dato)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Elimina todos los elementos de la lista conservando la capacidad.
+     */
+    public void limpiar() {
+        for (int i = 0; i < tamano; i++) {
+            elementos[i] = null;
+        }
+        tamano = 0;
+    }
+
+    /**
+     * Reemplaza el elemento en el índice especificado con un nuevo valor.
+     * @param indice La posición del elemento a reemplazar.
+     * @param nuevoDato El nuevo valor.
+     * @return El valor anterior en esa posición.
+     * @throws IndexOutOfBoundsException si el índice es inválido.
+     */
+    public T reemplazar(int indice, T nuevoDato) {
+        T datoAnterior = get(indice);
+        elementos[indice] = nuevoDato;
+        return datoAnterior;
+    }
+
+    /**
+     * Quita el elemento en el índice especificado en O(1), moviendo a su
+     * lugar el último elemento. No conserva el orden de la lista.
+     * @param indice La posición del elemento a quitar.
+     * @return El elemento quitado.
+     * @throws IndexOutOfBoundsException si el índice es inválido.
+     */
+    public T eliminarConUltimo(int indice) {
+        T dato = get(indice);
+        elementos[indice] = elementos[--tamano];
+        elementos[tamano] = null; // Liberar referencia
+        return dato;
+    }
+
+    /**
+     * Recorre la lista del primero al último elemento aplicando una acción.
+     * @param accion La acción a ejecutar sobre cada elemento.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super T> accion) {
+        for (int i = 0; i < tamano; i++) {
+            accion.accept((T) elementos[i]);
+        }
+    }
+
+    /**
+     * Devuelve un iterador que recorre el arreglo por índice.
+     * @return Un iterador posicionado en el primer elemento.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int posicion = 0;
+
+            @Override
+            public boolean hasNext() {
+                return posicion < tamano;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (posicion >= tamano) {
+                    throw new NoSuchElementException("No hay más elementos en la lista");
+                }
+                return (T) elementos[posicion++];
+            }
+        };
+    }
+}
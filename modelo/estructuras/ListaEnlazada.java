@@ -1,14 +1,19 @@
 package modelo.estructuras;
 
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
 import modelo.estructuras.NodoLista;
 
 public class ListaEnlazada<T> implements ILista<T> {
 
     private NodoLista<T> cabeza; // Primer nodo de la lista
+    private NodoLista<T> cola;   // Último nodo de la lista (agregarAlFinal en O(1))
     private int tamano;     // Número de elementos en la lista
 
     public ListaEnlazada() {
         this.cabeza = null;
+        this.cola = null;
         this.tamano = 0;
     }
 
@@ -40,12 +45,9 @@ public class ListaEnlazada<T> implements ILista<T> {
         if (estaVacia()) {
             cabeza = nuevoNodo;
         } else {
-            NodoLista<T> actual = cabeza;
-            while (actual.getSiguiente() != null) {
-                actual = actual.getSiguiente();
-            }
-            actual.setSiguiente(nuevoNodo);
+            cola.setSiguiente(nuevoNodo);
         }
+        cola = nuevoNodo;
         tamano++;
     }
 
@@ -62,6 +64,9 @@ public class ListaEnlazada<T> implements ILista<T> {
 
         if (cabeza.getDato().equals(dato)) {
             cabeza = cabeza.getSiguiente();
+            if (cabeza == null) {
+                cola = null;
+            }
             tamano--;
             return true;
         }
@@ -74,6 +79,9 @@ public class ListaEnlazada<T> implements ILista<T> {
         if (actual.getSiguiente() != null) {
             NodoLista<T> nodoAEliminar = actual.getSiguiente();
             actual.setSiguiente(nodoAEliminar.getSiguiente());
+            if (nodoAEliminar == cola) {
+                cola = actual;
+            }
             tamano--;
             return true;
         }
@@ -92,6 +100,9 @@ public class ListaEnlazada<T> implements ILista<T> {
         if (indice < 0 || indice >= tamano) {
             throw new IndexOutOfBoundsException("Índice fuera de rango: " + indice);
         }
+        if (indice == tamano - 1) {
+            return cola.getDato();
+        }
         NodoLista<T> actual = cabeza;
         for (int i = 0; i < indice; i++) {
             actual = actual.getSiguiente();
@@ -140,6 +151,7 @@ public class ListaEnlazada<T> implements ILista<T> {
      */
     public void limpiar() {
         cabeza = null;
+        cola = null;
         tamano = 0;
     }
     
@@ -162,4 +174,54 @@ public class ListaEnlazada<T> implements ILista<T> {
         actual.setDato(nuevoDato);
         return datoAnterior;
     }
+
+    /**
+     * Recorre la lista del primero al último elemento aplicando una acción.
+     * No crea objetos intermedios: avanza directamente sobre los nodos.
+     * @param accion La acción a ejecutar sobre cada elemento.
+     */
+    @Override
+    public void forEach(Consumer<? super T> accion) {
+        NodoLista<T> actual = cabeza;
+        while (actual != null) {
+            accion.accept(actual.getDato());
+            actual = actual.getSiguiente();
+        }
+    }
+
+    /**
+     * Devuelve un cursor para recorrer la lista en O(n) con for-each.
+     * @return Un iterador nuevo, posicionado en el primer elemento.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Cursor(cabeza);
+    }
+
+    /**
+     * Cursor de recorrido secuencial, propio de cada recorrido.
+     */
+    private final class Cursor implements Iterator<T> {
+
+        private NodoLista<T> siguiente;
+
+        Cursor(NodoLista<T> primero) {
+            this.siguiente = primero;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return siguiente != null;
+        }
+
+        @Override
+        public T next() {
+            if (siguiente == null) {
+                throw new NoSuchElementException("No hay más elementos en la lista");
+            }
+            T dato = siguiente.getDato();
+            siguiente = siguiente.getSiguiente();
+            return dato;
+        }
+    }
 }
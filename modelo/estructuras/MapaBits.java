@@ -0,0 +1,147 @@
+package modelo.estructuras;
+
+/**
+ * Mapa de bits de tamaño variable respaldado por un arreglo de palabras de 64
+ * bits. Activar, desactivar y consultar un bit son O(1); buscar el siguiente
+ * bit activo salta palabras enteras en cero y resuelve la palabra encontrada
+ * con {@link Long#numberOfTrailingZeros(long)}, de modo que recorre n/64
+ * palabras en el peor caso.
+ */
+public class MapaBits {
+
+    private static final int BITS_POR_PALABRA = 64;
+
+    private long[] palabras;
+    private int activos; // Número de bits en 1
+
+    public MapaBits() {
+        this(BITS_POR_PALABRA);
+    }
+
+    /**
+     * Crea un mapa con espacio para la cantidad indicada de bits.
+     * @param capacidadBits Número de bits previsto.
+     */
+    public MapaBits(int capacidadBits) {
+        if (capacidadBits < 0) {
+            throw new IllegalArgumentException("La capacidad no puede ser negativa: " + capacidadBits);
+        }
+        this.palabras = new long[capacidadBits == 0 ? 1 : palabraDe(capacidadBits - 1) + 1];
+        this.activos = 0;
+    }
+
+    /**
+     * Pone en 1 el bit indicado.
+     * @param indice Posición del bit.
+     * @return true si el bit estaba en 0.
+     */
+    public boolean activar(int indice) {
+        validarIndice(indice);
+        int palabra = palabraDe(indice);
+        if (palabra >= palabras.length) {
+            crecer(palabra + 1);
+        }
+        long mascara = 1L << indice;
+        if ((palabras[palabra] & mascara) != 0) {
+            return false;
+        }
+        palabras[palabra] |= mascara;
+        activos++;
+        return true;
+    }
+
+    /**
+     * Pone en 0 el bit indicado.
+     * @param indice Posición del bit.
+     * @return true si el bit estaba en 1.
+     */
+    public boolean desactivar(int indice) {
+        validarIndice(indice);
+        int palabra = palabraDe(indice);
+        if (palabra >= palabras.length) {
+            return false;
+        }
+        long mascara = 1L << indice;
+        if ((palabras[palabra] & mascara) == 0) {
+            return false;
+        }
+        palabras[palabra] &= ~mascara;
+        activos--;
+        return true;
+    }
+
+    /**
+     * Consulta el bit indicado.
+     * @param indice Posición del bit.
+     * @return true si el bit está en 1.
+     */
+    public boolean estaActivo(int indice) {
+        validarIndice(indice);
+        int palabra = palabraDe(indice);
+        return palabra < palabras.length && (palabras[palabra] & (1L << indice)) != 0;
+    }
+
+    /**
+     * Busca el primer bit activo en una posición mayor o igual a la dada.
+     * @param desde Posición inicial (inclusive).
+     * @return La posición encontrada, o -1 si no hay más bits activos.
+     */
+    public int siguienteActivo(int desde) {
+        validarIndice(desde);
+        int palabra = palabraDe(desde);
+        if (palabra >= palabras.length) {
+            return -1;
+        }
+        // Descartar los bits anteriores a 'desde' dentro de la primera palabra
+        long bits = palabras[palabra] & (-1L << desde);
+        while (bits == 0) {
+            if (++palabra == palabras.length) {
+                return -1;
+            }
+            bits = palabras[palabra];
+        }
+        return palabra * BITS_POR_PALABRA + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * Obtiene la cantidad de bits activos.
+     * @return El número de bits en 1.
+     */
+    public int contarActivos() {
+        return activos;
+    }
+
+    /**
+     * Verifica si no hay ningún bit activo.
+     * @return true si todos los bits están en 0.
+     */
+    public boolean estaVacio() {
+        return activos == 0;
+    }
+
+    /**
+     * Pone todos los bits en 0 conservando el arreglo.
+     */
+    public void limpiar() {
+        for (int i = 0; i < palabras.length; i++) {
+            palabras[i] = 0L;
+        }
+        activos = 0;
+    }
+
+    private static int palabraDe(int indice) {
+        return indice >>> 6;
+    }
+
+    private static void validarIndice(int indice) {
+        if (indice < 0) {
+            throw new IndexOutOfBoundsException("Índice de bit negativo: " + indice);
+        }
+    }
+
+    private void crecer(int palabrasMinimas) {
+        long[] nuevo = new long[Math.max(palabrasMinimas, palabras.length * 2)];
+        System.arraycopy(palabras, 0, nuevo, 0, palabras.length);
+        palabras = nuevo;
+    }
+}
@@ -0,0 +1,255 @@
+package modelo.estructuras;
+
+import java.util.Arrays;
+
+/**
+ * Montículo binario de mínimos sobre identificadores enteros no negativos,
+ * cada uno con una prioridad de tipo long. Además del arreglo del montículo
+ * guarda la posición de cada identificador, lo que permite eliminar o cambiar
+ * la prioridad de un elemento cualquiera en O(log n) sin buscarlo.
+ * <p>
+ * agregar, eliminar y extraerMinimo son O(log n); verMinimo y contiene, O(1).
+ * A igual prioridad gana el identificador menor, así que el orden es
+ * determinista.
+ * <p>
+ * Varios montículos disjuntos pueden compartir los arreglos de prioridad y
+ * posición (ver {@link #MonticuloIndexado(int[], long[])}); cada uno conserva
+ * solo su arreglo de montículo, que crece con su tamaño.
+ */
+public class MonticuloIndexado {
+
+    private static final int AUSENTE = -1;
+
+    private int[] monticulo;    // Identificadores en orden de montículo, [0, tamano)
+    private long[] prioridad;   // prioridad[id]
+    private int[] posicion;     // posicion[id] = índice en monticulo, o AUSENTE
+    private int tamano;
+    private final boolean compartido;
+
+    public MonticuloIndexado() {
+        this(16);
+    }
+
+    /**
+     * Crea un montículo para identificadores en [0, capacidad). Crece si se
+     * agrega un identificador mayor.
+     * @param capacidad Identificador máximo previsto más uno.
+     */
+    public MonticuloIndexado(int capacidad) {
+        if (capacidad < 0) {
+            throw new IllegalArgumentException("La capacidad no puede ser negativa: " + capacidad);
+        }
+        int inicial = Math.max(capacidad, 1);
+        this.monticulo = new int[inicial];
+        this.prioridad = new long[inicial];
+        this.posicion = new int[inicial];
+        Arrays.fill(posicion, AUSENTE);
+        this.tamano = 0;
+        this.compartido = false;
+    }
+
+    /**
+     * Crea un montículo que comparte los arreglos de posición y prioridad con
+     * otros montículos disjuntos. Ambos arreglos deben tener el mismo largo,
+     * posiciones lleno de -1 (ver {@link ConjuntoIndices#crearPosiciones}), y
+     * no crecen.
+     * @param posiciones Arreglo de posiciones compartido.
+     * @param prioridades Arreglo de prioridades compartido.
+     */
+    public MonticuloIndexado(int[] posiciones, long[] prioridades) {
+        if (posiciones == null || prioridades == null || posiciones.length != prioridades.length) {
+            throw new IllegalArgumentException("Los arreglos compartidos deben existir y tener el mismo largo");
+        }
+        this.monticulo = new int[Math.min(Math.max(posiciones.length, 1), 16)];
+        this.prioridad = prioridades;
+        this.posicion = posiciones;
+        this.tamano = 0;
+        this.compartido = true;
+    }
+
+    /**
+     * Agrega un identificador con su prioridad, o actualiza la prioridad si ya
+     * estaba en el montículo.
+     * @param id El identificador (no negativo).
+     * @param valor La prioridad (menor = sale antes).
+     */
+    public void agregar(int id, long valor) {
+        if (id < 0) {
+            throw new IllegalArgumentException("El montículo solo admite identificadores no negativos: " + id);
+        }
+        if (id >= posicion.length) {
+            if (compartido) {
+                throw new IllegalArgumentException("Identificador fuera de los arreglos compartidos: " + id);
+            }
+            crecer(id + 1);
+        }
+        if (contiene(id)) {
+            long anterior = prioridad[id];
+            prioridad[id] = valor;
+            if (valor < anterior) {
+                subir(posicion[id]);
+            } else {
+                bajar(posicion[id]);
+            }
+            return;
+        }
+        if (posicion[id] != AUSENTE) {
+            throw new IllegalStateException("El identificador " + id + " ya pertenece a otro montículo");
+        }
+        if (tamano == monticulo.length) {
+            monticulo = Arrays.copyOf(monticulo, Math.min(monticulo.length * 2, Math.max(posicion.length, 1)));
+        }
+        prioridad[id] = valor;
+        monticulo[tamano] = id;
+        posicion[id] = tamano;
+        subir(tamano++);
+    }
+
+    /**
+     * Elimina un identificador cualquiera del montículo.
+     * @param id El identificador.
+     * @return true si estaba en el montículo.
+     */
+    public boolean eliminar(int id) {
+        if (!contiene(id)) {
+            return false;
+        }
+        int hueco = posicion[id];
+        int ultimo = monticulo[--tamano];
+        posicion[id] = AUSENTE;
+        if (hueco != tamano) {
+            monticulo[hueco] = ultimo;
+            posicion[ultimo] = hueco;
+            subir(hueco);
+            bajar(posicion[ultimo]);
+        }
+        return true;
+    }
+
+    /**
+     * Verifica si un identificador está en el montículo.
+     * @param id El identificador.
+     * @return true si está.
+     */
+    public boolean contiene(int id) {
+        if (id < 0 || id >= posicion.length) {
+            return false;
+        }
+        int p = posicion[id];
+        return p != AUSENTE && p < tamano && monticulo[p] == id;
+    }
+
+    /**
+     * Devuelve el identificador de menor prioridad sin quitarlo.
+     * @return El identificador mínimo.
+     * @throws IllegalStateException si el montículo está vacío.
+     */
+    public int verMinimo() {
+        if (tamano == 0) {
+            throw new IllegalStateException("El montículo está vacío");
+        }
+        return monticulo[0];
+    }
+
+    /**
+     * Devuelve la prioridad del mínimo.
+     * @return La menor prioridad.
+     * @throws IllegalStateException si el montículo está vacío.
+     */
+    public long prioridadMinima() {
+        return prioridad[verMinimo()];
+    }
+
+    /**
+     * Quita y devuelve el identificador de menor prioridad.
+     * @return El identificador mínimo.
+     * @throws IllegalStateException si el montículo está vacío.
+     */
+    public int extraerMinimo() {
+        int id = verMinimo();
+        eliminar(id);
+        return id;
+    }
+
+    /**
+     * Obtiene el número de elementos.
+     * @return El tamaño del montículo.
+     */
+    public int getTamano() {
+        return tamano;
+    }
+
+    /**
+     * Verifica si el montículo está vacío.
+     * @return true si no hay elementos.
+     */
+    public boolean estaVacio() {
+        return tamano == 0;
+    }
+
+    /**
+     * Elimina todos los elementos en O(tamaño).
+     */
+    public void limpiar() {
+        for (int i = 0; i < tamano; i++) {
+            posicion[monticulo[i]] = AUSENTE;
+        }
+        tamano = 0;
+    }
+
+    // ========================================================================
+    // MÉTODOS AUXILIARES DEL MONTÍCULO
+    // ========================================================================
+
+    private boolean menor(int idA, int idB) {
+        long a = prioridad[idA];
+        long b = prioridad[idB];
+        return a < b || (a == b && idA < idB);
+    }
+
+    private void subir(int i) {
+        int id = monticulo[i];
+        while (i > 0) {
+            int padre = (i - 1) >>> 1;
+            if (!menor(id, monticulo[padre])) {
+                break;
+            }
+            colocar(i, monticulo[padre]);
+            i = padre;
+        }
+        colocar(i, id);
+    }
+
+    private void bajar(int i) {
+        int id = monticulo[i];
+        while (true) {
+            int hijo = 2 * i + 1;
+            if (hijo >= tamano) {
+                break;
+            }
+            if (hijo + 1 < tamano && menor(monticulo[hijo + 1], monticulo[hijo])) {
+                hijo++;
+            }
+            if (!menor(monticulo[hijo], id)) {
+                break;
+            }
+            colocar(i, monticulo[hijo]);
+            i = hijo;
+        }
+        colocar(i, id);
+    }
+
+    private void colocar(int i, int id) {
+        monticulo[i] = id;
+        posicion[id] = i;
+    }
+
+    private void crecer(int capacidadMinima) {
+        int nueva = Math.max(capacidadMinima, posicion.length * 2);
+        monticulo = Arrays.copyOf(monticulo, nueva);
+        prioridad = Arrays.copyOf(prioridad, nueva);
+        int anterior = posicion.length;
+        posicion = Arrays.copyOf(posicion, nueva);
+        Arrays.fill(posicion, anterior, nueva, AUSENTE);
+    }
+}
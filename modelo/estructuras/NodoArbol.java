@@ -10,6 +10,7 @@ public class NodoArbol<T> {
     private T dato;
     private NodoArbol<T> izquierdo;
     private NodoArbol<T> derecho;
+    private int altura; // Altura del subárbol con raíz en este nodo (usada por el modo equilibrado)
 
     /**
      * Constructor para crear un nuevo nodo.
@@ -20,6 +21,7 @@ public class NodoArbol<T> {
         this.dato = dato;
         this.izquierdo = null;
         this.derecho = null;
+        this.altura = 1;
     }
 
     // --- Getters y Setters ---
@@ -47,6 +49,14 @@ public class NodoArbol<T> {
         this.derecho = derecho;
     }
 
+    public int getAltura() {
+        return altura;
+    }
+
+    public void setAltura(int altura) {
+        this.altura = altura;
+    }
+
     /**
      * Verifica si el nodo es una hoja (no tiene hijos).
      *
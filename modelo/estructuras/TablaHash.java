@@ -0,0 +1,229 @@
+package modelo.estructuras;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Tabla hash genérica (diccionario clave → valor) con direccionamiento abierto
+ * y sondeo lineal, sobre arreglos paralelos de claves y valores de tamaño
+ * potencia de dos. Elimina desplazando hacia atrás los elementos del grupo,
+ * sin lápidas. poner, obtener y eliminar son O(1) en promedio.
+ *
+ * @param <K> El tipo de las claves.
+ * @param <V> El tipo de los valores.
+ */
+public class TablaHash<K, V> {
+
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    private Object[] claves;   // null = casilla vacía
+    private Object[] valores;
+    private int tamano;
+    private int umbral;
+
+    public TablaHash() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * Crea una tabla preparada para la cantidad indicada de entradas sin
+     * redimensionarse.
+     * @param capacidadEsperada Número de entradas previsto.
+     */
+    public TablaHash(int capacidadEsperada) {
+        inicializarTabla(capacidadParaElementos(capacidadEsperada));
+    }
+
+    /**
+     * Asocia un valor a una clave, reemplazando el anterior si existía.
+     * @param clave La clave.
+     * @param valor El valor a asociar.
+     * @return El valor anterior, o null si la clave no existía.
+     * @throws IllegalArgumentException si la clave es null.
+     */
+    public V poner(K clave, V valor) {
+        if (clave == null) {
+            throw new IllegalArgumentException("La tabla no admite claves null");
+        }
+        int mascara = claves.length - 1;
+        int i = indiceIdeal(clave, mascara);
+        while (claves[i] != null) {
+            if (claves[i].equals(clave)) {
+                @SuppressWarnings("unchecked")
+                V anterior = (V) valores[i];
+                valores[i] = valor;
+                return anterior;
+            }
+            i = (i + 1) & mascara;
+        }
+        claves[i] = clave;
+        valores[i] = valor;
+        if (++tamano > umbral) {
+            redimensionar(claves.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Obtiene el valor asociado a una clave.
+     * @param clave La clave a buscar.
+     * @return El valor, o null si la clave no existe.
+     */
+    @SuppressWarnings("unchecked")
+    public V obtener(K clave) {
+        if (clave == null) {
+            return null;
+        }
+        int i = buscarCasilla(clave);
+        return i < 0 ? null : (V) valores[i];
+    }
+
+    /**
+     * Verifica si la tabla contiene una clave.
+     * @param clave La clave a buscar.
+     * @return true si la clave existe.
+     */
+    public boolean contieneClave(K clave) {
+        return clave != null && buscarCasilla(clave) >= 0;
+    }
+
+    /**
+     * Elimina una clave y su valor.
+     * @param clave La clave a eliminar.
+     * @return El valor eliminado, o null si la clave no existía.
+     */
+    public V eliminar(K clave) {
+        if (clave == null) {
+            return null;
+        }
+        int i = buscarCasilla(clave);
+        if (i < 0) {
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        V valor = (V) valores[i];
+        desplazarHaciaAtras(i);
+        tamano--;
+        return valor;
+    }
+
+    /**
+     * Obtiene el número de entradas de la tabla.
+     * @return El número de claves.
+     */
+    public int getTamano() {
+        return tamano;
+    }
+
+    /**
+     * Verifica si la tabla está vacía.
+     * @return true si no hay entradas.
+     */
+    public boolean estaVacia() {
+        return tamano == 0;
+    }
+
+    /**
+     * Elimina todas las entradas.
+     */
+    public void limpiar() {
+        for (int i = 0; i < claves.length; i++) {
+            claves[i] = null;
+            valores[i] = null;
+        }
+        tamano = 0;
+    }
+
+    /**
+     * Recorre todas las entradas (sin orden garantizado).
+     * @param accion La acción a ejecutar con cada clave y su valor.
+     */
+    @SuppressWarnings("unchecked")
+    public void recorrer(BiConsumer<? super K, ? super V> accion) {
+        for (int i = 0; i < claves.length; i++) {
+            if (claves[i] != null) {
+                accion.accept((K) claves[i], (V) valores[i]);
+            }
+        }
+    }
+
+    // ========================================================================
+    // MÉTODOS AUXILIARES DE LA TABLA HASH
+    // ========================================================================
+
+    private int buscarCasilla(Object clave) {
+        int mascara = claves.length - 1;
+        int i = indiceIdeal(clave, mascara);
+        while (claves[i] != null) {
+            if (claves[i].equals(clave)) {
+                return i;
+            }
+            i = (i + 1) & mascara;
+        }
+        return -1;
+    }
+
+    private static int indiceIdeal(Object clave, int mascara) {
+        int h = clave.hashCode();
+        return (h ^ (h >>> 16)) & mascara;
+    }
+
+    /**
+     * Vacía la casilla indicada y recoloca las entradas siguientes del mismo
+     * grupo para que ninguna búsqueda se corte en el hueco.
+     */
+    private void desplazarHaciaAtras(int hueco) {
+        int mascara = claves.length - 1;
+        int j = hueco;
+        while (true) {
+            j = (j + 1) & mascara;
+            if (claves[j] == null) {
+                break;
+            }
+            int ideal = indiceIdeal(claves[j], mascara);
+            boolean puedeMoverse = hueco <= j
+                    ? (ideal <= hueco || ideal > j)
+                    : (ideal <= hueco && ideal > j);
+            if (puedeMoverse) {
+                claves[hueco] = claves[j];
+                valores[hueco] = valores[j];
+                hueco = j;
+            }
+        }
+        claves[hueco] = null;
+        valores[hueco] = null;
+    }
+
+    private void redimensionar(int nuevaCapacidad) {
+        Object[] clavesAnteriores = claves;
+        Object[] valoresAnteriores = valores;
+        inicializarTabla(nuevaCapacidad);
+        int mascara = claves.length - 1;
+        for (int k = 0; k < clavesAnteriores.length; k++) {
+            if (clavesAnteriores[k] != null) {
+                int i = indiceIdeal(clavesAnteriores[k], mascara);
+                while (claves[i] != null) {
+                    i = (i + 1) & mascara;
+                }
+                claves[i] = clavesAnteriores[k];
+                valores[i] = valoresAnteriores[k];
+            }
+        }
+    }
+
+    private void inicializarTabla(int capacidad) {
+        this.claves = new Object[capacidad];
+        this.valores = new Object[capacidad];
+        this.umbral = capacidad / 4 * 3; // Factor de carga 0.75
+    }
+
+    /**
+     * Menor potencia de dos capaz de contener las entradas sin superar el umbral.
+     */
+    private static int capacidadParaElementos(int elementos) {
+        int capacidad = CAPACIDAD_INICIAL;
+        while (capacidad / 4 * 3 < elementos) {
+            capacidad <<= 1;
+        }
+        return capacidad;
+    }
+}
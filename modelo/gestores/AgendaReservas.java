@@ -0,0 +1,162 @@
+package modelo.gestores;
+
+import modelo.entidades.Reserva;
+import modelo.estructuras.ArbolIntervalos;
+import modelo.estructuras.ListaArreglo;
+import modelo.estructuras.TablaHash;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Agenda de reservas por ventana horaria. Cada plaza con reservas tiene su
+ * propio árbol de intervalos, así que comprobar si una plaza está reservada
+ * para una ventana es O(log m) con m reservas de esa plaza, sin mirar las
+ * del resto. Un árbol global con todas las reservas responde las consultas
+ * por ventana (vigentes, vencidas) en O(log n + k).
+ * <p>
+ * Las plazas se identifican por su índice en el AlmacenPlazas y las placas
+ * se guardan ya normalizadas por el gestor. Las ventanas son semiabiertas
+ * [inicio, fin): una reserva que termina a las 10:00 no choca con otra que
+ * empieza a las 10:00.
+ */
+public class AgendaReservas {
+
+  private final TablaHash<Integer, ArbolIntervalos<Reserva>> porPlaza; // Índice de plaza → reservas
+  private final TablaHash<String, ArbolIntervalos<Reserva>> porPlaca;  // Placa → reservas
+  private final TablaHash<String, Reserva> porCodigo;
+  private final ArbolIntervalos<Reserva> todas;
+
+  public AgendaReservas() {
+    this.porPlaza = new TablaHash<>();
+    this.porPlaca = new TablaHash<>();
+    this.porCodigo = new TablaHash<>();
+    this.todas = new ArbolIntervalos<>();
+  }
+
+  /**
+   * Agrega una reserva a la agenda.
+   * @throws IllegalArgumentException si la ventana o la plaza no son válidas,
+   *         o el código ya existe.
+   * @throws IllegalStateException si la plaza ya está reservada en esa ventana.
+   */
+  public void agregar(Reserva reserva) {
+    int indice = reserva.getPlaza() == null ? -1 : reserva.getPlaza().getIndice();
+    if (indice < 0) {
+      throw new IllegalArgumentException("La reserva debe ser de una plaza del estacionamiento");
+    }
+    long inicio = milis(reserva.getInicio());
+    long fin = milis(reserva.getFin());
+    if (fin <= inicio) {
+      throw new IllegalArgumentException("El fin de la reserva debe ser posterior a su inicio");
+    }
+    if (porCodigo.contieneClave(reserva.getCodigo())) {
+      throw new IllegalArgumentException("Código de reserva repetido: " + reserva.getCodigo());
+    }
+    ArbolIntervalos<Reserva> dePlaza = porPlaza.obtener(indice);
+    if (dePlaza == null) {
+      dePlaza = new ArbolIntervalos<>();
+      porPlaza.poner(indice, dePlaza);
+    } else if (dePlaza.haySolapamiento(inicio, fin)) {
+      throw new IllegalStateException("La plaza ya está reservada en esa ventana");
+    }
+    dePlaza.insertar(inicio, fin, reserva);
+    ArbolIntervalos<Reserva> dePlaca = porPlaca.obtener(reserva.getPlaca());
+    if (dePlaca == null) {
+      dePlaca = new ArbolIntervalos<>();
+      porPlaca.poner(reserva.getPlaca(), dePlaca);
+    }
+    dePlaca.insertar(inicio, fin, reserva);
+    todas.insertar(inicio, fin, reserva);
+    porCodigo.poner(reserva.getCodigo(), reserva);
+  }
+
+  /**
+   * Quita una reserva de la agenda (cancelada, utilizada o vencida).
+   * @return La reserva quitada, o null si el código no existe.
+   */
+  public Reserva eliminar(String codigo) {
+    Reserva reserva = porCodigo.eliminar(codigo);
+    if (reserva == null) {
+      return null;
+    }
+    long inicio = milis(reserva.getInicio());
+    long fin = milis(reserva.getFin());
+    int indice = reserva.getPlaza().getIndice();
+    ArbolIntervalos<Reserva> dePlaza = porPlaza.obtener(indice);
+    dePlaza.eliminar(inicio, fin, reserva);
+    if (dePlaza.estaVacio()) {
+      porPlaza.eliminar(indice);
+    }
+    ArbolIntervalos<Reserva> dePlaca = porPlaca.obtener(reserva.getPlaca());
+    dePlaca.eliminar(inicio, fin, reserva);
+    if (dePlaca.estaVacio()) {
+      porPlaca.eliminar(reserva.getPlaca());
+    }
+    todas.eliminar(inicio, fin, reserva);
+    return reserva;
+  }
+
+  public Reserva buscar(String codigo) {
+    return porCodigo.obtener(codigo);
+  }
+
+  /**
+   * Indica si la plaza tiene alguna reserva que se solape con [desde, hasta).
+   * O(1) para plazas sin reservas; O(log m) en otro caso.
+   */
+  public boolean estaReservada(int indicePlaza, LocalDateTime desde, LocalDateTime hasta) {
+    ArbolIntervalos<Reserva> dePlaza = porPlaza.obtener(indicePlaza);
+    return dePlaza != null && dePlaza.haySolapamiento(milis(desde), milis(hasta));
+  }
+
+  /**
+   * Reserva de la plaza que se solapa con [desde, hasta), si hay alguna.
+   * @return La reserva, o null.
+   */
+  public Reserva reservaDePlaza(int indicePlaza, LocalDateTime desde, LocalDateTime hasta) {
+    ArbolIntervalos<Reserva> dePlaza = porPlaza.obtener(indicePlaza);
+    return dePlaza == null ? null : dePlaza.buscarSolapado(milis(desde), milis(hasta));
+  }
+
+  /**
+   * Reserva de una placa vigente en un momento dado.
+   * @return La reserva, o null si la placa no tiene ninguna en ese momento.
+   */
+  public Reserva reservaVigente(String placa, LocalDateTime momento) {
+    ArbolIntervalos<Reserva> dePlaca = porPlaca.obtener(placa);
+    if (dePlaca == null) {
+      return null;
+    }
+    long instante = milis(momento);
+    return dePlaca.buscarSolapado(instante, instante + 1);
+  }
+
+  /**
+   * Todas las reservas que se solapan con [desde, hasta), por hora de inicio.
+   */
+  public ListaArreglo<Reserva> reservasEntre(LocalDateTime desde, LocalDateTime hasta) {
+    return todas.solapados(milis(desde), milis(hasta));
+  }
+
+  /**
+   * Reservas cuya ventana ya terminó en el momento dado.
+   */
+  public ListaArreglo<Reserva> vencidas(LocalDateTime momento) {
+    ListaArreglo<Reserva> resultado = new ListaArreglo<>();
+    long instante = milis(momento);
+    todas.recorrerSolapados(Long.MIN_VALUE, instante, reserva -> {
+      if (milis(reserva.getFin()) <= instante) {
+        resultado.agregarAlFinal(reserva);
+      }
+    });
+    return resultado;
+  }
+
+  public int getTamano() {
+    return porCodigo.getTamano();
+  }
+
+  private static long milis(LocalDateTime momento) {
+    return momento.toEpochSecond(ZoneOffset.UTC) * 1000L + momento.getNano() / 1_000_000;
+  }
+}
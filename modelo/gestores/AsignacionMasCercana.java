@@ -0,0 +1,87 @@
+package modelo.gestores;
+
+import modelo.entidades.Plaza;
+import modelo.entidades.TipoVehiculo;
+import modelo.estructuras.ConjuntoIndices;
+import modelo.estructuras.MonticuloIndexado;
+import java.util.function.ToLongFunction;
+
+/**
+ * Política "más cercana": entrega la plaza libre compatible con menor
+ * distancia a la entrada. Mantiene un montículo de plazas libres por tipo
+ * permitido, con todas las plazas que indexa (las de todos los pisos o las de
+ * uno solo, ver OcupacionPorPiso), ordenado por una función de
+ * distancia configurable (la de por defecto ya ordena primero por piso).
+ * Elegir mira solo el mínimo de cada tipo compatible, O(1); liberar y retirar
+ * una plaza son O(log n) en el montículo de su tipo. Todos los montículos
+ * comparten los arreglos de posición y distancia, indexados por plaza.
+ */
+public class AsignacionMasCercana implements PoliticaAsignacion {
+  
+  private static final TipoVehiculo[] TIPOS = TipoVehiculo.values();
+  private static final int SIN_TIPO = TIPOS.length; // Montículo de plazas sin tipo permitido
+  
+  /**
+   * Distancia por defecto: primero el piso, luego la letra del sector y por
+   * último el número de plaza (los más bajos están más cerca de la rampa).
+   */
+  public static final ToLongFunction<Plaza> DISTANCIA_POR_UBICACION = plaza ->
+      plaza.getPiso() * 1_000_000L + (plaza.getSector() - 'A') * 10_000L + plaza.getNumero();
+  
+  private final ToLongFunction<Plaza> distancia;
+  private final MonticuloIndexado[] libresPorTipo; // Plazas LIBRE por tipo permitido (por ordinal)
+  
+  public AsignacionMasCercana(int capacidad) {
+    this(capacidad, DISTANCIA_POR_UBICACION);
+  }
+  
+  /**
+   * @param capacidad Número de plazas (índices de 0 a capacidad - 1).
+   * @param distancia Puntaje de cada plaza; menor = más cercana.
+   */
+  public AsignacionMasCercana(int capacidad, ToLongFunction<Plaza> distancia) {
+    if (distancia == null) {
+      throw new IllegalArgumentException("La función de distancia no puede ser null");
+    }
+    this.distancia = distancia;
+    int[] posiciones = ConjuntoIndices.crearPosiciones(capacidad);
+    long[] distancias = new long[capacidad];
+    this.libresPorTipo = new MonticuloIndexado[TIPOS.length + 1];
+    for (int i = 0; i < libresPorTipo.length; i++) {
+      libresPorTipo[i] = new MonticuloIndexado(posiciones, distancias);
+    }
+  }
+  
+  @Override
+  public void plazaLiberada(int indice, Plaza plaza) {
+    TipoVehiculo tipo = plaza.getTipoPermitido();
+    libresPorTipo[tipo == null ? SIN_TIPO : tipo.ordinal()].agregar(indice, distancia.applyAsLong(plaza));
+  }
+  
+  @Override
+  public void plazaRetirada(int indice, Plaza plaza) {
+    for (MonticuloIndexado monticulo : libresPorTipo) {
+      if (monticulo.eliminar(indice)) {
+        return;
+      }
+    }
+  }
+  
+  @Override
+  public int elegir(TipoVehiculo tipo) {
+    for (int t = tipo.ordinal(); t <= SIN_TIPO; t++) {
+      if (!libresPorTipo[t].estaVacio()) {
+        return libresPorTipo[t].verMinimo();
+      }
+    }
+    return -1;
+  }
+  
+  /**
+   * La distancia por defecto ordena primero por piso.
+   */
+  @Override
+  public boolean recorrerPisosEnOrden() {
+    return true;
+  }
+}
@@ -0,0 +1,58 @@
+package modelo.gestores;
+
+import modelo.entidades.Plaza;
+import modelo.entidades.TipoVehiculo;
+import modelo.estructuras.ConjuntoIndices;
+
+/**
+ * Política "primera libre": entrega la primera plaza disponible que encuentre
+ * en la bolsa de libres de cada tipo, sin importar su ubicación. Cada bolsa es
+ * un ConjuntoIndices, así que asignar y liberar son O(1). Como cada plaza
+ * libre está en una sola bolsa, todas comparten el arreglo de posiciones.
+ */
+public class AsignacionPrimeraLibre implements PoliticaAsignacion {
+  
+  private static final TipoVehiculo[] TIPOS = TipoVehiculo.values();
+  private static final int SIN_TIPO = TIPOS.length; // Bolsa de plazas sin tipo permitido
+  
+  private final ConjuntoIndices[] libresPorTipo; // Plazas LIBRE por tipo permitido (por ordinal)
+  
+  /**
+   * @param capacidad Número de plazas (índices de 0 a capacidad - 1).
+   */
+  public AsignacionPrimeraLibre(int capacidad) {
+    int[] posiciones = ConjuntoIndices.crearPosiciones(capacidad);
+    this.libresPorTipo = new ConjuntoIndices[TIPOS.length + 1];
+    for (int i = 0; i < libresPorTipo.length; i++) {
+      libresPorTipo[i] = new ConjuntoIndices(posiciones);
+    }
+  }
+  
+  @Override
+  public void plazaLiberada(int indice, Plaza plaza) {
+    bolsa(plaza.getTipoPermitido()).agregar(indice);
+  }
+  
+  @Override
+  public void plazaRetirada(int indice, Plaza plaza) {
+    for (ConjuntoIndices bolsa : libresPorTipo) {
+      if (bolsa.eliminar(indice)) {
+        return;
+      }
+    }
+  }
+  
+  @Override
+  public int elegir(TipoVehiculo tipo) {
+    for (int t = tipo.ordinal(); t <= SIN_TIPO; t++) {
+      if (!libresPorTipo[t].estaVacio()) {
+        return libresPorTipo[t].cualquiera();
+      }
+    }
+    return -1;
+  }
+  
+  private ConjuntoIndices bolsa(TipoVehiculo tipoPermitido) {
+    return libresPorTipo[tipoPermitido == null ? SIN_TIPO : tipoPermitido.ordinal()];
+  }
+}
@@ -0,0 +1,156 @@
+package modelo.gestores;
+
+import modelo.entidades.Plaza;
+import modelo.entidades.SolicitudEspera;
+import modelo.entidades.TipoVehiculo;
+import modelo.estructuras.ColaCircular;
+import modelo.estructuras.ConjuntoCadenas;
+import modelo.estructuras.Histograma;
+import modelo.estructuras.ListaEnlazada;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Lista de espera con asignación automática de las plazas que se liberan.
+ * <p>
+ * Las solicitudes se reparten en subcolas FIFO por TipoVehiculo y por
+ * prioridad (los clientes ABONADO van en un nivel aparte que se atiende
+ * primero). Al liberarse una plaza solo se miran los frentes de las subcolas
+ * de los tipos que caben en ella, y entre ellos se elige la solicitud más
+ * antigua: un número fijo de comparaciones por liberación.
+ * <p>
+ * También registra el tiempo de espera de cada solicitud atendida en un
+ * histograma, para consultar percentiles sin guardar las muestras.
+ */
+public class DespachadorEspera {
+  
+  private static final TipoVehiculo[] TIPOS = TipoVehiculo.values();
+  private static final int PRIORITARIA = 0;
+  private static final int NORMAL = 1;
+  
+  /**
+   * Solicitud con su número de llegada, para desempatar entre subcolas.
+   */
+  private static final class Entrada {
+    private final SolicitudEspera solicitud;
+    private final long orden;
+    
+    Entrada(SolicitudEspera solicitud, long orden) {
+      this.solicitud = solicitud;
+      this.orden = orden;
+    }
+  }
+  
+  private final ColaCircular<Entrada>[][] subcolas; // [prioridad][tipo]
+  private final ConjuntoCadenas placasEnEspera;      // Evita encolar dos veces la misma placa
+  private final Histograma esperaSegundos;
+  private long siguienteOrden;
+  private int tamano;
+  
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public DespachadorEspera() {
+    this.subcolas = new ColaCircular[2][TIPOS.length];
+    for (int p = 0; p < 2; p++) {
+      for (int t = 0; t < TIPOS.length; t++) {
+        subcolas[p][t] = new ColaCircular<>();
+      }
+    }
+    this.placasEnEspera = new ConjuntoCadenas();
+    this.esperaSegundos = new Histograma();
+    this.siguienteOrden = 0;
+    this.tamano = 0;
+  }
+  
+  /**
+   * Agrega una solicitud a la subcola de su tipo.
+   * @param solicitud La solicitud (con placa y tipo).
+   * @param prioritaria true si el cliente es ABONADO.
+   * @return false si la placa ya estaba esperando.
+   */
+  public boolean encolar(SolicitudEspera solicitud, boolean prioritaria) {
+    if (!placasEnEspera.agregar(solicitud.getPlaca())) {
+      return false;
+    }
+    TipoVehiculo tipo = solicitud.getTipo() != null ? solicitud.getTipo() : TipoVehiculo.MINIVAN;
+    subcolas[prioritaria ? PRIORITARIA : NORMAL][tipo.ordinal()]
+        .encolar(new Entrada(solicitud, siguienteOrden++));
+    tamano++;
+    return true;
+  }
+  
+  /**
+   * Retira la solicitud que debe ocupar la plaza liberada: la más antigua
+   * entre los clientes ABONADO cuyo vehículo cabe en la plaza y, si no hay,
+   * la más antigua entre el resto.
+   * @param plaza La plaza recién liberada.
+   * @return La solicitud atendida, o null si nadie compatible está esperando.
+   */
+  public SolicitudEspera despacharPara(Plaza plaza) {
+    TipoVehiculo tipoPlaza = plaza.getTipoPermitido();
+    int ultimoTipo = tipoPlaza == null ? TIPOS.length - 1 : tipoPlaza.ordinal();
+    for (int p = PRIORITARIA; p <= NORMAL; p++) {
+      ColaCircular<Entrada> elegida = null;
+      for (int t = 0; t <= ultimoTipo; t++) {
+        ColaCircular<Entrada> cola = subcolas[p][t];
+        if (!cola.estaVacia() && (elegida == null || cola.verFrente().orden < elegida.verFrente().orden)) {
+          elegida = cola;
+        }
+      }
+      if (elegida != null) {
+        SolicitudEspera solicitud = elegida.desencolar().solicitud;
+        placasEnEspera.eliminar(solicitud.getPlaca());
+        tamano--;
+        esperaSegundos.registrar(Math.max(0,
+            Duration.between(solicitud.getFechaHoraSolicitud(), LocalDateTime.now()).getSeconds()));
+        return solicitud;
+      }
+    }
+    return null;
+  }
+  
+  /**
+   * Verifica si una placa está en la lista de espera.
+   */
+  public boolean estaEsperando(String placa) {
+    return placasEnEspera.contiene(placa);
+  }
+  
+  public int getTamano() {
+    return tamano;
+  }
+  
+  public boolean estaVacia() {
+    return tamano == 0;
+  }
+  
+  /**
+   * Percentil del tiempo de espera (en segundos) de las solicitudes atendidas.
+   * @param porcentaje Entre 0 y 100 (por ejemplo 50, 90 o 99).
+   */
+  public long percentilEsperaSegundos(double porcentaje) {
+    return esperaSegundos.percentil(porcentaje);
+  }
+  
+  /**
+   * Cantidad de solicitudes atendidas desde el inicio.
+   */
+  public long getAtendidas() {
+    return esperaSegundos.getCantidad();
+  }
+  
+  /**
+   * Solicitudes en espera: primero las prioritarias y, dentro de cada nivel,
+   * agrupadas por tipo de vehículo en orden de llegada.
+   */
+  public ListaEnlazada<SolicitudEspera> toLista() {
+    ListaEnlazada<SolicitudEspera> lista = new ListaEnlazada<>();
+    for (ColaCircular<Entrada>[] nivel : subcolas) {
+      for (ColaCircular<Entrada> cola : nivel) {
+        for (Entrada entrada : cola.toLista()) {
+          lista.agregarAlFinal(entrada.solicitud);
+        }
+      }
+    }
+    return lista;
+  }
+}
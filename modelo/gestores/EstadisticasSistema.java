@@ -0,0 +1,178 @@
+package modelo.gestores;
+
+import modelo.entidades.EstadoPlaza;
+import modelo.entidades.TipoUsuario;
+import modelo.entidades.TipoVehiculo;
+import java.util.Arrays;
+
+/**
+ * Contadores del sistema mantenidos de forma incremental: el gestor los
+ * actualiza en cada alta, cambio de estado de plaza, ingreso, salida, pago y
+ * movimiento de la cola de espera, de modo que cualquier pantalla de
+ * estadísticas los lee en O(1) sin recorrer árboles ni listas.
+ * <p>
+ * Los actualizan hilos distintos (cada uno bajo el cerrojo de la parte del
+ * gestor que modifica), así que todos los métodos se sincronizan sobre la
+ * propia instancia; cada uno es unas pocas sumas.
+ */
+public class EstadisticasSistema {
+  
+  private static final int ESTADOS = EstadoPlaza.values().length;
+  
+  // === REGISTROS ===
+  private final int[] vehiculosPorTipo = new int[TipoVehiculo.values().length];
+  private final int[] clientesPorTipo = new int[TipoUsuario.values().length];
+  private int totalVehiculos;
+  private int totalClientes;
+  
+  // === PLAZAS ===
+  private final int[] plazasPorEstado = new int[ESTADOS];
+  private int[][] plazasPorPiso = new int[0][];  // piso → contador por EstadoPlaza (por ordinal)
+  
+  // === TICKETS E INGRESOS ===
+  private int ticketsActivos;
+  private int ticketsFinalizados;
+  private double montoFacturado;   // Suma de montos de tickets finalizados
+  private double ingresoCobrado;   // Suma de montos de tickets pagados
+  
+  // === COLA DE ESPERA ===
+  private int enEspera;
+  private int picoEspera;
+  
+  // ============================================================================
+  // ACTUALIZACIONES (invocadas por el gestor)
+  // ============================================================================
+  
+  synchronized void vehiculoRegistrado(TipoVehiculo tipo) {
+    totalVehiculos++;
+    if (tipo != null) {
+      vehiculosPorTipo[tipo.ordinal()]++;
+    }
+  }
+  
+  synchronized void clienteRegistrado(TipoUsuario tipo) {
+    totalClientes++;
+    if (tipo != null) {
+      clientesPorTipo[tipo.ordinal()]++;
+    }
+  }
+  
+  synchronized void tipoUsuarioCambiado(TipoUsuario anterior, TipoUsuario nuevo) {
+    if (anterior != null) {
+      clientesPorTipo[anterior.ordinal()]--;
+    }
+    if (nuevo != null) {
+      clientesPorTipo[nuevo.ordinal()]++;
+    }
+  }
+  
+  synchronized void plazaCambiada(int piso, EstadoPlaza anterior, EstadoPlaza nuevo) {
+    int[] delPiso = contadoresPiso(piso);
+    if (anterior != null) {
+      plazasPorEstado[anterior.ordinal()]--;
+      delPiso[anterior.ordinal()]--;
+    }
+    if (nuevo != null) {
+      plazasPorEstado[nuevo.ordinal()]++;
+      delPiso[nuevo.ordinal()]++;
+    }
+  }
+  
+  synchronized void ticketAbierto() {
+    ticketsActivos++;
+  }
+  
+  synchronized void ticketFinalizado(double monto, boolean estabaActivo) {
+    if (estabaActivo) {
+      ticketsActivos--;
+    }
+    ticketsFinalizados++;
+    montoFacturado += monto;
+  }
+  
+  synchronized void pagoRegistrado(double monto) {
+    ingresoCobrado += monto;
+  }
+  
+  synchronized void solicitudEncolada() {
+    enEspera++;
+    if (enEspera > picoEspera) {
+      picoEspera = enEspera;
+    }
+  }
+  
+  synchronized void solicitudAtendida() {
+    enEspera--;
+  }
+  
+  // ============================================================================
+  // CONSULTAS (todas O(1))
+  // ============================================================================
+  
+  public synchronized int getTotalVehiculos() {
+    return totalVehiculos;
+  }
+  
+  public synchronized int getVehiculos(TipoVehiculo tipo) {
+    return vehiculosPorTipo[tipo.ordinal()];
+  }
+  
+  public synchronized int getTotalClientes() {
+    return totalClientes;
+  }
+  
+  public synchronized int getClientes(TipoUsuario tipo) {
+    return clientesPorTipo[tipo.ordinal()];
+  }
+  
+  public synchronized int getPlazas(EstadoPlaza estado) {
+    return plazasPorEstado[estado.ordinal()];
+  }
+  
+  /**
+   * Cantidad de plazas de un piso en el estado indicado (0 si el piso no existe).
+   */
+  public synchronized int getPlazas(int piso, EstadoPlaza estado) {
+    if (piso < 0 || piso >= plazasPorPiso.length || plazasPorPiso[piso] == null) {
+      return 0;
+    }
+    return plazasPorPiso[piso][estado.ordinal()];
+  }
+  
+  public synchronized int getTicketsActivos() {
+    return ticketsActivos;
+  }
+  
+  public synchronized int getTicketsFinalizados() {
+    return ticketsFinalizados;
+  }
+  
+  public synchronized double getMontoFacturado() {
+    return montoFacturado;
+  }
+  
+  public synchronized double getIngresoCobrado() {
+    return ingresoCobrado;
+  }
+  
+  public synchronized int getEnEspera() {
+    return enEspera;
+  }
+  
+  public synchronized int getPicoEspera() {
+    return picoEspera;
+  }
+  
+  private int[] contadoresPiso(int piso) {
+    if (piso < 0) {
+      piso = 0;
+    }
+    if (piso >= plazasPorPiso.length) {
+      plazasPorPiso = Arrays.copyOf(plazasPorPiso, piso + 1);
+    }
+    if (plazasPorPiso[piso] == null) {
+      plazasPorPiso[piso] = new int[ESTADOS];
+    }
+    return plazasPorPiso[piso];
+  }
+}
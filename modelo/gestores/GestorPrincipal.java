@@ -1,5 +1,6 @@
 package modelo.gestores;
 
+import modelo.entidades.AlmacenPlazas;
 import modelo.entidades.Cliente;
 import modelo.entidades.Vehiculo;
 import modelo.entidades.Ticket;
@@ -9,26 +10,65 @@ import modelo.entidades.TipoVehiculo;
 import modelo.entidades.TipoUsuario;
 import modelo.entidades.EstadoPlaza;
 import modelo.entidades.SolicitudEspera;
+import modelo.entidades.Reserva;
 import modelo.estructuras.ArbolBinario;
+import modelo.estructuras.ListaArreglo;
 import modelo.estructuras.ListaEnlazada;
-import modelo.estructuras.Cola;
+import modelo.estructuras.ConjuntoCadenas;
 import modelo.estructuras.Pila;
+import modelo.estructuras.TablaHash;
 import modelo.estructuras.NodoArbol;
 import modelo.persistencia.ClienteDAO;
+import modelo.persistencia.EscrituraDiferida;
 import modelo.persistencia.VehiculoDAO;
 import modelo.persistencia.TicketDAO;
+import modelo.persistencia.ReservaDAO;
+import modelo.persistencia.TopologiaDAO;
 import utilidad.ManejadorArchivos;
 import java.time.LocalDateTime;
 import java.time.Duration;
 import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
 
 /**
  * Gestor Principal que integra TODOS los componentes del sistema de estacionamiento.
  * Utiliza las estructuras de datos de manera óptima:
  * - Árboles Binarios para búsquedas rápidas (O(log n))
- * - Lista Enlazada para tickets activos
- * - Cola para lista de espera (FIFO)
+ * - Lista en arreglo para tickets activos (solo los que siguen en curso),
+ *   con la posición de cada uno para quitarlo en O(1) al salir
+ * - Colas circulares por tipo de vehículo para la lista de espera (FIFO, abonados primero)
  * - Pila para historial (LIFO)
+ * - Tabla hash para ubicar tickets por código (O(1))
+ * - Mapa de bits por estado y piso para encontrar plazas libres sin recorrerlas
+ * - Almacén de plazas en arreglos paralelos, según la topología de topologia.txt
+ * - Árboles de intervalos por plaza para las reservas por ventana horaria
+ * <p>
+ * Es seguro usarlo desde varios hilos (por ejemplo, varias puertas a la vez).
+ * Cerrojos, siempre tomados en este orden:
+ * 1. Cerrojo de la placa (franjas por hash): ingreso, salida, pago y
+ *    asignación desde la espera de un mismo vehículo nunca se cruzan.
+ * 2. Cerrojo del piso (ver OcupacionPorPiso): estado y ocupante de las
+ *    plazas de ese piso, con su índice y su política. Elegir una plaza y
+ *    marcarla OCUPADA es un solo paso bajo este cerrojo, así que dos puertas
+ *    no pueden recibir la misma plaza; puertas en pisos distintos no se esperan.
+ * 3. cerrojoReservas (lectura/escritura): agenda de reservas.
+ * 4. cerrojoRegistro: listas de tickets, historial y cola de espera.
+ * Los árboles de clientes y vehículos usan un cerrojo de lectura/escritura
+ * aparte (nunca se toma otro cerrojo del gestor mientras se lo tiene), y las
+ * búsquedas de tickets por placa y por código leen tablas concurrentes sin
+ * bloquear.
+ * <p>
+ * Tickets, vehículos y clientes se guardan con una EscrituraDiferida: las
+ * puertas solo dejan la línea pendiente y un hilo aparte reescribe cada
+ * archivo una vez por lote (ver guardarPendientes). Las demás escrituras van
+ * directo a los archivos, protegidos en ManejadorArchivos. Todo se lee y se
+ * escribe en la carpeta de datos del gestor.
  */
 public class GestorPrincipal {
   
@@ -37,15 +77,38 @@ public class GestorPrincipal {
   private ArbolBinario<Vehiculo> arbolVehiculos;
   
   // === GESTIÓN DE TICKETS ===
-  private ListaEnlazada<Ticket> ticketsActivos;    // Estadías en curso
+  private ListaArreglo<Ticket> ticketsActivos;     // Solo estadías en curso (ACTIVO), sin orden
+  private TablaHash<String, Integer> posicionActivos; // Código → posición en ticketsActivos
+  private ListaArreglo<Ticket> ticketsFinalizados;  // Archivo de estadías cerradas (solo se agrega)
   private Pila<Ticket> historialTickets;            // Últimas operaciones
+  private ConcurrentHashMap<String, Ticket> indiceTickets;   // Código → ticket (todos los tickets)
+  private ConcurrentHashMap<String, Ticket> activosPorPlaca; // Placa normalizada → ticket ACTIVO
+  private ConjuntoCadenas codigosEnHistorial;       // Códigos presentes en historialTickets
+  private double ingresoHistorial;                  // Suma de montos pagados del historial
+  
+  // === PERSISTENCIA ===
+  private final String carpetaDatos;                // Carpeta de los archivos TXT de este gestor
+  private final EscrituraDiferida escritura;        // Tickets, vehículos y clientes, por lotes
   
   // === GESTIÓN DE PLAZAS Y ESPERA ===
-  private ListaEnlazada<Plaza> plazas;              // Todas las plazas del estacionamiento
-  private Cola<SolicitudEspera> colaEspera;
+  private AlmacenPlazas almacenPlazas;              // Todas las plazas, en arreglos paralelos
+  private OcupacionPorPiso ocupacion;               // Índice y cerrojo por piso (sincronizado vía setEstado)
+  private DespachadorEspera colaEspera;             // Subcolas por tipo; asigna las plazas que se liberan
+  private AgendaReservas reservas;                  // Reservas por plaza y ventana horaria
+  private volatile int cantidadReservas;            // Tamaño de la agenda, para saltarla si está vacía
+  private volatile Duration duracionEstimada;       // Ventana que debe quedar libre de reservas al ingresar
   
   // === CONTADORES ===
-  private int contadorTickets;
+  private final AtomicInteger contadorTickets = new AtomicInteger(1000);
+  private final AtomicInteger contadorReservas = new AtomicInteger(1000);
+  private EstadisticasSistema estadisticas;         // Contadores incrementales para las pantallas
+  
+  // === CONCURRENCIA (ver orden de cerrojos arriba) ===
+  private static final int FRANJAS_PLACA = 64;      // Potencia de dos
+  private final ReentrantLock[] cerrojosPlaca = new ReentrantLock[FRANJAS_PLACA];
+  private final ReentrantReadWriteLock cerrojoReservas = new ReentrantReadWriteLock();
+  private final ReentrantLock cerrojoRegistro = new ReentrantLock();
+  private final ReentrantReadWriteLock cerrojoArboles = new ReentrantReadWriteLock();
   
   // === TARIFAS POR HORA SEGÚN TIPO DE VEHÍCULO ===
   private static final double TARIFA_BICICLETA = 1.0;
@@ -59,103 +122,224 @@ public class GestorPrincipal {
    * AHORA CARGA DATOS DESDE ARCHIVOS TXT.
    */
   public GestorPrincipal() {
+    this(System.out::println);
+  }
+  
+  /**
+   * Constructor que informa el avance de la carga de archivos.
+   * @param progreso Recibe un mensaje por cada etapa (clientes, vehículos,
+   *        tickets, reservas), en el hilo que construye el gestor.
+   */
+  public GestorPrincipal(Consumer<String> progreso) {
+    this(ManejadorArchivos.CARPETA_DATOS, progreso);
+  }
+  
+  /**
+   * Constructor con carpeta de datos propia (una por sede).
+   * @param carpetaDatos Carpeta de los archivos TXT; se crea si no existe.
+   * @param progreso Recibe un mensaje por cada etapa de la carga.
+   */
+  public GestorPrincipal(String carpetaDatos, Consumer<String> progreso) {
+    this.carpetaDatos = carpetaDatos;
     // Inicializar archivos de datos
-    ManejadorArchivos.inicializarArchivos();
+    ManejadorArchivos.inicializarArchivos(carpetaDatos);
+    this.escritura = EscrituraDiferida.abrir(carpetaDatos);
     
-    // Inicializar árboles binarios
-    this.arbolClientes = new ArbolBinario<>(Comparator.comparing(Cliente::getDni));
-    this.arbolVehiculos = new ArbolBinario<>(Comparator.comparing(Vehiculo::getPlaca));
+    this.estadisticas = new EstadisticasSistema();
+    
+    // Inicializar árboles binarios (equilibrados: los archivos suelen venir ordenados)
+    this.arbolClientes = new ArbolBinario<>(Comparator.comparing(Cliente::getDni), true);
+    this.arbolVehiculos = new ArbolBinario<>(Comparator.comparing(Vehiculo::getPlaca), true);
     
     // Inicializar estructuras de tickets
-    this.ticketsActivos = new ListaEnlazada<>();
+    this.ticketsActivos = new ListaArreglo<>();
+    this.posicionActivos = new TablaHash<>();
+    this.ticketsFinalizados = new ListaArreglo<>();
     this.historialTickets = new Pila<>();
+    this.indiceTickets = new ConcurrentHashMap<>();
+    // Plazas según la topología configurada (por defecto 3 pisos, 6 sectores, 10 plazas/sector)
+    this.almacenPlazas = new AlmacenPlazas(TopologiaDAO.cargar(carpetaDatos));
+    this.activosPorPlaca = new ConcurrentHashMap<>(almacenPlazas.getTamano());
+    this.codigosEnHistorial = new ConjuntoCadenas();
+    this.ingresoHistorial = 0.0;
     
-    // Inicializar gestión de plazas (3 pisos, 6 sectores, 10 plazas/sector)
-    this.plazas = new ListaEnlazada<>();
-    inicializarPlazas(3, 6, 10);
-    this.colaEspera = new Cola<>();
-    
-    this.contadorTickets = 1000;
+    this.ocupacion = OcupacionPorPiso.crear(almacenPlazas, estadisticas);
+    this.colaEspera = new DespachadorEspera();
+    this.reservas = new AgendaReservas();
+    this.duracionEstimada = Duration.ofHours(2);
+    for (int i = 0; i < FRANJAS_PLACA; i++) {
+      cerrojosPlaca[i] = new ReentrantLock();
+    }
     
     // Cargar datos desde archivos TXT
-    cargarDatosDesdeArchivos();
+    cargarDatosDesdeArchivos(progreso);
   }
   
   /**
-   * Inicializa las plazas del estacionamiento.
-   * @param numPisos Número de pisos
-   * @param numSectores Número de sectores por piso
-   * @param numPlazasPorSector Número de plazas por sector
+   * Toma una plaza libre para el tipo de vehículo especificado y la marca
+   * OCUPADA en el mismo paso, respetando el tipo permitido de cada plaza. Si
+   * no quedan plazas de su tipo usa las de tipos más grandes (ver
+   * TipoVehiculo.cabeEn). La plaza concreta la elige la política de
+   * asignación de cada piso, sin recorrer la lista.
+   * Se saltan las plazas reservadas durante la estadía estimada que empieza
+   * en el momento dado; solo se consultan las reservas de las plazas que la
+   * política va proponiendo.
+   * @param tipo Tipo de vehículo
+   * @param llegada Momento del ingreso
+   * @param placa Placa normalizada: reparte el piso por el que se empieza a buscar
+   * @return Plaza tomada o null si no hay disponibles
    */
-  private void inicializarPlazas(int numPisos, int numSectores, int numPlazasPorSector) {
-    for (int piso = 1; piso <= numPisos; piso++) {
-      for (char sector = 'A'; sector < 'A' + numSectores; sector++) {
-        for (int numero = 1; numero <= numPlazasPorSector; numero++) {
-          Plaza plaza = new Plaza(numero, piso, sector);
-          plaza.setEstado(EstadoPlaza.LIBRE);
-          plazas.agregarAlFinal(plaza);
-        }
-      }
+  private Plaza tomarPlazaLibre(TipoVehiculo tipo, LocalDateTime llegada, String placa) {
+    IntPredicate reservada = null;
+    if (cantidadReservas > 0) {
+      LocalDateTime hasta = llegada.plus(duracionEstimada);
+      reservada = indice -> estaReservada(indice, llegada, hasta);
     }
+    return ocupacion.tomarLibre(tipo, reservada, placa.hashCode(), plaza -> {
+      plaza.setEstado(EstadoPlaza.OCUPADA);
+      return plaza;
+    });
   }
   
   /**
-   * Busca una plaza libre para el tipo de vehículo especificado.
-   * @param tipo Tipo de vehículo
-   * @return Plaza libre o null si no hay disponibles
+   * Si la plaza tiene una reserva que se solapa con [desde, hasta).
    */
-  private Plaza buscarPlazaLibre(TipoVehiculo tipo) {
-    for (int i = 0; i < plazas.getTamano(); i++) {
-      Plaza plaza = plazas.get(i);
-      if (plaza.getEstado() == EstadoPlaza.LIBRE) {
-        return plaza;
-      }
+  private boolean estaReservada(int indice, LocalDateTime desde, LocalDateTime hasta) {
+    cerrojoReservas.readLock().lock();
+    try {
+      return reservas.estaReservada(indice, desde, hasta);
+    } finally {
+      cerrojoReservas.readLock().unlock();
     }
-    return null;
+  }
+  
+  /**
+   * Sustituye la plaza reconstruida por TicketDAO (una copia con solo sus
+   * coordenadas) por la plaza real del estacionamiento, para que ocuparla
+   * actualice el estado que usan las búsquedas de plazas libres.
+   * @return false si la plaza ya no existe en la topología (el ticket se
+   *         queda con la copia suelta).
+   */
+  private boolean reasociarPlaza(Ticket ticket) {
+    Plaza real = plazaReal(ticket.getPlaza(), "ticket " + ticket.getCodigo());
+    if (real != null) {
+      ticket.setPlaza(real);
+    }
+    return real != null;
+  }
+  
+  /**
+   * Plaza real del estacionamiento en las coordenadas de una copia cargada
+   * de archivo, o null (informando el error) si no existe.
+   */
+  private Plaza plazaReal(Plaza copia, String origen) {
+    if (copia == null) {
+      return null;
+    }
+    Plaza real = almacenPlazas.buscarPlaza(copia.getPiso(), copia.getSector(), copia.getNumero());
+    if (real == null) {
+      System.err.println("Plaza inexistente para " + origen + ": piso "
+          + copia.getPiso() + ", sector " + copia.getSector() + ", número " + copia.getNumero());
+    }
+    return real;
+  }
+  
+  /**
+   * Obtiene la plaza real de una ubicación en O(1).
+   * @return La plaza, o null si la ubicación no existe.
+   */
+  public Plaza buscarPlaza(int piso, char sector, int numero) {
+    return almacenPlazas.buscarPlaza(piso, sector, numero);
+  }
+  
+  /**
+   * Cambia la estrategia de asignación por una de las disponibles, creada
+   * para la cantidad de plazas de la topología cargada.
+   */
+  public void usarPoliticaAsignacion(PoliticaAsignacion.Tipo tipo) {
+    setPoliticaAsignacion(tipo::crear);
+  }
+  
+  /**
+   * Cambia la estrategia con la que se elige la plaza de cada ingreso
+   * (por ejemplo AsignacionPrimeraLibre::new o AsignacionMasCercana::new).
+   * Cada piso tiene su propia política, creada para su cantidad de plazas.
+   * @param fabrica Crea la política para una capacidad dada.
+   */
+  public void setPoliticaAsignacion(IntFunction<PoliticaAsignacion> fabrica) {
+    ocupacion.setPolitica(fabrica);
+  }
+  
+  /**
+   * Cantidad de plazas en un estado dado, en O(pisos).
+   */
+  public int contarPlazas(EstadoPlaza estado) {
+    return ocupacion.contar(estado);
   }
   
   /**
    * Carga datos desde archivos TXT al sistema.
    */
-  private void cargarDatosDesdeArchivos() {
-    System.out.println("Cargando datos desde archivos TXT...");
+  private void cargarDatosDesdeArchivos(Consumer<String> progreso) {
+    progreso.accept("Cargando datos desde archivos TXT...");
     
     // Cargar clientes
-    ListaEnlazada<Cliente> clientes = ClienteDAO.cargarTodos();
-    for (int i = 0; i < clientes.getTamano(); i++) {
-      arbolClientes.insertar(clientes.get(i));
+    ListaArreglo<Cliente> clientes = ClienteDAO.cargarTodos(carpetaDatos);
+    for (Cliente cliente : clientes) {
+      insertarCliente(cliente);
     }
-    System.out.println("Clientes cargados: " + clientes.getTamano());
+    progreso.accept("Clientes cargados: " + clientes.getTamano());
     
     // Cargar vehículos
-    ListaEnlazada<Vehiculo> vehiculos = VehiculoDAO.cargarTodos();
-    for (int i = 0; i < vehiculos.getTamano(); i++) {
-      arbolVehiculos.insertar(vehiculos.get(i));
+    ListaArreglo<Vehiculo> vehiculos = VehiculoDAO.cargarTodos(carpetaDatos);
+    for (Vehiculo vehiculo : vehiculos) {
+      insertarVehiculo(vehiculo);
     }
-    System.out.println("Vehículos cargados: " + vehiculos.getTamano());
+    progreso.accept("Vehículos cargados: " + vehiculos.getTamano());
     
     // Cargar tickets
-    ListaEnlazada<Ticket> tickets = TicketDAO.cargarTodos();
-    for (int i = 0; i < tickets.getTamano(); i++) {
-      Ticket ticket = tickets.get(i);
-      ticketsActivos.agregarAlFinal(ticket);
+    ListaArreglo<Ticket> tickets = TicketDAO.cargarTodos(carpetaDatos);
+    for (Ticket ticket : tickets) {
+      // El DAO solo conoce las coordenadas: enlazar el ticket a la plaza real
+      boolean plazaExiste = reasociarPlaza(ticket);
+      indiceTickets.put(ticket.getCodigo(), ticket);
+      
+      // Un ticket activo cuya plaza ya no existe no puede ocuparla ni
+      // liberarla: se cierra sin cobro, así nunca llega a la lista de espera
+      if (ticket.getEstado() == EstadoTicket.ACTIVO && !plazaExiste) {
+        ticket.setHoraSalida(LocalDateTime.now());
+        ticket.setMontoAPagar(0.0);
+        ticket.setEstado(EstadoTicket.FINALIZADO);
+        TicketDAO.guardarTicket(escritura, ticket);
+        System.err.println("Ticket " + ticket.getCodigo() + " cerrado al cargar: su plaza no existe");
+      }
       
-      // Si el ticket está activo, ocupar la plaza
-      if (ticket.getEstado() == EstadoTicket.ACTIVO) {
+      // Archivar los finalizados; si el ticket está activo, ocupar la plaza
+      if (ticket.isPagado()) {
+        estadisticas.pagoRegistrado(ticket.getMontoAPagar());
+      }
+      if (ticket.getEstado() != EstadoTicket.ACTIVO) {
+        ticketsFinalizados.agregarAlFinal(ticket);
+        estadisticas.ticketFinalizado(ticket.getMontoAPagar(), false);
+      } else {
+        agregarActivo(ticket);
+        estadisticas.ticketAbierto();
         Plaza plaza = ticket.getPlaza();
         plaza.setEstado(EstadoPlaza.OCUPADA);
         plaza.setVehiculoActual(ticket.getVehiculo());
         plaza.setHoraOcupacion(ticket.getHoraIngreso());
+        plaza.setTicketActual(ticket);
+        activosPorPlaca.put(normalizarPlaca(ticket.getVehiculo().getPlaca()), ticket);
       }
     }
-    System.out.println("Tickets cargados: " + tickets.getTamano());
+    progreso.accept("Tickets cargados: " + tickets.getTamano());
     
     // Ajustar contador de tickets
     if (tickets.getTamano() > 0) {
       // Buscar el código más alto
       int maxCodigo = 1000;
-      for (int i = 0; i < tickets.getTamano(); i++) {
-        String codigo = tickets.get(i).getCodigo();
+      for (Ticket ticket : tickets) {
+        String codigo = ticket.getCodigo();
         if (codigo.startsWith("T-")) {
           try {
             int num = Integer.parseInt(codigo.substring(2));
@@ -167,10 +351,31 @@ public class GestorPrincipal {
           }
         }
       }
-      contadorTickets = maxCodigo;
+      contadorTickets.set(maxCodigo);
     }
     
-    System.out.println("Datos cargados exitosamente desde archivos TXT.");
+    // Cargar reservas pendientes (las vencidas se descartan del archivo)
+    ListaArreglo<Reserva> reservasGuardadas = ReservaDAO.cargarTodas(carpetaDatos);
+    LocalDateTime ahora = LocalDateTime.now();
+    for (Reserva reserva : reservasGuardadas) {
+      contadorReservas.set(Math.max(contadorReservas.get(), numeroDeCodigo(reserva.getCodigo(), "R-") + 1));
+      Plaza real = plazaReal(reserva.getPlaza(), "reserva " + reserva.getCodigo());
+      if (real == null || !reserva.getFin().isAfter(ahora)) {
+        ReservaDAO.eliminarReserva(carpetaDatos, reserva.getCodigo());
+        continue;
+      }
+      reserva.setPlaza(real);
+      try {
+        reservas.agregar(reserva);
+      } catch (RuntimeException e) {
+        System.err.println("Reserva descartada " + reserva.getCodigo() + ": " + e.getMessage());
+        ReservaDAO.eliminarReserva(carpetaDatos, reserva.getCodigo());
+      }
+    }
+    cantidadReservas = reservas.getTamano();
+    progreso.accept("Reservas cargadas: " + reservas.getTamano());
+    
+    progreso.accept("Datos cargados exitosamente desde archivos TXT.");
   }
   
   // ============================================================================
@@ -186,16 +391,19 @@ public class GestorPrincipal {
       return false;
     }
     
-    // Verificar duplicados usando árbol (O(log n))
-    if (buscarCliente(cliente.getDni()) != null) {
-      return false;
+    // Verificar duplicados usando árbol (O(log n)) e insertar en un solo paso
+    cerrojoArboles.writeLock().lock();
+    try {
+      if (buscarClienteEnArbol(arbolClientes.getRaiz(), cliente.getDni()) != null) {
+        return false;
+      }
+      insertarCliente(cliente);
+      // Guardar en archivo TXT
+      ClienteDAO.guardarCliente(escritura, cliente);
+    } finally {
+      cerrojoArboles.writeLock().unlock();
     }
     
-    arbolClientes.insertar(cliente);
-    
-    // Guardar en archivo TXT
-    ClienteDAO.guardarCliente(cliente);
-    
     return true;
   }
   
@@ -203,21 +411,191 @@ public class GestorPrincipal {
    * Busca un cliente por DNI usando el árbol binario (O(log n)).
    */
   public Cliente buscarCliente(String dni) {
-    return buscarClienteEnArbol(arbolClientes.getRaiz(), dni);
+    cerrojoArboles.readLock().lock();
+    try {
+      return buscarClienteEnArbol(arbolClientes.getRaiz(), dni);
+    } finally {
+      cerrojoArboles.readLock().unlock();
+    }
   }
   
   private Cliente buscarClienteEnArbol(NodoArbol<Cliente> nodo, String dni) {
-    if (nodo == null) {
-      return null;
+    // Descenso iterativo: sin un marco de pila por nivel
+    while (nodo != null) {
+      int comparacion = dni.compareTo(nodo.getDato().getDni());
+      if (comparacion == 0) {
+        return nodo.getDato();
+      }
+      nodo = comparacion < 0 ? nodo.getIzquierdo() : nodo.getDerecho();
+    }
+    return null;
+  }
+  
+  /**
+   * Cambia el tipo de usuario de un cliente manteniendo los contadores.
+   */
+  public void cambiarTipoUsuario(Cliente cliente, TipoUsuario tipo) {
+    cerrojoArboles.writeLock().lock();
+    try {
+      aplicarTipoUsuario(cliente, tipo);
+      ClienteDAO.guardarCliente(escritura, cliente);
+    } finally {
+      cerrojoArboles.writeLock().unlock();
+    }
+  }
+  
+  /**
+   * Requiere el cerrojo de escritura de los árboles.
+   */
+  private void aplicarTipoUsuario(Cliente cliente, TipoUsuario tipo) {
+    TipoUsuario anterior = cliente.getTipoUsuario();
+    cliente.setTipoUsuario(tipo);
+    if (anterior != tipo) {
+      estadisticas.tipoUsuarioCambiado(anterior, tipo);
+    }
+  }
+  
+  /**
+   * Modifica los datos de un cliente en un solo paso de escritura, así que
+   * una puerta que lo lee no ve un cambio a medias.
+   * @return false si el cliente no existe.
+   */
+  public boolean modificarCliente(String dni, String nombres, String apellidos,
+                                  String correo, String telefono, String direccion,
+                                  String genero, TipoUsuario tipo) {
+    if (dni == null) {
+      return false;
+    }
+    cerrojoArboles.writeLock().lock();
+    try {
+      Cliente cliente = buscarClienteEnArbol(arbolClientes.getRaiz(), dni);
+      if (cliente == null) {
+        return false;
+      }
+      cliente.setNombres(nombres);
+      cliente.setApellidos(apellidos);
+      cliente.setCorreo(correo);
+      cliente.setTelefono(telefono);
+      cliente.setDireccion(direccion);
+      cliente.setGenero(genero);
+      aplicarTipoUsuario(cliente, tipo);
+      ClienteDAO.guardarCliente(escritura, cliente);
+      return true;
+    } finally {
+      cerrojoArboles.writeLock().unlock();
+    }
+  }
+  
+  /**
+   * Desactiva un cliente (no se borra del árbol).
+   * @return false si el cliente no existe.
+   */
+  public boolean desactivarCliente(String dni) {
+    if (dni == null) {
+      return false;
+    }
+    cerrojoArboles.writeLock().lock();
+    try {
+      Cliente cliente = buscarClienteEnArbol(arbolClientes.getRaiz(), dni);
+      if (cliente == null) {
+        return false;
+      }
+      cliente.setActivo(false);
+      return true;
+    } finally {
+      cerrojoArboles.writeLock().unlock();
+    }
+  }
+  
+  /**
+   * Asocia una placa a un cliente, bajo el mismo cerrojo con el que las
+   * puertas asocian las placas al ingresar.
+   * @return false si el cliente no existe o la placa está vacía.
+   */
+  public boolean agregarVehiculoACliente(String dni, String placa) {
+    if (dni == null || placa == null || placa.trim().isEmpty()) {
+      return false;
+    }
+    cerrojoArboles.writeLock().lock();
+    try {
+      Cliente cliente = buscarClienteEnArbol(arbolClientes.getRaiz(), dni);
+      if (cliente == null) {
+        return false;
+      }
+      cliente.agregarVehiculo(placa.trim().toUpperCase());
+      ClienteDAO.guardarCliente(escritura, cliente);
+      return true;
+    } finally {
+      cerrojoArboles.writeLock().unlock();
+    }
+  }
+  
+  /**
+   * Quita una placa de la lista de un cliente.
+   * @return false si el cliente no existe o la placa es null.
+   */
+  public boolean eliminarVehiculoDeCliente(String dni, String placa) {
+    if (dni == null || placa == null) {
+      return false;
+    }
+    cerrojoArboles.writeLock().lock();
+    try {
+      Cliente cliente = buscarClienteEnArbol(arbolClientes.getRaiz(), dni);
+      if (cliente == null) {
+        return false;
+      }
+      cliente.eliminarVehiculo(placa.trim().toUpperCase());
+      ClienteDAO.guardarCliente(escritura, cliente);
+      return true;
+    } finally {
+      cerrojoArboles.writeLock().unlock();
+    }
+  }
+  
+  /**
+   * Inserta en el árbol y, si no era un duplicado, lo cuenta en las estadísticas.
+   * Requiere el cerrojo de escritura de los árboles (salvo durante la carga).
+   */
+  private void insertarCliente(Cliente cliente) {
+    int antes = arbolClientes.getTamano();
+    arbolClientes.insertar(cliente);
+    if (arbolClientes.getTamano() > antes) {
+      estadisticas.clienteRegistrado(cliente.getTipoUsuario());
+    }
+  }
+  
+  /**
+   * Busca el cliente y, si no existe, lo da de alta como temporal (REGULAR).
+   * Deja asociada la placa al cliente. Si ya la tenía basta el cerrojo de
+   * lectura; si no, todo se hace en un solo paso de escritura y el cliente
+   * queda pendiente de guardar.
+   */
+  private Cliente obtenerOCrearCliente(String dni, String placa) {
+    cerrojoArboles.readLock().lock();
+    try {
+      Cliente cliente = buscarClienteEnArbol(arbolClientes.getRaiz(), dni);
+      if (cliente != null && cliente.tieneVehiculo(placa)) {
+        return cliente;
+      }
+    } finally {
+      cerrojoArboles.readLock().unlock();
     }
     
-    int comparacion = dni.compareTo(nodo.getDato().getDni());
-    if (comparacion == 0) {
-      return nodo.getDato();
-    } else if (comparacion < 0) {
-      return buscarClienteEnArbol(nodo.getIzquierdo(), dni);
-    } else {
-      return buscarClienteEnArbol(nodo.getDerecho(), dni);
+    cerrojoArboles.writeLock().lock();
+    try {
+      Cliente cliente = buscarClienteEnArbol(arbolClientes.getRaiz(), dni);
+      if (cliente == null) {
+        cliente = new Cliente(dni, "Cliente", "Temporal", 
+                             "", "", "", "", TipoUsuario.REGULAR);
+        insertarCliente(cliente);
+      }
+      if (!cliente.tieneVehiculo(placa)) {
+        cliente.agregarVehiculo(placa);
+      }
+      ClienteDAO.guardarCliente(escritura, cliente);
+      return cliente;
+    } finally {
+      cerrojoArboles.writeLock().unlock();
     }
   }
   
@@ -225,17 +603,28 @@ public class GestorPrincipal {
    * Obtiene todos los clientes (recorrido inorden del árbol).
    */
   public ListaEnlazada<Cliente> obtenerTodosLosClientes() {
-    ListaEnlazada<Cliente> lista = new ListaEnlazada<>();
-    recorridoInordenClientes(arbolClientes.getRaiz(), lista);
-    return lista;
+    cerrojoArboles.readLock().lock();
+    try {
+      return arbolClientes.recorridoInorden();
+    } finally {
+      cerrojoArboles.readLock().unlock();
+    }
   }
   
-  private void recorridoInordenClientes(NodoArbol<Cliente> nodo, ListaEnlazada<Cliente> lista) {
-    if (nodo != null) {
-      recorridoInordenClientes(nodo.getIzquierdo(), lista);
-      lista.agregarAlFinal(nodo.getDato());
-      recorridoInordenClientes(nodo.getDerecho(), lista);
+  /**
+   * Clientes con DNI en el rango [desdeDni, hastaDni], en orden de DNI.
+   */
+  public ListaEnlazada<Cliente> buscarClientesPorRangoDni(String desdeDni, String hastaDni) {
+    ListaEnlazada<Cliente> resultado = new ListaEnlazada<>();
+    cerrojoArboles.readLock().lock();
+    try {
+      for (Cliente c : arbolClientes.rangoPorClave(desdeDni, hastaDni, Cliente::getDni)) {
+        resultado.agregarAlFinal(c);
+      }
+    } finally {
+      cerrojoArboles.readLock().unlock();
     }
+    return resultado;
   }
   
   // ============================================================================
@@ -251,81 +640,145 @@ public class GestorPrincipal {
       return false;
     }
     
-    // Verificar que no exista la placa
-    if (buscarVehiculo(vehiculo.getPlaca()) != null) {
-      return false;
-    }
-    
-    // Verificar que el cliente propietario exista
-    Cliente propietario = buscarCliente(vehiculo.getPropietario());
-    if (propietario == null) {
-      return false; // No se puede registrar vehículo sin cliente
+    Cliente propietario;
+    cerrojoArboles.writeLock().lock();
+    try {
+      // Verificar que no exista la placa
+      if (buscarVehiculoEnArbol(arbolVehiculos.getRaiz(), vehiculo.getPlaca().toUpperCase()) != null) {
+        return false;
+      }
+      
+      // Verificar que el cliente propietario exista
+      propietario = buscarClienteEnArbol(arbolClientes.getRaiz(), vehiculo.getPropietario());
+      if (propietario == null) {
+        return false; // No se puede registrar vehículo sin cliente
+      }
+      
+      insertarVehiculo(vehiculo);
+      propietario.agregarVehiculo(vehiculo.getPlaca());
+      
+      // Guardar vehículo y cliente en archivo TXT
+      VehiculoDAO.guardarVehiculo(escritura, vehiculo);
+      ClienteDAO.guardarCliente(escritura, propietario);
+    } finally {
+      cerrojoArboles.writeLock().unlock();
     }
     
+    return true;
+  }
+  
+  /**
+   * Inserta en el árbol y, si no era un duplicado, lo cuenta en las estadísticas.
+   * Requiere el cerrojo de escritura de los árboles (salvo durante la carga).
+   */
+  private void insertarVehiculo(Vehiculo vehiculo) {
+    int antes = arbolVehiculos.getTamano();
     arbolVehiculos.insertar(vehiculo);
-    propietario.agregarVehiculo(vehiculo.getPlaca());
-    
-    // Guardar vehículo en archivo TXT
-    VehiculoDAO.guardarVehiculo(vehiculo);
-    
-    // Actualizar cliente en archivo TXT
-    ClienteDAO.actualizarCliente(propietario);
+    if (arbolVehiculos.getTamano() > antes) {
+      estadisticas.vehiculoRegistrado(vehiculo.getTipo());
+    }
+  }
+  
+  /**
+   * Busca el vehículo y, si no existe, lo registra como temporal (y queda
+   * pendiente de guardar), en un solo paso de escritura. Un vehículo ya
+   * registrado se encuentra con el cerrojo de lectura.
+   */
+  private Vehiculo obtenerOCrearVehiculo(String placa, TipoVehiculo tipo, String dniPropietario) {
+    cerrojoArboles.readLock().lock();
+    try {
+      Vehiculo vehiculo = buscarVehiculoEnArbol(arbolVehiculos.getRaiz(), placa);
+      if (vehiculo != null) {
+        return vehiculo;
+      }
+    } finally {
+      cerrojoArboles.readLock().unlock();
+    }
     
-    return true;
+    cerrojoArboles.writeLock().lock();
+    try {
+      Vehiculo vehiculo = buscarVehiculoEnArbol(arbolVehiculos.getRaiz(), placa);
+      if (vehiculo == null) {
+        vehiculo = new Vehiculo(placa, tipo, dniPropietario, LocalDateTime.now());
+        insertarVehiculo(vehiculo);
+        VehiculoDAO.guardarVehiculo(escritura, vehiculo);
+      }
+      return vehiculo;
+    } finally {
+      cerrojoArboles.writeLock().unlock();
+    }
   }
   
   /**
    * Busca un vehículo por placa usando el árbol binario (O(log n)).
    */
   public Vehiculo buscarVehiculo(String placa) {
-    return buscarVehiculoEnArbol(arbolVehiculos.getRaiz(), placa);
+    cerrojoArboles.readLock().lock();
+    try {
+      return buscarVehiculoEnArbol(arbolVehiculos.getRaiz(), placa.toUpperCase());
+    } finally {
+      cerrojoArboles.readLock().unlock();
+    }
   }
   
   private Vehiculo buscarVehiculoEnArbol(NodoArbol<Vehiculo> nodo, String placa) {
-    if (nodo == null) {
-      return null;
-    }
-    
-    int comparacion = placa.toUpperCase().compareTo(nodo.getDato().getPlaca());
-    if (comparacion == 0) {
-      return nodo.getDato();
-    } else if (comparacion < 0) {
-      return buscarVehiculoEnArbol(nodo.getIzquierdo(), placa);
-    } else {
-      return buscarVehiculoEnArbol(nodo.getDerecho(), placa);
+    // Descenso iterativo; la placa llega ya normalizada a mayúsculas
+    while (nodo != null) {
+      int comparacion = placa.compareTo(nodo.getDato().getPlaca());
+      if (comparacion == 0) {
+        return nodo.getDato();
+      }
+      nodo = comparacion < 0 ? nodo.getIzquierdo() : nodo.getDerecho();
     }
+    return null;
   }
   
   /**
    * Obtiene todos los vehículos (recorrido inorden del árbol).
    */
   public ListaEnlazada<Vehiculo> obtenerTodosLosVehiculos() {
-    ListaEnlazada<Vehiculo> lista = new ListaEnlazada<>();
-    recorridoInordenVehiculos(arbolVehiculos.getRaiz(), lista);
-    return lista;
+    cerrojoArboles.readLock().lock();
+    try {
+      return arbolVehiculos.recorridoInorden();
+    } finally {
+      cerrojoArboles.readLock().unlock();
+    }
   }
   
-  private void recorridoInordenVehiculos(NodoArbol<Vehiculo> nodo, ListaEnlazada<Vehiculo> lista) {
-    if (nodo != null) {
-      recorridoInordenVehiculos(nodo.getIzquierdo(), lista);
-      lista.agregarAlFinal(nodo.getDato());
-      recorridoInordenVehiculos(nodo.getDerecho(), lista);
+  /**
+   * Vehículos cuya placa empieza por el texto ingresado (búsqueda parcial).
+   * Recorre solo el subárbol de coincidencias, en orden de placa.
+   */
+  public ListaEnlazada<Vehiculo> buscarVehiculosPorPrefijoPlaca(String prefijo) {
+    ListaEnlazada<Vehiculo> resultado = new ListaEnlazada<>();
+    cerrojoArboles.readLock().lock();
+    try {
+      for (Vehiculo v : arbolVehiculos.prefijo(prefijo.toUpperCase(), Vehiculo::getPlaca)) {
+        resultado.agregarAlFinal(v);
+      }
+    } finally {
+      cerrojoArboles.readLock().unlock();
     }
+    return resultado;
   }
   
   /**
    * Busca todos los vehículos de un propietario específico.
+   * Filtra durante el recorrido, sin copiar antes todos los vehículos.
    */
   public ListaEnlazada<Vehiculo> buscarVehiculosPorPropietario(String dniPropietario) {
     ListaEnlazada<Vehiculo> resultado = new ListaEnlazada<>();
-    ListaEnlazada<Vehiculo> todos = obtenerTodosLosVehiculos();
     
-    for (int i = 0; i < todos.getTamano(); i++) {
-      Vehiculo v = todos.get(i);
-      if (v != null && v.getPropietario() != null && 
-          v.getPropietario().equals(dniPropietario)) {
-        resultado.agregarAlFinal(v);
-      }
+    cerrojoArboles.readLock().lock();
+    try {
+      arbolVehiculos.recorrerInorden(v -> {
+        if (v != null && v.getPropietario() != null && 
+            v.getPropietario().equals(dniPropietario)) {
+          resultado.agregarAlFinal(v);
+        }
+      });
+    } finally {
+      cerrojoArboles.readLock().unlock();
     }
     
     return resultado;
@@ -345,67 +798,176 @@ public class GestorPrincipal {
    * 5. Si no hay plaza, agregar a cola de espera
    */
   public Ticket registrarIngreso(String placa, TipoVehiculo tipo, String dniPropietario) {
-    placa = placa.toUpperCase();
+    placa = normalizarPlaca(placa);
     
     // 1. Buscar o registrar vehículo
-    Vehiculo vehiculo = buscarVehiculo(placa);
-    if (vehiculo == null) {
-      // Vehículo no registrado, crear uno temporal
-      vehiculo = new Vehiculo(placa, tipo, dniPropietario, LocalDateTime.now());
-      arbolVehiculos.insertar(vehiculo);
-    }
+    Vehiculo vehiculo = obtenerOCrearVehiculo(placa, tipo, dniPropietario);
     
-    // 2. Buscar o registrar cliente
-    Cliente cliente = buscarCliente(dniPropietario);
-    if (cliente == null) {
-      // Cliente no registrado, crear uno temporal (REGULAR)
-      cliente = new Cliente(dniPropietario, "Cliente", "Temporal", 
-                           "", "", "", "", TipoUsuario.REGULAR);
-      arbolClientes.insertar(cliente);
-    }
+    // 2. Buscar o registrar cliente (y asociarle el vehículo)
+    Cliente cliente = obtenerOCrearCliente(dniPropietario, placa);
     
-    // Asociar vehículo al cliente
-    if (!cliente.tieneVehiculo(placa)) {
-      cliente.agregarVehiculo(placa);
+    ReentrantLock cerrojo = cerrojoDePlaca(placa);
+    cerrojo.lock();
+    try {
+      // 3. Verificar que el vehículo no esté ya dentro
+      if (buscarTicketActivo(placa) != null) {
+        return null; // Ya tiene un ticket activo
+      }
+      
+      // 4. Usar su reserva vigente o tomar una plaza libre no reservada.
+      // Elegirla y marcarla OCUPADA es un solo paso: otra puerta no puede recibirla.
+      LocalDateTime ahora = LocalDateTime.now();
+      Plaza plazaAsignada = null;
+      Reserva reservaUsada = usarReservaVigente(placa, ahora);
+      if (reservaUsada != null) {
+        plazaAsignada = reservaUsada.getPlaza();
+        ReservaDAO.eliminarReserva(carpetaDatos, reservaUsada.getCodigo());
+      } else {
+        boolean encolada = false;
+        while (plazaAsignada == null && !encolada) {
+          long liberaciones = ocupacion.getLiberaciones();
+          plazaAsignada = tomarPlazaLibre(tipo, ahora, placa);
+          if (plazaAsignada == null) {
+            // NO HAY PLAZA - Agregar a la lista de espera (abonados con prioridad)
+            SolicitudEspera solicitud = new SolicitudEspera(placa, tipo, dniPropietario, ahora);
+            encolada = encolarSiNoSeLibero(solicitud, cliente.getTipoUsuario() == TipoUsuario.ABONADO,
+                                           liberaciones);
+          }
+        }
+      }
+      if (plazaAsignada == null) {
+        return null;
+      }
+      
+      // HAY PLAZA DISPONIBLE (vehículo y cliente nuevos ya quedaron pendientes de guardar)
+      return ocuparPlaza(plazaAsignada, vehiculo);
+    } finally {
+      cerrojo.unlock();
+    }
+  }
+  
+  /**
+   * Encola la solicitud si desde la búsqueda fallida no se liberó ninguna
+   * plaza. Las salidas liberan la plaza con cerrojoRegistro tomado (ver
+   * liberarOApartar), así que o bien la salida encuentra esta solicitud en la
+   * cola, o bien esta puerta ve la liberación y vuelve a buscar: nadie queda
+   * esperando con una plaza libre que nadie le entrega.
+   * @param liberacionesVistas Contador de liberaciones leído antes de buscar.
+   * @return false si hay que volver a buscar una plaza.
+   */
+  private boolean encolarSiNoSeLibero(SolicitudEspera solicitud, boolean abonado, long liberacionesVistas) {
+    cerrojoRegistro.lock();
+    try {
+      if (ocupacion.getLiberaciones() != liberacionesVistas) {
+        return false;
+      }
+      if (colaEspera.encolar(solicitud, abonado)) {
+        estadisticas.solicitudEncolada();
+      }
+      return true;
+    } finally {
+      cerrojoRegistro.unlock();
     }
+  }
+  
+  /**
+   * Ocupa la plaza con el vehículo y abre su ticket en todas las estructuras
+   * (lista de activos, índice por placa, historial, estadísticas y archivo).
+   * La plaza ya debe estar marcada OCUPADA por quien la eligió, y el llamador
+   * debe tener el cerrojo de la placa.
+   */
+  private Ticket ocuparPlaza(Plaza plaza, Vehiculo vehiculo) {
+    // Crear ticket
+    LocalDateTime ahora = LocalDateTime.now();
+    String codigoTicket = generarCodigoTicket();
+    Ticket ticket = new Ticket(codigoTicket, vehiculo, plaza, ahora, null, 0.0, false);
     
-    // 3. Verificar que el vehículo no esté ya dentro
-    if (buscarTicketActivo(placa) != null) {
-      return null; // Ya tiene un ticket activo
+    // Actualizar plaza
+    ReentrantLock cerrojoPiso = ocupacion.cerrojoDe(plaza);
+    cerrojoPiso.lock();
+    try {
+      plaza.setVehiculoActual(vehiculo);
+      plaza.setHoraOcupacion(ahora);
+      plaza.setTicketActual(ticket);
+    } finally {
+      cerrojoPiso.unlock();
     }
     
-    // 4. Buscar plaza disponible
-    Plaza plazaAsignada = buscarPlazaLibre(tipo);
+    // Registrar en estructuras
+    activosPorPlaca.put(normalizarPlaca(vehiculo.getPlaca()), ticket);
+    cerrojoRegistro.lock();
+    try {
+      agregarActivo(ticket);
+      estadisticas.ticketAbierto();
+      apilarEnHistorial(ticket);
+    } finally {
+      cerrojoRegistro.unlock();
+    }
     
-    if (plazaAsignada != null) {
-      // HAY PLAZA DISPONIBLE
-      // Actualizar plaza
-      plazaAsignada.setVehiculoActual(vehiculo);
-      plazaAsignada.setEstado(EstadoPlaza.OCUPADA);
-      plazaAsignada.setHoraOcupacion(LocalDateTime.now());
-      
-      // Crear ticket
-      String codigoTicket = generarCodigoTicket();
-      Ticket ticket = new Ticket(codigoTicket, vehiculo, plazaAsignada, 
-                                 LocalDateTime.now(), null, 0.0, false);
-      
-      // Registrar en estructuras
-      ticketsActivos.agregarAlFinal(ticket);
-      historialTickets.apilar(ticket);
-      
-      // Guardar en archivo TXT
-      TicketDAO.guardarTicket(ticket);
-      
-      // Guardar vehículo y cliente si son nuevos
-      VehiculoDAO.guardarVehiculo(vehiculo);
-      ClienteDAO.guardarCliente(cliente);
+    // Guardar en archivo TXT
+    TicketDAO.guardarTicket(escritura, ticket);
+    return ticket;
+  }
+  
+  /**
+   * Libera la plaza que acaba de dejar un vehículo o, si la solicitud
+   * compatible más antigua (abonados primero) está esperando, la aparta para
+   * ella en el mismo paso: la plaza sigue OCUPADA y ninguna otra puerta la ve
+   * libre. Una plaza reservada durante la estadía estimada queda libre para
+   * su reserva. Requiere el cerrojo del piso de la plaza.
+   * @return La solicitud a la que se apartó la plaza, o null si quedó libre.
+   */
+  private SolicitudEspera liberarOApartar(Plaza plaza) {
+    SolicitudEspera siguiente = null;
+    boolean despachable = plaza.getIndice() >= 0; // Una plaza suelta no es del estacionamiento
+    if (despachable && cantidadReservas > 0) {
+      LocalDateTime ahora = LocalDateTime.now();
+      despachable = !estaReservada(plaza.getIndice(), ahora, ahora.plus(duracionEstimada));
+    }
+    cerrojoRegistro.lock();
+    try {
+      if (despachable) {
+        siguiente = colaEspera.despacharPara(plaza);
+        if (siguiente != null) {
+          estadisticas.solicitudAtendida();
+        }
+      }
+      // Liberar con cerrojoRegistro tomado: ver encolarSiNoSeLibero
+      plaza.setEstado(siguiente != null ? EstadoPlaza.OCUPADA : EstadoPlaza.LIBRE);
+    } finally {
+      cerrojoRegistro.unlock();
+    }
+    return siguiente;
+  }
+  
+  /**
+   * Abre el ticket de la solicitud en la plaza que se le apartó. Si el
+   * vehículo ya ingresó por su cuenta mientras esperaba, la plaza pasa a la
+   * siguiente solicitud compatible o queda libre.
+   * No debe llamarse con ningún cerrojo del gestor tomado.
+   */
+  private void atenderSolicitud(Plaza plaza, SolicitudEspera solicitud) {
+    while (solicitud != null) {
+      ReentrantLock cerrojo = cerrojoDePlaca(solicitud.getPlaca());
+      cerrojo.lock();
+      try {
+        if (buscarTicketActivo(solicitud.getPlaca()) == null) {
+          Vehiculo vehiculo = obtenerOCrearVehiculo(solicitud.getPlaca(), solicitud.getTipo(),
+                                                    solicitud.getDniPropietario());
+          ocuparPlaza(plaza, vehiculo);
+          return;
+        }
+      } finally {
+        cerrojo.unlock();
+      }
       
-      return ticket;
-    } else {
-      // NO HAY PLAZA - Agregar a cola de espera
-      SolicitudEspera solicitud = new SolicitudEspera(placa, tipo, LocalDateTime.now());
-      colaEspera.encolar(solicitud);
-      return null;
+      ReentrantLock cerrojoPiso = ocupacion.cerrojoDe(plaza);
+      cerrojoPiso.lock();
+      try {
+        solicitud = liberarOApartar(plaza);
+      } finally {
+        cerrojoPiso.unlock();
+      }
     }
   }
   
@@ -414,68 +976,157 @@ public class GestorPrincipal {
    * Calcula el monto según tiempo, tipo de vehículo y descuentos.
    */
   public Ticket registrarSalida(String placa) {
-    placa = placa.toUpperCase();
-    
-    // 1. Buscar ticket activo
-    Ticket ticket = buscarTicketActivo(placa);
-    if (ticket == null) {
-      return null;
-    }
+    placa = normalizarPlaca(placa);
     
-    // 2. Registrar salida
-    ticket.setHoraSalida(LocalDateTime.now());
-    
-    // 3. Calcular monto
-    double monto = calcularMonto(ticket);
-    ticket.setMontoAPagar(monto);
-    
-    // 4. Cambiar estado del ticket a FINALIZADO
-    ticket.setEstado(EstadoTicket.FINALIZADO);
-    
-    // 5. Actualizar ticket en archivo TXT
-    TicketDAO.actualizarTicket(ticket);
-    
-    // 6. Liberar plaza
-    Plaza plaza = ticket.getPlaza();
-    if (plaza != null) {
-      plaza.setEstado(EstadoPlaza.LIBRE);
-      plaza.setVehiculoActual(null);
-      plaza.setHoraOcupacion(null);
+    Ticket ticket;
+    Plaza plaza;
+    SolicitudEspera apartada = null;
+    ReentrantLock cerrojo = cerrojoDePlaca(placa);
+    cerrojo.lock();
+    try {
+      // 1. Buscar ticket activo
+      ticket = buscarTicketActivo(placa);
+      if (ticket == null) {
+        return null;
+      }
+      
+      // 2. Registrar salida
+      ticket.setHoraSalida(LocalDateTime.now());
+      
+      // 3. Calcular monto
+      double monto = calcularMonto(ticket);
+      
+      // 4. Cambiar estado del ticket a FINALIZADO
+      ticket.setEstado(EstadoTicket.FINALIZADO);
+      activosPorPlaca.remove(placa);
+      cerrojoRegistro.lock();
+      try {
+        // El monto cambia bajo el mismo cerrojo que registrarPago: si el
+        // ticket ya estaba pagado, las sumas de lo cobrado reciben la diferencia
+        double anterior = ticket.getMontoAPagar();
+        ticket.setMontoAPagar(monto);
+        if (ticket.isPagado()) {
+          estadisticas.pagoRegistrado(monto - anterior);
+          if (codigosEnHistorial.contiene(ticket.getCodigo())) {
+            ingresoHistorial += monto - anterior;
+          }
+        }
+        quitarActivo(ticket);
+        ticketsFinalizados.agregarAlFinal(ticket);
+        estadisticas.ticketFinalizado(monto, true);
+      } finally {
+        cerrojoRegistro.unlock();
+      }
+      
+      // 5. Actualizar ticket en archivo TXT
+      TicketDAO.guardarTicket(escritura, ticket);
+      
+      // 6. Liberar la plaza o apartarla para el siguiente compatible en espera
+      plaza = ticket.getPlaza();
+      if (plaza != null) {
+        ReentrantLock cerrojoPiso = ocupacion.cerrojoDe(plaza);
+        cerrojoPiso.lock();
+        try {
+          plaza.setVehiculoActual(null);
+          plaza.setHoraOcupacion(null);
+          plaza.setTicketActual(null);
+          apartada = liberarOApartar(plaza);
+        } finally {
+          cerrojoPiso.unlock();
+        }
+      }
+    } finally {
+      cerrojo.unlock();
     }
     
-    // 7. Procesar siguiente en cola de espera (si hay)
-    if (!colaEspera.estaVacia()) {
-      SolicitudEspera siguiente = colaEspera.desencolar();
-      // Aquí se podría notificar al siguiente en espera
-      System.out.println("Plaza liberada. Siguiente en espera: " + siguiente.getPlaca());
+    // 7. Abrir el ticket de la solicitud que recibió la plaza (si hay)
+    if (apartada != null) {
+      atenderSolicitud(plaza, apartada);
     }
     
     return ticket;
   }
   
   /**
-   * Registra el pago de un ticket.
+   * Registra el pago de un ticket que está en el historial o todavía ACTIVO.
+   * Lo ubica por código en la tabla hash (O(1)) en lugar de vaciar el historial.
+   * <p>
+   * Toma el cerrojo de la placa del ticket, así que no se cruza con su salida,
+   * y deja el ticket pagado pendiente de guardar en el archivo.
+   * @return true si el ticket quedó pagado; false si no existe o no se puede pagar.
    */
   public boolean registrarPago(String codigoTicket) {
-    // Buscar en historial
-    Pila<Ticket> temp = new Pila<>();
-    boolean encontrado = false;
+    Ticket t = indiceTickets.get(codigoTicket);
+    if (t == null) {
+      return false;
+    }
     
-    while (!historialTickets.estaVacia()) {
-      Ticket t = historialTickets.desapilar();
-      if (t.getCodigo().equals(codigoTicket)) {
+    String placa = normalizarPlaca(t.getVehiculo().getPlaca());
+    ReentrantLock cerrojo = cerrojoDePlaca(placa);
+    cerrojo.lock();
+    try {
+      cerrojoRegistro.lock();
+      try {
+        boolean enHistorial = codigosEnHistorial.contiene(codigoTicket);
+        boolean activo = t.getEstado() == EstadoTicket.ACTIVO && activosPorPlaca.get(placa) == t;
+        if (!enHistorial && !activo) {
+          return false;
+        }
+        if (t.isPagado()) {
+          return true;
+        }
+        estadisticas.pagoRegistrado(t.getMontoAPagar());
+        if (enHistorial) {
+          ingresoHistorial += t.getMontoAPagar();
+        }
         t.setPagado(true);
-        encontrado = true;
+      } finally {
+        cerrojoRegistro.unlock();
       }
-      temp.apilar(t);
+      TicketDAO.guardarTicket(escritura, t);
+    } finally {
+      cerrojo.unlock();
     }
-    
-    // Restaurar historial
-    while (!temp.estaVacia()) {
-      historialTickets.apilar(temp.desapilar());
+    return true;
+  }
+  
+  /**
+   * Busca el ticket ACTIVO de un vehículo por su placa en O(1).
+   * @return El ticket, o null si el vehículo no está en el estacionamiento.
+   */
+  public Ticket buscarTicketActivoPorPlaca(String placa) {
+    if (placa == null) {
+      return null;
+    }
+    return buscarTicketActivo(placa);
+  }
+  
+  /**
+   * Busca un ticket (activo o finalizado) por su código en O(1).
+   */
+  public Ticket buscarTicketPorCodigo(String codigoTicket) {
+    return indiceTickets.get(codigoTicket);
+  }
+  
+  /**
+   * Deshace la última operación registrada en el historial (LIFO).
+   * @return El ticket retirado del historial, o null si está vacío.
+   */
+  public Ticket deshacerUltimaOperacion() {
+    cerrojoRegistro.lock();
+    try {
+      if (historialTickets.estaVacia()) {
+        return null;
+      }
+      Ticket t = historialTickets.desapilar();
+      codigosEnHistorial.eliminar(t.getCodigo());
+      if (t.isPagado()) {
+        ingresoHistorial -= t.getMontoAPagar();
+      }
+      return t;
+    } finally {
+      cerrojoRegistro.unlock();
     }
-    
-    return encontrado;
   }
   
   // ============================================================================
@@ -483,16 +1134,26 @@ public class GestorPrincipal {
   // ============================================================================
   
   /**
-   * Busca un ticket activo por placa.
+   * Busca un ticket activo por placa en el índice de activos (O(1)), sin
+   * recorrer el historial de tickets.
    */
   private Ticket buscarTicketActivo(String placa) {
-    for (int i = 0; i < ticketsActivos.getTamano(); i++) {
-      Ticket t = ticketsActivos.get(i);
-      if (t.getVehiculo().getPlaca().equalsIgnoreCase(placa)) {
-        return t;
-      }
-    }
-    return null;
+    return activosPorPlaca.get(normalizarPlaca(placa));
+  }
+  
+  /**
+   * Cerrojo de la franja a la que pertenece una placa ya normalizada.
+   */
+  private ReentrantLock cerrojoDePlaca(String placa) {
+    return cerrojosPlaca[placa.hashCode() & (FRANJAS_PLACA - 1)];
+  }
+  
+  /**
+   * Forma canónica de una placa para usarla como clave: sin espacios en los
+   * extremos y en mayúsculas.
+   */
+  private static String normalizarPlaca(String placa) {
+    return placa.trim().toUpperCase();
   }
   
   
@@ -546,11 +1207,241 @@ public class GestorPrincipal {
     }
   }
   
+  /**
+   * Apila un ticket en el historial manteniendo sincronizado el índice de códigos.
+   * Requiere cerrojoRegistro (salvo durante la carga).
+   */
+  private void apilarEnHistorial(Ticket ticket) {
+    historialTickets.apilar(ticket);
+    codigosEnHistorial.agregar(ticket.getCodigo());
+    indiceTickets.put(ticket.getCodigo(), ticket);
+    if (ticket.isPagado()) {
+      ingresoHistorial += ticket.getMontoAPagar();
+    }
+  }
+  
+  /**
+   * Agrega un ticket a la lista de activos recordando su posición.
+   * Requiere cerrojoRegistro (salvo durante la carga).
+   */
+  private void agregarActivo(Ticket ticket) {
+    posicionActivos.poner(ticket.getCodigo(), ticketsActivos.getTamano());
+    ticketsActivos.agregarAlFinal(ticket);
+  }
+  
+  /**
+   * Quita un ticket de la lista de activos en O(1): el último activo pasa a
+   * ocupar su posición. Requiere cerrojoRegistro.
+   */
+  private void quitarActivo(Ticket ticket) {
+    Integer posicion = posicionActivos.eliminar(ticket.getCodigo());
+    if (posicion == null) {
+      return;
+    }
+    ticketsActivos.eliminarConUltimo(posicion);
+    if (posicion < ticketsActivos.getTamano()) {
+      posicionActivos.poner(ticketsActivos.get(posicion).getCodigo(), posicion);
+    }
+  }
+  
   /**
    * Genera un código único para el ticket.
    */
   private String generarCodigoTicket() {
-    return "T-" + String.format("%04d", contadorTickets++);
+    return "T-" + String.format("%04d", contadorTickets.getAndIncrement());
+  }
+  
+  // ============================================================================
+  // GESTIÓN DE RESERVAS
+  // ============================================================================
+  
+  /**
+   * Reserva una plaza compatible con el tipo de vehículo para la ventana
+   * [inicio, fin). Se elige, con la política de asignación vigente, entre las
+   * plazas libres en este momento que no tengan otra reserva solapada. La
+   * reserva se agrega con el cerrojo del piso de la plaza tomado, así que dos
+   * reservas simultáneas no eligen la misma plaza.
+   * @return La reserva creada, o null si no hay plaza disponible.
+   * @throws IllegalArgumentException si la ventana no es válida o ya terminó.
+   */
+  public Reserva reservarPlaza(String placa, TipoVehiculo tipo, LocalDateTime inicio, LocalDateTime fin) {
+    if (inicio == null || fin == null || !fin.isAfter(inicio)) {
+      throw new IllegalArgumentException("El fin de la reserva debe ser posterior a su inicio");
+    }
+    if (!fin.isAfter(LocalDateTime.now())) {
+      throw new IllegalArgumentException("La ventana de la reserva ya terminó");
+    }
+    placa = normalizarPlaca(placa);
+    depurarReservasVencidas();
+    
+    String placaReserva = placa;
+    Reserva reserva = ocupacion.tomarLibre(tipo, indice -> estaReservada(indice, inicio, fin), placa.hashCode(),
+        plaza -> {
+          Reserva nueva = new Reserva("R-" + String.format("%04d", contadorReservas.getAndIncrement()),
+                                      placaReserva, plaza, inicio, fin);
+          cerrojoReservas.writeLock().lock();
+          try {
+            reservas.agregar(nueva);
+            cantidadReservas = reservas.getTamano();
+          } finally {
+            cerrojoReservas.writeLock().unlock();
+          }
+          return nueva;
+        });
+    if (reserva == null) {
+      return null;
+    }
+    ReservaDAO.guardarReserva(carpetaDatos, reserva);
+    return reserva;
+  }
+  
+  /**
+   * Cancela una reserva pendiente.
+   * @return true si existía.
+   */
+  public boolean cancelarReserva(String codigo) {
+    cerrojoReservas.writeLock().lock();
+    try {
+      if (reservas.eliminar(codigo) == null) {
+        return false;
+      }
+      cantidadReservas = reservas.getTamano();
+    } finally {
+      cerrojoReservas.writeLock().unlock();
+    }
+    ReservaDAO.eliminarReserva(carpetaDatos, codigo);
+    return true;
+  }
+  
+  public Reserva buscarReserva(String codigo) {
+    cerrojoReservas.readLock().lock();
+    try {
+      return reservas.buscar(codigo);
+    } finally {
+      cerrojoReservas.readLock().unlock();
+    }
+  }
+  
+  /**
+   * Reservas que se solapan con la ventana [desde, hasta), por hora de inicio.
+   */
+  public ListaArreglo<Reserva> obtenerReservasEntre(LocalDateTime desde, LocalDateTime hasta) {
+    cerrojoReservas.readLock().lock();
+    try {
+      return reservas.reservasEntre(desde, hasta);
+    } finally {
+      cerrojoReservas.readLock().unlock();
+    }
+  }
+  
+  /**
+   * Quita de la agenda y del archivo las reservas cuya ventana ya terminó.
+   * @return Cantidad de reservas quitadas.
+   */
+  public int depurarReservasVencidas() {
+    ListaArreglo<Reserva> vencidas;
+    cerrojoReservas.writeLock().lock();
+    try {
+      vencidas = reservas.vencidas(LocalDateTime.now());
+      for (Reserva reserva : vencidas) {
+        reservas.eliminar(reserva.getCodigo());
+      }
+      cantidadReservas = reservas.getTamano();
+    } finally {
+      cerrojoReservas.writeLock().unlock();
+    }
+    for (Reserva reserva : vencidas) {
+      ReservaDAO.eliminarReserva(carpetaDatos, reserva.getCodigo());
+    }
+    return vencidas.getTamano();
+  }
+  
+  /**
+   * Duración de estadía que se supone al ingresar: una plaza con una reserva
+   * que empieza dentro de esa ventana no se entrega a otro vehículo.
+   */
+  public void setDuracionEstimadaEstadia(Duration duracion) {
+    if (duracion == null || duracion.isNegative() || duracion.isZero()) {
+      throw new IllegalArgumentException("La duración estimada debe ser positiva");
+    }
+    this.duracionEstimada = duracion;
+  }
+  
+  /**
+   * Si la placa tiene una reserva vigente y su plaza está libre, la quita de
+   * la agenda, marca la plaza OCUPADA y la devuelve (el llamador la borra del
+   * archivo). Todo con el cerrojo del piso de la plaza tomado.
+   */
+  private Reserva usarReservaVigente(String placa, LocalDateTime ahora) {
+    if (cantidadReservas == 0) {
+      return null;
+    }
+    Reserva reserva;
+    cerrojoReservas.readLock().lock();
+    try {
+      reserva = reservas.reservaVigente(placa, ahora);
+    } finally {
+      cerrojoReservas.readLock().unlock();
+    }
+    if (reserva == null) {
+      return null;
+    }
+    
+    Plaza plaza = reserva.getPlaza();
+    ReentrantLock cerrojoPiso = ocupacion.cerrojoDe(plaza);
+    cerrojoPiso.lock();
+    try {
+      if (plaza.getEstado() != EstadoPlaza.LIBRE) {
+        return null;
+      }
+      cerrojoReservas.writeLock().lock();
+      try {
+        if (reservas.eliminar(reserva.getCodigo()) == null) {
+          return null; // Cancelada mientras tanto
+        }
+        cantidadReservas = reservas.getTamano();
+      } finally {
+        cerrojoReservas.writeLock().unlock();
+      }
+      plaza.setEstado(EstadoPlaza.OCUPADA);
+      return reserva;
+    } finally {
+      cerrojoPiso.unlock();
+    }
+  }
+  
+  /**
+   * Número de un código con prefijo (ej: "R-1234" → 1234), o -1 si no lo tiene.
+   */
+  private static int numeroDeCodigo(String codigo, String prefijo) {
+    if (codigo == null || !codigo.startsWith(prefijo)) {
+      return -1;
+    }
+    try {
+      return Integer.parseInt(codigo.substring(prefijo.length()));
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+  
+  // ============================================================================
+  // PERSISTENCIA
+  // ============================================================================
+  
+  /**
+   * Espera a que los tickets, vehículos y clientes guardados hasta ahora
+   * estén escritos en sus archivos.
+   */
+  public void guardarPendientes() {
+    escritura.vaciar();
+  }
+  
+  /**
+   * Escribe lo pendiente y detiene el hilo de escritura. Después de cerrar,
+   * las operaciones que guardan datos lanzan IllegalStateException.
+   */
+  public void cerrar() {
+    escritura.cerrar();
   }
   
   // ============================================================================
@@ -558,53 +1449,136 @@ public class GestorPrincipal {
   // ============================================================================
   
   /**
-   * Obtiene TODOS los tickets (historial completo incluyendo activos y finalizados).
+   * Obtiene TODOS los tickets (historial completo incluyendo activos y finalizados):
+   * primero los finalizados en orden de cierre y luego los que siguen en curso.
    */
   public ListaEnlazada<Ticket> getTodosLosTickets() {
-    return ticketsActivos;
+    ListaEnlazada<Ticket> todos = new ListaEnlazada<>();
+    cerrojoRegistro.lock();
+    try {
+      for (Ticket ticket : ticketsFinalizados) {
+        todos.agregarAlFinal(ticket);
+      }
+      for (Ticket ticket : ticketsActivos) {
+        todos.agregarAlFinal(ticket);
+      }
+    } finally {
+      cerrojoRegistro.unlock();
+    }
+    return todos;
   }
   
   /**
    * Obtiene solo los tickets ACTIVOS (vehículos actualmente en estacionamiento).
+   * Copia la lista de estadías en curso: O(ocupación), sin recorrer el historial.
+   * El orden no es el de ingreso: cada salida mueve el último activo a su lugar.
    */
   public ListaEnlazada<Ticket> getTicketsActivos() {
     ListaEnlazada<Ticket> soloActivos = new ListaEnlazada<>();
-    for (int i = 0; i < ticketsActivos.getTamano(); i++) {
-      Ticket ticket = ticketsActivos.get(i);
-      if (ticket.getEstado() == EstadoTicket.ACTIVO) {
+    cerrojoRegistro.lock();
+    try {
+      for (Ticket ticket : ticketsActivos) {
         soloActivos.agregarAlFinal(ticket);
       }
+    } finally {
+      cerrojoRegistro.unlock();
     }
     return soloActivos;
   }
   
+  /**
+   * Cantidad de tickets finalizados, en O(1).
+   */
+  public int getCantidadTicketsFinalizados() {
+    cerrojoRegistro.lock();
+    try {
+      return ticketsFinalizados.getTamano();
+    } finally {
+      cerrojoRegistro.unlock();
+    }
+  }
+  
+  /**
+   * Pila del historial, sin copiar: solo para uso desde un único hilo.
+   */
   public Pila<Ticket> getHistorialTickets() {
     return historialTickets;
   }
   
-  public int getCantidadVehiculosEnEstacionamiento() {
-    int count = 0;
-    for (int i = 0; i < ticketsActivos.getTamano(); i++) {
-      if (ticketsActivos.get(i).getEstado() == EstadoTicket.ACTIVO) {
-        count++;
-      }
+  /**
+   * Suma de los montos pagados de los tickets en el historial, mantenida en
+   * cada pago, en la salida de un ticket pagado por adelantado y al deshacer
+   * (O(1)).
+   */
+  public double getIngresoHistorial() {
+    cerrojoRegistro.lock();
+    try {
+      return ingresoHistorial;
+    } finally {
+      cerrojoRegistro.unlock();
     }
-    return count;
+  }
+  
+  public int getCantidadVehiculosEnEstacionamiento() {
+    return activosPorPlaca.size();
   }
   
   public int getCantidadEnEspera() {
-    return colaEspera.getTamano();
+    cerrojoRegistro.lock();
+    try {
+      return colaEspera.getTamano();
+    } finally {
+      cerrojoRegistro.unlock();
+    }
+  }
+  
+  /**
+   * Solicitudes que siguen esperando plaza (abonados primero).
+   */
+  public ListaEnlazada<SolicitudEspera> obtenerSolicitudesEnEspera() {
+    cerrojoRegistro.lock();
+    try {
+      return colaEspera.toLista();
+    } finally {
+      cerrojoRegistro.unlock();
+    }
+  }
+  
+  /**
+   * Percentil del tiempo de espera, en segundos, de las solicitudes ya atendidas.
+   * @param porcentaje Entre 0 y 100 (por ejemplo 50, 90 o 99).
+   */
+  public long getPercentilEsperaSegundos(double porcentaje) {
+    cerrojoRegistro.lock();
+    try {
+      return colaEspera.percentilEsperaSegundos(porcentaje);
+    } finally {
+      cerrojoRegistro.unlock();
+    }
+  }
+  
+  /**
+   * Contadores incrementales del sistema (lectura O(1)).
+   */
+  public EstadisticasSistema getEstadisticas() {
+    return estadisticas;
   }
   
   /**
-   * Obtiene estadísticas completas del sistema.
+   * Obtiene estadísticas completas del sistema desde los contadores incrementales.
    */
   public String obtenerEstadisticas() {
-    int totalClientes = contarNodos(arbolClientes.getRaiz());
-    int totalVehiculos = contarNodos(arbolVehiculos.getRaiz());
-    int vehiculosActivos = ticketsActivos.getTamano();
-    int vehiculosEnEspera = colaEspera.getTamano();
-    int totalTickets = historialTickets.getTamano();
+    int totalClientes = estadisticas.getTotalClientes();
+    int totalVehiculos = estadisticas.getTotalVehiculos();
+    int vehiculosActivos = estadisticas.getTicketsActivos();
+    int vehiculosEnEspera = estadisticas.getEnEspera();
+    int totalTickets;
+    cerrojoRegistro.lock();
+    try {
+      totalTickets = historialTickets.getTamano();
+    } finally {
+      cerrojoRegistro.unlock();
+    }
     
     return String.format(
       "═══════════════════════════════════════\n" +
@@ -618,11 +1592,4 @@ public class GestorPrincipal {
       totalClientes, totalVehiculos, vehiculosActivos, vehiculosEnEspera, totalTickets
     );
   }
-  
-  private <T> int contarNodos(NodoArbol<T> nodo) {
-    if (nodo == null) {
-      return 0;
-    }
-    return 1 + contarNodos(nodo.getIzquierdo()) + contarNodos(nodo.getDerecho());
-  }
 }
@@ -0,0 +1,236 @@
+package modelo.gestores;
+
+import modelo.entidades.AlmacenPlazas;
+import modelo.entidades.EstadoPlaza;
+import modelo.entidades.ObservadorPlaza;
+import modelo.entidades.Plaza;
+import modelo.entidades.TipoVehiculo;
+import modelo.estructuras.MapaBits;
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Índice de ocupación de las plazas: un mapa de bits por cada EstadoPlaza,
+ * con un bit por plaza del AlmacenPlazas (la posición es el índice de la
+ * plaza en el almacén). El almacén avisa al índice de cada cambio de estado,
+ * así que los mapas nunca se desincronizan del estado real. Encontrar una plaza libre es buscar el primer bit activo del
+ * mapa LIBRE, unas pocas operaciones de 64 bits aunque haya miles de plazas.
+ * <p>
+ * Qué plaza libre se entrega a cada vehículo lo decide una PoliticaAsignacion
+ * intercambiable, a la que el índice avisa de cada plaza que entra o sale del
+ * estado LIBRE.
+ * <p>
+ * Un índice también puede cubrir solo una parte del almacén (por ejemplo, un
+ * piso; ver OcupacionPorPiso): entonces sus posiciones son locales a la parte
+ * y se traducen a índices del almacén al entregar cada plaza.
+ */
+public class IndiceOcupacion implements ObservadorPlaza {
+  
+  private final AlmacenPlazas almacen;        // Posición → plaza
+  private final int[] globales;               // Posición local → índice en el almacén (null = iguales)
+  private final int[] locales;                // Índice en el almacén → posición local (null = iguales)
+  private final MapaBits[] porEstado;         // Un mapa por EstadoPlaza (por ordinal)
+  private PoliticaAsignacion politica;        // Elige la plaza libre de cada ingreso
+  private final EstadisticasSistema estadisticas; // Contadores por piso y estado (puede ser null)
+  private int[] apartadas = new int[16];      // Plazas excluidas durante una elección
+  
+  public static IndiceOcupacion crear(AlmacenPlazas almacen) {
+    return crear(almacen, null);
+  }
+  
+  /**
+   * Indexa todas las plazas del almacén y registra el índice como su
+   * observador, una vez construido.
+   * @param almacen Plazas a indexar.
+   * @param estadisticas Contadores a los que reenviar cada cambio de estado.
+   */
+  public static IndiceOcupacion crear(AlmacenPlazas almacen, EstadisticasSistema estadisticas) {
+    IndiceOcupacion indice = new IndiceOcupacion(almacen, estadisticas);
+    almacen.setObservador(indice);
+    return indice;
+  }
+  
+  private IndiceOcupacion(AlmacenPlazas almacen, EstadisticasSistema estadisticas) {
+    this(almacen, null, null, estadisticas);
+  }
+  
+  /**
+   * Índice de una parte del almacén. No se registra como observador: quien
+   * lo crea le reenvía los cambios de las plazas de la parte.
+   * @param globales Índice en el almacén de cada posición local.
+   * @param locales Posición local de cada índice del almacén (solo se leen
+   *        las de la parte; puede compartirse entre partes).
+   */
+  IndiceOcupacion(AlmacenPlazas almacen, int[] globales, int[] locales, EstadisticasSistema estadisticas) {
+    this.almacen = almacen;
+    this.globales = globales;
+    this.locales = locales;
+    this.estadisticas = estadisticas;
+    int total = globales != null ? globales.length : almacen.getTamano();
+    EstadoPlaza[] estados = EstadoPlaza.values();
+    this.porEstado = new MapaBits[estados.length];
+    for (int i = 0; i < estados.length; i++) {
+      porEstado[i] = new MapaBits(total);
+    }
+    this.politica = new AsignacionPrimeraLibre(total);
+    for (int i = 0; i < total; i++) {
+      EstadoPlaza estado = almacen.getEstado(global(i));
+      if (estado != null) {
+        porEstado[estado.ordinal()].activar(i);
+      }
+      if (estadisticas != null) {
+        estadisticas.plazaCambiada(almacen.getTopologia().pisoDe(global(i)), null, estado);
+      }
+      if (estado == EstadoPlaza.LIBRE) {
+        politica.plazaLiberada(i, getPlaza(i));
+      }
+    }
+  }
+  
+  /**
+   * Cambia la política de asignación, cargándole las plazas libres actuales.
+   */
+  public void setPolitica(PoliticaAsignacion nueva) {
+    if (nueva == null) {
+      throw new IllegalArgumentException("La política de asignación no puede ser null");
+    }
+    MapaBits libres = porEstado[EstadoPlaza.LIBRE.ordinal()];
+    for (int i = libres.siguienteActivo(0); i >= 0; i = libres.siguienteActivo(i + 1)) {
+      nueva.plazaLiberada(i, getPlaza(i));
+    }
+    this.politica = nueva;
+  }
+  
+  public PoliticaAsignacion getPolitica() {
+    return politica;
+  }
+  
+  @Override
+  public void estadoCambiado(Plaza plaza, EstadoPlaza anterior, EstadoPlaza nuevo) {
+    int indice = local(plaza.getIndice());
+    if (anterior != null) {
+      porEstado[anterior.ordinal()].desactivar(indice);
+    }
+    if (nuevo != null) {
+      porEstado[nuevo.ordinal()].activar(indice);
+    }
+    if (estadisticas != null) {
+      estadisticas.plazaCambiada(plaza.getPiso(), anterior, nuevo);
+    }
+    if (anterior == EstadoPlaza.LIBRE) {
+      politica.plazaRetirada(indice, plaza);
+    } else if (nuevo == EstadoPlaza.LIBRE) {
+      politica.plazaLiberada(indice, plaza);
+    }
+  }
+  
+  @Override
+  public void tipoCambiado(Plaza plaza, TipoVehiculo anterior, TipoVehiculo nuevo) {
+    if (plaza.getEstado() == EstadoPlaza.LIBRE) {
+      int indice = local(plaza.getIndice());
+      politica.plazaRetirada(indice, plaza);
+      politica.plazaLiberada(indice, plaza);
+    }
+  }
+  
+  /**
+   * Una plaza libre donde pueda estacionar un vehículo del tipo dado, según
+   * la política de asignación vigente.
+   * @param tipo Tipo de vehículo (null = cualquier plaza libre).
+   * @return La plaza, o null si no hay ninguna compatible.
+   */
+  public Plaza libreParaTipo(TipoVehiculo tipo) {
+    if (tipo == null) {
+      return primeraConEstado(EstadoPlaza.LIBRE);
+    }
+    int indice = politica.elegir(tipo);
+    return indice < 0 ? null : getPlaza(indice);
+  }
+  
+  /**
+   * Como {@link #libreParaTipo(TipoVehiculo)}, pero descartando las plazas
+   * que cumplan el filtro (por ejemplo, las reservadas). Solo se evalúa el
+   * filtro sobre las plazas que la política va proponiendo: cada descartada
+   * se aparta de la política mientras dura la elección y luego se devuelve.
+   * @param tipo Tipo de vehículo (null = cualquier plaza libre).
+   * @param excluida Filtro por índice de plaza en el almacén (null = ninguna).
+   * @return La plaza, o null si no hay ninguna compatible.
+   */
+  public Plaza libreParaTipo(TipoVehiculo tipo, IntPredicate excluida) {
+    if (excluida == null) {
+      return libreParaTipo(tipo);
+    }
+    MapaBits libres = porEstado[EstadoPlaza.LIBRE.ordinal()];
+    if (tipo == null) {
+      int i = libres.siguienteActivo(0);
+      while (i >= 0 && excluida.test(global(i))) {
+        i = libres.siguienteActivo(i + 1);
+      }
+      return i < 0 ? null : getPlaza(i);
+    }
+    int numApartadas = 0;
+    try {
+      int indice = politica.elegir(tipo);
+      while (indice >= 0 && excluida.test(global(indice))) {
+        if (numApartadas == apartadas.length) {
+          apartadas = Arrays.copyOf(apartadas, numApartadas * 2);
+        }
+        apartadas[numApartadas++] = indice;
+        politica.plazaRetirada(indice, getPlaza(indice));
+        indice = politica.elegir(tipo);
+      }
+      return indice < 0 ? null : getPlaza(indice);
+    } finally {
+      for (int k = 0; k < numApartadas; k++) {
+        politica.plazaLiberada(apartadas[k], getPlaza(apartadas[k]));
+      }
+    }
+  }
+  
+  /**
+   * Primera plaza (en orden del almacén) que está en el estado indicado.
+   * @return La plaza, o null si no hay ninguna.
+   */
+  public Plaza primeraConEstado(EstadoPlaza estado) {
+    return siguienteConEstado(estado, 0);
+  }
+  
+  /**
+   * Primera plaza en el estado indicado a partir de una posición.
+   * @param desde Posición inicial (inclusive).
+   * @return La plaza, o null si no hay ninguna.
+   */
+  public Plaza siguienteConEstado(EstadoPlaza estado, int desde) {
+    int indice = porEstado[estado.ordinal()].siguienteActivo(desde);
+    return indice < 0 ? null : getPlaza(indice);
+  }
+  
+  /**
+   * Cantidad de plazas en el estado indicado, en O(1).
+   */
+  public int contar(EstadoPlaza estado) {
+    return porEstado[estado.ordinal()].contarActivos();
+  }
+  
+  /**
+   * Plaza en una posición del índice.
+   */
+  public Plaza getPlaza(int indice) {
+    return almacen.getPlaza(global(indice));
+  }
+  
+  /**
+   * Número de plazas indexadas.
+   */
+  public int getTamano() {
+    return globales != null ? globales.length : almacen.getTamano();
+  }
+  
+  private int global(int indice) {
+    return globales != null ? globales[indice] : indice;
+  }
+  
+  private int local(int indice) {
+    return locales != null ? locales[indice] : indice;
+  }
+}
@@ -0,0 +1,168 @@
+package modelo.gestores;
+
+import modelo.entidades.EstadoPlaza;
+import modelo.entidades.Plaza;
+import modelo.entidades.Ticket;
+import modelo.entidades.TipoVehiculo;
+import modelo.estructuras.ListaArreglo;
+import modelo.estructuras.TablaHash;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Foto inmutable del estacionamiento que publica ProcesadorComandos después
+ * de cada lote de comandos. Se puede leer desde cualquier hilo sin cerrojos:
+ * nada de lo que contiene cambia una vez construida (los tickets se copian
+ * en TicketActivo, porque los Ticket del gestor se modifican al salir).
+ */
+public final class InstantaneaEstacionamiento {
+
+  /**
+   * Copia inmutable de los datos de un ticket ACTIVO.
+   */
+  public static final class TicketActivo {
+    private final String codigo;
+    private final String placa;
+    private final TipoVehiculo tipo;
+    private final int piso;
+    private final char sector;
+    private final int numero;
+    private final LocalDateTime horaIngreso;
+
+    private TicketActivo(Ticket ticket) {
+      this.codigo = ticket.getCodigo();
+      this.placa = ticket.getVehiculo().getPlaca();
+      this.tipo = ticket.getVehiculo().getTipo();
+      Plaza plaza = ticket.getPlaza();
+      this.piso = plaza == null ? 0 : plaza.getPiso();
+      this.sector = plaza == null ? ' ' : plaza.getSector();
+      this.numero = plaza == null ? 0 : plaza.getNumero();
+      this.horaIngreso = ticket.getHoraIngreso();
+    }
+
+    public String getCodigo() {
+      return codigo;
+    }
+
+    public String getPlaca() {
+      return placa;
+    }
+
+    public TipoVehiculo getTipo() {
+      return tipo;
+    }
+
+    public int getPiso() {
+      return piso;
+    }
+
+    public char getSector() {
+      return sector;
+    }
+
+    public int getNumero() {
+      return numero;
+    }
+
+    public LocalDateTime getHoraIngreso() {
+      return horaIngreso;
+    }
+  }
+
+  private final long version;                            // Comandos aplicados hasta esta foto
+  private final LocalDateTime generada;
+  private final TablaHash<String, TicketActivo> porPlaca; // Placa normalizada → ticket
+  private final ListaArreglo<TicketActivo> activos;       // En orden de ingreso
+  private final int plazasOcupadas;
+  private final int plazasLibres;
+  private final int enEspera;
+  private final int ticketsFinalizados;
+  private final double ingresoCobrado;
+
+  /**
+   * Toma la foto del gestor. Solo la llama el hilo escritor, entre lotes.
+   */
+  static InstantaneaEstacionamiento de(GestorPrincipal gestor, long version) {
+    return new InstantaneaEstacionamiento(gestor, version);
+  }
+
+  private InstantaneaEstacionamiento(GestorPrincipal gestor, long version) {
+    this.version = version;
+    this.generada = LocalDateTime.now();
+    this.activos = new ListaArreglo<>();
+    for (Ticket ticket : gestor.getTicketsActivos()) {
+      activos.agregarAlFinal(new TicketActivo(ticket));
+    }
+    this.porPlaca = new TablaHash<>(activos.getTamano());
+    for (TicketActivo ticket : activos) {
+      porPlaca.poner(ticket.getPlaca(), ticket);
+    }
+    this.plazasOcupadas = gestor.contarPlazas(EstadoPlaza.OCUPADA);
+    this.plazasLibres = gestor.contarPlazas(EstadoPlaza.LIBRE);
+    this.enEspera = gestor.getCantidadEnEspera();
+    this.ticketsFinalizados = gestor.getCantidadTicketsFinalizados();
+    this.ingresoCobrado = gestor.getEstadisticas().getIngresoCobrado();
+  }
+
+  /**
+   * Cantidad de comandos aplicados cuando se tomó la foto: crece con cada
+   * publicación, así que sirve para saber si una foto es más nueva que otra.
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  public LocalDateTime getGenerada() {
+    return generada;
+  }
+
+  /**
+   * Ticket activo de una placa en O(1).
+   * @return El ticket, o null si el vehículo no estaba dentro.
+   */
+  public TicketActivo buscarTicketActivo(String placa) {
+    return placa == null ? null : porPlaca.obtener(placa.trim().toUpperCase());
+  }
+
+  /**
+   * Recorre los tickets activos en orden de ingreso, sin copiarlos.
+   */
+  public void recorrerActivos(Consumer<TicketActivo> accion) {
+    for (TicketActivo ticket : activos) {
+      accion.accept(ticket);
+    }
+  }
+
+  /**
+   * Copia de los tickets activos, en orden de ingreso.
+   */
+  public ListaArreglo<TicketActivo> getActivos() {
+    ListaArreglo<TicketActivo> copia = new ListaArreglo<>(activos.getTamano());
+    recorrerActivos(copia::agregarAlFinal);
+    return copia;
+  }
+
+  public int getCantidadVehiculosEnEstacionamiento() {
+    return activos.getTamano();
+  }
+
+  public int getPlazasOcupadas() {
+    return plazasOcupadas;
+  }
+
+  public int getPlazasLibres() {
+    return plazasLibres;
+  }
+
+  public int getCantidadEnEspera() {
+    return enEspera;
+  }
+
+  public int getCantidadTicketsFinalizados() {
+    return ticketsFinalizados;
+  }
+
+  public double getIngresoCobrado() {
+    return ingresoCobrado;
+  }
+}
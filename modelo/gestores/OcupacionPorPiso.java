@@ -0,0 +1,240 @@
+package modelo.gestores;
+
+import modelo.entidades.AlmacenPlazas;
+import modelo.entidades.EstadoPlaza;
+import modelo.entidades.ObservadorPlaza;
+import modelo.entidades.Plaza;
+import modelo.entidades.Topologia;
+import modelo.entidades.TipoVehiculo;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+
+/**
+ * Ocupación del estacionamiento repartida por piso, para que varias puertas
+ * asignen y liberen plazas a la vez: cada piso tiene su propio
+ * IndiceOcupacion (con su propia política de asignación) y su propio
+ * cerrojo, así que dos puertas solo se esperan si trabajan en el mismo piso.
+ * <p>
+ * Además se cuentan, sin cerrojo, las plazas libres de cada piso por tipo
+ * permitido: una búsqueda salta los pisos que no tienen plazas del tipo que
+ * necesita sin esperar a nadie, y vuelve a comprobar con el cerrojo tomado.
+ * <p>
+ * Es el observador del almacén: reenvía cada cambio de estado o de tipo al
+ * índice del piso de la plaza, con el cerrojo de ese piso tomado.
+ */
+public class OcupacionPorPiso implements ObservadorPlaza {
+
+  private static final TipoVehiculo[] TIPOS = TipoVehiculo.values();
+  private static final int SIN_TIPO = TIPOS.length;    // Nivel de las plazas sin tipo permitido
+  private static final int NIVELES = TIPOS.length + 1;
+
+  private final IndiceOcupacion[] partes;              // Un índice por piso, en orden de piso
+  private final ReentrantLock[] cerrojos;              // Cerrojo de cada parte
+  private final int[] partePorPiso;                    // Número de piso → parte (-1 = sin plazas)
+  private final ReentrantLock cerrojoSueltas = new ReentrantLock(); // Plazas fuera del almacén
+  private final AtomicIntegerArray libres;             // Plazas LIBRE por parte y nivel (parte * NIVELES + nivel)
+  private final AtomicLong liberaciones = new AtomicLong(); // Veces que una plaza pasó a LIBRE
+  private volatile boolean enOrdenDePiso;              // Recorrer los pisos siempre desde el más bajo
+
+  /**
+   * Reparte las plazas del almacén por piso y registra la ocupación como su
+   * observador, una vez construida.
+   * @param almacen Plazas a indexar.
+   * @param estadisticas Contadores a los que reenviar cada cambio de estado (puede ser null).
+   */
+  public static OcupacionPorPiso crear(AlmacenPlazas almacen, EstadisticasSistema estadisticas) {
+    OcupacionPorPiso ocupacion = new OcupacionPorPiso(almacen, estadisticas);
+    almacen.setObservador(ocupacion);
+    return ocupacion;
+  }
+
+  private OcupacionPorPiso(AlmacenPlazas almacen, EstadisticasSistema estadisticas) {
+    Topologia topologia = almacen.getTopologia();
+    int total = almacen.getTamano();
+    int[] pisoDe = new int[total];
+    int[] cantidadPorPiso = new int[topologia.getPisoMaximo() + 1];
+    for (int i = 0; i < total; i++) {
+      pisoDe[i] = topologia.pisoDe(i);
+      cantidadPorPiso[pisoDe[i]]++;
+    }
+
+    this.partePorPiso = new int[cantidadPorPiso.length];
+    int numPartes = 0;
+    for (int piso = 0; piso < cantidadPorPiso.length; piso++) {
+      partePorPiso[piso] = cantidadPorPiso[piso] > 0 ? numPartes++ : -1;
+    }
+
+    // Posiciones locales: cada piso numera sus plazas desde 0
+    int[][] globales = new int[numPartes][];
+    for (int piso = 0; piso < cantidadPorPiso.length; piso++) {
+      if (partePorPiso[piso] >= 0) {
+        globales[partePorPiso[piso]] = new int[cantidadPorPiso[piso]];
+      }
+    }
+    int[] locales = new int[total];
+    int[] siguiente = new int[numPartes];
+    for (int i = 0; i < total; i++) {
+      int parte = partePorPiso[pisoDe[i]];
+      locales[i] = siguiente[parte];
+      globales[parte][siguiente[parte]++] = i;
+    }
+
+    this.partes = new IndiceOcupacion[numPartes];
+    this.cerrojos = new ReentrantLock[numPartes];
+    this.libres = new AtomicIntegerArray(numPartes * NIVELES);
+    for (int p = 0; p < numPartes; p++) {
+      partes[p] = new IndiceOcupacion(almacen, globales[p], locales, estadisticas);
+      cerrojos[p] = new ReentrantLock();
+    }
+    for (int i = 0; i < total; i++) {
+      if (almacen.getEstado(i) == EstadoPlaza.LIBRE) {
+        libres.incrementAndGet(posicion(partePorPiso[pisoDe[i]], almacen.getTipoPermitido(i)));
+      }
+    }
+  }
+
+  /**
+   * Cerrojo del piso de una plaza. Quien lo tiene puede cambiar el estado y
+   * el ocupante de las plazas de ese piso.
+   */
+  public ReentrantLock cerrojoDe(Plaza plaza) {
+    int parte = parteDe(plaza);
+    return parte < 0 ? cerrojoSueltas : cerrojos[parte];
+  }
+
+  /**
+   * Cambia la política de asignación de todos los pisos; cada piso recibe la
+   * suya, creada para su cantidad de plazas y cargada con sus plazas libres.
+   * @param fabrica Crea la política para una capacidad dada.
+   */
+  public void setPolitica(IntFunction<PoliticaAsignacion> fabrica) {
+    for (int p = 0; p < partes.length; p++) {
+      PoliticaAsignacion politica = fabrica.apply(partes[p].getTamano());
+      cerrojos[p].lock();
+      try {
+        partes[p].setPolitica(politica);
+        enOrdenDePiso = politica.recorrerPisosEnOrden();
+      } finally {
+        cerrojos[p].unlock();
+      }
+    }
+  }
+
+  /**
+   * Busca una plaza libre compatible con el tipo y, con el cerrojo de su piso
+   * todavía tomado, le aplica la acción (por ejemplo, marcarla OCUPADA), así
+   * que ninguna otra puerta puede recibir la misma plaza.
+   * <p>
+   * Respeta el orden de tipos de la política en todo el estacionamiento: solo
+   * se entrega una plaza de un tipo más grande cuando no queda ninguna del
+   * tipo anterior en ningún piso.
+   * @param tipo Tipo de vehículo (null = cualquier plaza libre).
+   * @param excluida Filtro por índice de plaza en el almacén (null = ninguna);
+   *        se evalúa con el cerrojo del piso tomado.
+   * @param inicio Valor que reparte el piso por el que empieza cada búsqueda
+   *        (por ejemplo, el hash de la placa), para que las puertas no empiecen
+   *        todas por el mismo. Se ignora si la política recorre los pisos en orden.
+   * @param accion Se aplica a la plaza elegida; su resultado es el de la búsqueda.
+   * @return El resultado de la acción, o null si no hay plaza compatible.
+   */
+  public <T> T tomarLibre(TipoVehiculo tipo, IntPredicate excluida, int inicio, Function<Plaza, T> accion) {
+    int numPartes = partes.length;
+    if (numPartes == 0) {
+      return null;
+    }
+    int primera = enOrdenDePiso ? 0 : Math.floorMod(inicio, numPartes);
+    for (int nivel = tipo == null ? 0 : tipo.ordinal(); nivel < NIVELES; nivel++) {
+      for (int k = 0; k < numPartes; k++) {
+        int parte = (primera + k) % numPartes;
+        if (libres.get(parte * NIVELES + nivel) == 0) {
+          continue;
+        }
+        cerrojos[parte].lock();
+        try {
+          Plaza plaza = partes[parte].libreParaTipo(tipo, excluida);
+          // Una plaza de un tipo más grande que el nivel espera a los pisos que faltan
+          if (plaza != null && (tipo == null || nivel(plaza.getTipoPermitido()) <= nivel)) {
+            return accion.apply(plaza);
+          }
+        } finally {
+          cerrojos[parte].unlock();
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Cantidad de veces que una plaza pasó a LIBRE desde el inicio. Sirve para
+   * saber, sin cerrojo, si se liberó alguna plaza después de una búsqueda
+   * fallida.
+   */
+  public long getLiberaciones() {
+    return liberaciones.get();
+  }
+
+  /**
+   * Cantidad de plazas en el estado indicado, sumando los pisos.
+   */
+  public int contar(EstadoPlaza estado) {
+    int total = 0;
+    for (int p = 0; p < partes.length; p++) {
+      cerrojos[p].lock();
+      try {
+        total += partes[p].contar(estado);
+      } finally {
+        cerrojos[p].unlock();
+      }
+    }
+    return total;
+  }
+
+  @Override
+  public void estadoCambiado(Plaza plaza, EstadoPlaza anterior, EstadoPlaza nuevo) {
+    int parte = parteDe(plaza);
+    cerrojos[parte].lock();
+    try {
+      partes[parte].estadoCambiado(plaza, anterior, nuevo);
+      if (anterior == EstadoPlaza.LIBRE) {
+        libres.decrementAndGet(posicion(parte, plaza.getTipoPermitido()));
+      } else if (nuevo == EstadoPlaza.LIBRE) {
+        libres.incrementAndGet(posicion(parte, plaza.getTipoPermitido()));
+        liberaciones.incrementAndGet();
+      }
+    } finally {
+      cerrojos[parte].unlock();
+    }
+  }
+
+  @Override
+  public void tipoCambiado(Plaza plaza, TipoVehiculo anterior, TipoVehiculo nuevo) {
+    int parte = parteDe(plaza);
+    cerrojos[parte].lock();
+    try {
+      partes[parte].tipoCambiado(plaza, anterior, nuevo);
+      if (plaza.getEstado() == EstadoPlaza.LIBRE) {
+        libres.decrementAndGet(posicion(parte, anterior));
+        libres.incrementAndGet(posicion(parte, nuevo));
+      }
+    } finally {
+      cerrojos[parte].unlock();
+    }
+  }
+
+  private int parteDe(Plaza plaza) {
+    int piso = plaza.getPiso();
+    return plaza.getIndice() < 0 || piso < 0 || piso >= partePorPiso.length ? -1 : partePorPiso[piso];
+  }
+
+  private static int nivel(TipoVehiculo tipoPermitido) {
+    return tipoPermitido == null ? SIN_TIPO : tipoPermitido.ordinal();
+  }
+
+  private static int posicion(int parte, TipoVehiculo tipoPermitido) {
+    return parte * NIVELES + nivel(tipoPermitido);
+  }
+}
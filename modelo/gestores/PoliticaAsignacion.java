@@ -0,0 +1,68 @@
+package modelo.gestores;
+
+import modelo.entidades.Plaza;
+import modelo.entidades.TipoVehiculo;
+
+/**
+ * Estrategia para elegir qué plaza libre se asigna a un vehículo que ingresa.
+ * El IndiceOcupacion le avisa cada vez que una plaza pasa a estar LIBRE o deja
+ * de estarlo, de modo que la política mantiene sus propias estructuras al día
+ * y elegir no necesita recorrer plazas.
+ * <p>
+ * Toda política debe respetar el tipo permitido de las plazas: primero las
+ * del tipo del vehículo, luego las de tipos más grandes en orden de tamaño
+ * (ver TipoVehiculo.cabeEn) y por último las plazas sin tipo asignado.
+ */
+public interface PoliticaAsignacion {
+  
+  /**
+   * Políticas disponibles, para elegirlas sin conocer la capacidad del
+   * estacionamiento (ver GestorPrincipal.usarPoliticaAsignacion).
+   */
+  enum Tipo {
+    /** AsignacionPrimeraLibre: cualquier plaza libre compatible, en O(1). */
+    PRIMERA_LIBRE,
+    /** AsignacionMasCercana: la compatible más cercana a la entrada. */
+    MAS_CERCANA;
+    
+    /**
+     * Crea la política para un estacionamiento de la capacidad dada.
+     */
+    public PoliticaAsignacion crear(int capacidad) {
+      return this == MAS_CERCANA
+          ? new AsignacionMasCercana(capacidad)
+          : new AsignacionPrimeraLibre(capacidad);
+    }
+  }
+  
+  /**
+   * La plaza en la posición indicada pasó a estar LIBRE.
+   */
+  void plazaLiberada(int indice, Plaza plaza);
+  
+  /**
+   * La plaza en la posición indicada dejó de estar LIBRE, o cambió de tipo
+   * permitido y se volverá a liberar con el nuevo tipo. En ese caso la plaza
+   * ya tiene el tipo nuevo, así que la política debe retirarla sin suponer
+   * que está donde indica getTipoPermitido().
+   */
+  void plazaRetirada(int indice, Plaza plaza);
+  
+  /**
+   * Elige una plaza libre compatible con el tipo de vehículo, sin retirarla:
+   * la plaza sale de la política cuando el gestor cambia su estado.
+   * @param tipo Tipo de vehículo (no null).
+   * @return La posición de la plaza elegida, o -1 si no hay ninguna.
+   */
+  int elegir(TipoVehiculo tipo);
+  
+  /**
+   * Si la política prefiere las plazas de los pisos más bajos. Con la
+   * ocupación repartida por piso (ver OcupacionPorPiso), los pisos se
+   * recorren entonces siempre desde el más bajo, en lugar de empezar cada
+   * puerta por uno distinto.
+   */
+  default boolean recorrerPisosEnOrden() {
+    return false;
+  }
+}
@@ -0,0 +1,239 @@
+package modelo.gestores;
+
+import modelo.entidades.Cliente;
+import modelo.entidades.Ticket;
+import modelo.entidades.TipoVehiculo;
+import modelo.entidades.Vehiculo;
+import modelo.estructuras.ColaCircular;
+import modelo.estructuras.ColaCircular.PoliticaRechazo;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Frente de un solo escritor para el GestorPrincipal: las operaciones que
+ * modifican el estado (ingreso, salida, pago, alta de clientes y vehículos)
+ * se encolan como comandos en un búfer circular acotado y un único hilo los
+ * aplica en orden de llegada.
+ * <p>
+ * - El orden es determinista: el de la cola, sin carreras entre puertas.
+ * - Los cerrojos internos del gestor los toma siempre el mismo hilo, así
+ *   que nunca hay contención entre escrituras.
+ * - Con la cola llena, quien envía espera a que haya sitio (contrapresión).
+ * - El escritor saca los comandos por lotes y, al terminar cada lote,
+ *   publica una InstantaneaEstacionamiento inmutable; las lecturas se
+ *   sirven de ella sin tocar el gestor.
+ * <p>
+ * El futuro de cada comando se completa después de publicar la foto que ya
+ * lo incluye: quien espera su resultado y luego lee getInstantanea() ve su
+ * propia escritura. Las continuaciones no asíncronas (thenApply, ...) corren
+ * en el hilo escritor, así que el trabajo pesado debe ir en las variantes
+ * *Async.
+ */
+public class ProcesadorComandos {
+
+  private static final int CAPACIDAD_POR_DEFECTO = 1024;
+  private static final int LOTE_MAXIMO = 64;
+
+  private final GestorPrincipal gestor;
+  private final ColaCircular<Comando<?>> pendientes;   // Búfer circular acotado
+  private final ReentrantLock cerrojo = new ReentrantLock();
+  private final Condition hayEspacio = cerrojo.newCondition();
+  private final Condition hayComandos = cerrojo.newCondition();
+  private boolean cerrado;                             // Protegido por cerrojo
+  private final Thread escritor;
+  private volatile InstantaneaEstacionamiento instantanea;
+  private long aplicados;                              // Solo lo usa el escritor
+
+  /**
+   * Crea el procesador con una cola de 1024 comandos.
+   * @see #ProcesadorComandos(GestorPrincipal, int)
+   */
+  public ProcesadorComandos(GestorPrincipal gestor) {
+    this(gestor, CAPACIDAD_POR_DEFECTO);
+  }
+
+  /**
+   * Crea el procesador y arranca su hilo escritor. Desde este momento el
+   * gestor solo debe modificarse a través del procesador.
+   * @param gestor Gestor sobre el que se aplican los comandos.
+   * @param capacidad Comandos pendientes como máximo.
+   * @throws IllegalArgumentException si la capacidad no es positiva.
+   */
+  public ProcesadorComandos(GestorPrincipal gestor, int capacidad) {
+    if (capacidad <= 0) {
+      throw new IllegalArgumentException("La capacidad debe ser positiva: " + capacidad);
+    }
+    this.gestor = gestor;
+    this.pendientes = new ColaCircular<>(capacidad, PoliticaRechazo.LANZAR_EXCEPCION);
+    this.instantanea = InstantaneaEstacionamiento.de(gestor, 0);
+    this.escritor = new Thread(this::aplicarComandos, "escritor-gestor");
+    this.escritor.setDaemon(true);
+    this.escritor.start();
+  }
+
+  // ============================================================================
+  // COMANDOS
+  // ============================================================================
+
+  /**
+   * @return Futuro con el ticket, o con null si el vehículo ya estaba dentro
+   *         o quedó en la lista de espera.
+   */
+  public CompletableFuture<Ticket> registrarIngreso(String placa, TipoVehiculo tipo, String dniPropietario) {
+    return enviar(g -> g.registrarIngreso(placa, tipo, dniPropietario));
+  }
+
+  /**
+   * @return Futuro con el ticket cerrado, o con null si no estaba dentro.
+   */
+  public CompletableFuture<Ticket> registrarSalida(String placa) {
+    return enviar(g -> g.registrarSalida(placa));
+  }
+
+  public CompletableFuture<Boolean> registrarPago(String codigoTicket) {
+    return enviar(g -> g.registrarPago(codigoTicket));
+  }
+
+  public CompletableFuture<Boolean> registrarCliente(Cliente cliente) {
+    return enviar(g -> g.registrarCliente(cliente));
+  }
+
+  public CompletableFuture<Boolean> registrarVehiculo(Vehiculo vehiculo) {
+    return enviar(g -> g.registrarVehiculo(vehiculo));
+  }
+
+  /**
+   * Encola una operación cualquiera sobre el gestor. Espera si la cola está
+   * llena.
+   * @return Futuro con el resultado, o con la excepción que lanzó la
+   *         operación (IllegalStateException si el procesador está cerrado).
+   */
+  public <R> CompletableFuture<R> enviar(Function<GestorPrincipal, R> operacion) {
+    Comando<R> comando = new Comando<>(operacion);
+    cerrojo.lock();
+    try {
+      while (!cerrado && pendientes.estaLlena()) {
+        hayEspacio.awaitUninterruptibly();
+      }
+      if (cerrado) {
+        comando.futuro.completeExceptionally(
+            new IllegalStateException("El procesador de comandos está cerrado"));
+        return comando.futuro;
+      }
+      pendientes.encolar(comando);
+      hayComandos.signal();
+    } finally {
+      cerrojo.unlock();
+    }
+    return comando.futuro;
+  }
+
+  // ============================================================================
+  // LECTURAS
+  // ============================================================================
+
+  /**
+   * Última foto publicada (lectura sin cerrojos).
+   */
+  public InstantaneaEstacionamiento getInstantanea() {
+    return instantanea;
+  }
+
+  public int getPendientes() {
+    cerrojo.lock();
+    try {
+      return pendientes.getTamano();
+    } finally {
+      cerrojo.unlock();
+    }
+  }
+
+  /**
+   * Deja de aceptar comandos, aplica los que ya estaban en la cola y espera
+   * a que termine el hilo escritor.
+   */
+  public void cerrar() {
+    cerrojo.lock();
+    try {
+      cerrado = true;
+      hayComandos.signalAll();
+      hayEspacio.signalAll();
+    } finally {
+      cerrojo.unlock();
+    }
+    try {
+      escritor.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  // ============================================================================
+  // HILO ESCRITOR
+  // ============================================================================
+
+  private void aplicarComandos() {
+    Comando<?>[] lote = new Comando<?>[LOTE_MAXIMO];
+    while (true) {
+      int cantidad = 0;
+      cerrojo.lock();
+      try {
+        while (pendientes.estaVacia() && !cerrado) {
+          hayComandos.awaitUninterruptibly();
+        }
+        if (pendientes.estaVacia()) {
+          return; // Cerrado y sin pendientes
+        }
+        while (cantidad < LOTE_MAXIMO && !pendientes.estaVacia()) {
+          lote[cantidad++] = pendientes.desencolar();
+        }
+        hayEspacio.signalAll();
+      } finally {
+        cerrojo.unlock();
+      }
+
+      for (int i = 0; i < cantidad; i++) {
+        lote[i].aplicar(gestor);
+      }
+      aplicados += cantidad;
+      instantanea = InstantaneaEstacionamiento.de(gestor, aplicados);
+      for (int i = 0; i < cantidad; i++) {
+        lote[i].completar();
+        lote[i] = null;
+      }
+    }
+  }
+
+  /**
+   * Una operación pendiente con su futuro. El resultado se guarda al
+   * aplicarla y se entrega al completar, después de publicar la foto.
+   */
+  private static final class Comando<R> {
+    private final Function<GestorPrincipal, R> operacion;
+    private final CompletableFuture<R> futuro = new CompletableFuture<>();
+    private R resultado;
+    private Throwable error;
+
+    Comando(Function<GestorPrincipal, R> operacion) {
+      this.operacion = operacion;
+    }
+
+    void aplicar(GestorPrincipal gestor) {
+      try {
+        resultado = operacion.apply(gestor);
+      } catch (Throwable e) {
+        error = e;
+      }
+    }
+
+    void completar() {
+      if (error != null) {
+        futuro.completeExceptionally(error);
+      } else {
+        futuro.complete(resultado);
+      }
+    }
+  }
+}
@@ -0,0 +1,113 @@
+package modelo.gestores;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Una sede (garaje) del sistema: su propio GestorPrincipal, su carpeta de
+ * datos y un hilo de trabajo exclusivo.
+ * <p>
+ * Todas las operaciones sobre el gestor de la sede se envían a ese hilo, que
+ * es su dominio de exclusión: dentro de una sede se ejecutan de a una y en
+ * orden de llegada, y sedes distintas avanzan en paralelo sin compartir
+ * ningún cerrojo. El gestor recibe la carpeta de la sede al crearse y la
+ * pasa a cada DAO, así que no importa desde qué hilo se lo llame.
+ */
+public class Sede {
+
+  private final String id;
+  private final String carpetaDatos;
+  private final ExecutorService ejecutor;
+  private final GestorPrincipal gestor;
+
+  /**
+   * Crea la sede y carga su gestor (desde su carpeta) en su propio hilo.
+   * @param id Identificador de la sede.
+   * @param carpetaDatos Carpeta con los archivos TXT de la sede.
+   */
+  public Sede(String id, String carpetaDatos) {
+    this(id, carpetaDatos, System.out::println);
+  }
+
+  /**
+   * Igual que {@link #Sede(String, String)}, informando el avance de la carga.
+   * @param progreso Recibe los mensajes de carga, en el hilo de la sede.
+   */
+  public Sede(String id, String carpetaDatos, Consumer<String> progreso) {
+    this.id = id;
+    this.carpetaDatos = carpetaDatos;
+    this.ejecutor = Executors.newSingleThreadExecutor(tarea -> {
+      Thread hilo = new Thread(tarea, "sede-" + id);
+      hilo.setDaemon(true);
+      return hilo;
+    });
+    this.gestor = esperar(CompletableFuture.supplyAsync(() -> new GestorPrincipal(carpetaDatos, progreso), ejecutor));
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public String getCarpetaDatos() {
+    return carpetaDatos;
+  }
+
+  /**
+   * Envía una operación al hilo de la sede.
+   * @return Un futuro con el resultado de la operación.
+   */
+  public <R> CompletableFuture<R> enviar(Function<GestorPrincipal, R> operacion) {
+    return CompletableFuture.supplyAsync(() -> operacion.apply(gestor), ejecutor);
+  }
+
+  /**
+   * Ejecuta una operación en el hilo de la sede y espera su resultado.
+   * @throws RuntimeException la misma que lanzó la operación.
+   */
+  public <R> R ejecutar(Function<GestorPrincipal, R> operacion) {
+    return esperar(enviar(operacion));
+  }
+
+  /**
+   * Acceso directo al gestor, sin pasar por el hilo de la sede: las
+   * operaciones ya no se ordenan con las enviadas a la sede (el gestor se
+   * protege con sus propios cerrojos). Los archivos van igual a la carpeta
+   * de la sede.
+   */
+  GestorPrincipal getGestor() {
+    return gestor;
+  }
+
+  /**
+   * Termina el hilo de la sede después de las operaciones pendientes y
+   * escribe lo que el gestor tenga pendiente de guardar.
+   */
+  public void cerrar() {
+    ejecutor.shutdown();
+    try {
+      ejecutor.awaitTermination(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    gestor.cerrar();
+  }
+
+  static <R> R esperar(CompletableFuture<R> futuro) {
+    try {
+      return futuro.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      if (e.getCause() instanceof Error) {
+        throw (Error) e.getCause();
+      }
+      throw e;
+    }
+  }
+}
@@ -1,32 +1,319 @@
 package modelo.gestores;
 
+import modelo.entidades.Ticket;
+import modelo.estructuras.ListaArreglo;
+import modelo.estructuras.TablaHash;
+import java.io.File;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
 /**
- * Singleton que mantiene la instancia única del GestorPrincipal.
- * Asegura que todos los controladores trabajen con los mismos datos.
+ * Singleton que mantiene las sedes (garajes) del sistema, cada una con su
+ * propio GestorPrincipal, carpeta de datos e hilo de trabajo (ver Sede).
+ * La sede principal usa la carpeta "datos" de siempre y es la que ven los
+ * controladores a través de getGestorPrincipal(); las demás guardan sus
+ * archivos en "datos/sedes/&lt;id&gt;".
+ * <p>
+ * Las consultas que abarcan todas las sedes se envían a la vez a cada una y
+ * se combinan al terminar, así que tardan lo que la sede más lenta y no la
+ * suma de todas.
+ * <p>
+ * La carga de archivos no corre en el hilo de la interfaz: inicializar() la
+ * lanza una sola vez en un hilo propio y devuelve un futuro que se completa
+ * cuando el sistema está listo. getInstancia() espera ese futuro y
+ * getInstanciaCargada() falla en vez de esperar. Los constructores sin
+ * argumentos de los controladores no hacen ninguna de las dos cosas: usan
+ * gestorPrincipalDiferido(), así que una ventana puede crearlos mientras la
+ * carga sigue. El avance de la carga se puede mostrar en la interfaz con
+ * alAvanzarCarga().
  */
 public class SistemaEstacionamiento {
+
+  public static final String SEDE_PRINCIPAL = "principal";
+  private static final String CARPETA_BASE = "datos";
+
+  // Futuro de la única carga; se fija una sola vez (compareAndSet)
+  private static final AtomicReference<CompletableFuture<SistemaEstacionamiento>> CARGA =
+      new AtomicReference<>();
   
-  private static SistemaEstacionamiento instancia;
-  private GestorPrincipal gestorPrincipal;
+  // Avance de la carga: último mensaje y oyentes, bajo el monitor de OYENTES_CARGA
+  private static final ListaArreglo<Consumer<String>> OYENTES_CARGA = new ListaArreglo<>();
+  private static String ultimoAvance;
+
+  // Registro de sedes: se lee y modifica siempre bajo el monitor de this
+  private final TablaHash<String, Sede> sedesPorId;
+  private final ListaArreglo<Sede> sedes;           // En orden de alta
+  private final Object cerrojoAltas = new Object(); // Serializa agregarSede (la carga es lenta)
+  private final Sede principal;
+
+  private SistemaEstacionamiento(Consumer<String> progreso) {
+    this.sedesPorId = new TablaHash<>();
+    this.sedes = new ListaArreglo<>();
+    this.principal = registrarSede(new Sede(SEDE_PRINCIPAL, CARPETA_BASE, progreso));
+  }
+
+  /**
+   * Lanza la carga del sistema en segundo plano, si no se lanzó antes.
+   * Las llamadas siguientes devuelven el mismo futuro e ignoran su progreso.
+   * @param progreso Recibe los mensajes de avance desde un hilo de fondo
+   *        (para mostrarlos en Swing, pasarlos por EventQueue.invokeLater);
+   *        null los escribe en la consola.
+   * @return Futuro que se completa con el sistema cargado, o con el error de
+   *         la carga.
+   */
+  public static CompletableFuture<SistemaEstacionamiento> inicializar(Consumer<String> progreso) {
+    CompletableFuture<SistemaEstacionamiento> actual = CARGA.get();
+    if (actual != null) {
+      return actual;
+    }
+    CompletableFuture<SistemaEstacionamiento> nueva = new CompletableFuture<>();
+    if (!CARGA.compareAndSet(null, nueva)) {
+      return CARGA.get();
+    }
+    Consumer<String> consola = progreso != null ? progreso : System.out::println;
+    Consumer<String> avisar = mensaje -> {
+      consola.accept(mensaje);
+      avisarAvance(mensaje);
+    };
+    Thread hilo = new Thread(() -> {
+      try {
+        nueva.complete(new SistemaEstacionamiento(avisar));
+      } catch (Throwable e) {
+        avisarAvance("No se pudo cargar el sistema: " + e.getMessage());
+        nueva.completeExceptionally(e);
+      }
+    }, "carga-sistema");
+    hilo.setDaemon(true);
+    hilo.start();
+    return nueva;
+  }
+
+  /**
+   * Registra un oyente del avance de la carga, para mostrarlo en la
+   * interfaz. Recibe enseguida el último mensaje ya emitido (si hay) y luego
+   * cada mensaje nuevo, siempre a través del ejecutor: con
+   * {@code EventQueue::invokeLater} los mensajes llegan en el hilo de Swing y
+   * el oyente puede actualizar componentes. Se puede registrar antes o
+   * después de inicializar().
+   * @param ejecutor Dónde se entrega cada mensaje.
+   * @param oyente Recibe los mensajes de avance.
+   */
+  public static void alAvanzarCarga(Executor ejecutor, Consumer<String> oyente) {
+    Consumer<String> enEjecutor = mensaje -> ejecutor.execute(() -> oyente.accept(mensaje));
+    synchronized (OYENTES_CARGA) {
+      OYENTES_CARGA.agregarAlFinal(enEjecutor);
+      if (ultimoAvance != null) {
+        enEjecutor.accept(ultimoAvance);
+      }
+    }
+  }
   
-  private SistemaEstacionamiento() {
-    this.gestorPrincipal = new GestorPrincipal();
+  private static void avisarAvance(String mensaje) {
+    synchronized (OYENTES_CARGA) {
+      ultimoAvance = mensaje;
+      for (Consumer<String> oyente : OYENTES_CARGA) {
+        oyente.accept(mensaje);
+      }
+    }
   }
   
   /**
-   * Obtiene la instancia única del sistema.
+   * Futuro que se completa cuando el sistema está cargado (lanza la carga
+   * si nadie lo hizo).
    */
-  public static SistemaEstacionamiento getInstancia() {
-    if (instancia == null) {
-      instancia = new SistemaEstacionamiento();
-    }
-    return instancia;
+  public static CompletableFuture<SistemaEstacionamiento> listo() {
+    return inicializar(null);
+  }
+
+  /**
+   * Indica si la carga ya terminó sin errores, sin esperar.
+   */
+  public static boolean estaListo() {
+    CompletableFuture<SistemaEstacionamiento> carga = CARGA.get();
+    return carga != null && carga.isDone() && !carga.isCompletedExceptionally();
+  }
+
+  /**
+   * Crea algo (típicamente un controlador) recién cuando el sistema está
+   * listo, sin bloquear al llamador.
+   * Ej: {@code cuandoEsteListo(ControladorClientes::new).thenAccept(...)}
+   * @return Futuro con el objeto creado; se completa en el hilo de carga.
+   */
+  public static <T> CompletableFuture<T> cuandoEsteListo(Supplier<T> crear) {
+    return listo().thenApply(sistema -> crear.get());
+  }
+
+  /**
+   * Gestor de la sede principal para quien lo necesita antes de que termine
+   * la carga (por ejemplo, un controlador creado al abrir una ventana).
+   * Obtenerlo no falla ni bloquea; cada llamada a get() espera, si hace
+   * falta, a que la carga termine, así que las operaciones pedidas antes
+   * quedan en espera detrás de ella y las siguientes no esperan nada. Lanza
+   * la carga si nadie lo hizo.
+   * @return Proveedor del gestor; su get() lanza el error de la carga si falló.
+   */
+  public static Supplier<GestorPrincipal> gestorPrincipalDiferido() {
+    CompletableFuture<GestorPrincipal> gestor = listo().thenApply(SistemaEstacionamiento::getGestorPrincipal);
+    return () -> Sede.esperar(gestor);
   }
   
   /**
-   * Obtiene el gestor principal del sistema.
+   * Obtiene la instancia única del sistema solo si ya terminó de cargarse,
+   * sin esperar.
+   * @throws IllegalStateException si la carga no terminó o falló.
+   */
+  public static SistemaEstacionamiento getInstanciaCargada() {
+    if (!estaListo()) {
+      throw new IllegalStateException("El sistema de estacionamiento todavía no terminó de cargarse");
+    }
+    return CARGA.get().join();
+  }
+
+  /**
+   * Obtiene la instancia única del sistema, esperando a que termine de
+   * cargarse. Desde el hilo de la interfaz usar cuandoEsteListo().
+   * @throws RuntimeException el error que impidió la carga.
+   */
+  public static SistemaEstacionamiento getInstancia() {
+    return Sede.esperar(listo());
+  }
+
+  /**
+   * Obtiene el gestor de la sede principal (el que usan los controladores).
    */
   public GestorPrincipal getGestorPrincipal() {
-    return gestorPrincipal;
+    return principal.getGestor();
+  }
+
+  // ============================================================================
+  // SEDES
+  // ============================================================================
+
+  /**
+   * Da de alta una sede con su propia carpeta de datos y carga su gestor.
+   * Las altas se hacen de a una; mientras se carga la sede nueva, las
+   * consultas siguen viendo las sedes ya registradas.
+   * @param id Identificador (letras, dígitos, '-' o '_').
+   * @return La sede creada.
+   * @throws IllegalArgumentException si el id no es válido o ya existe.
+   */
+  public Sede agregarSede(String id) {
+    if (id == null || !id.matches("[A-Za-z0-9_-]+")) {
+      throw new IllegalArgumentException("Identificador de sede inválido: " + id);
+    }
+    synchronized (cerrojoAltas) {
+      if (getSede(id) != null) {
+        throw new IllegalArgumentException("La sede ya existe: " + id);
+      }
+      String carpeta = CARPETA_BASE + File.separator + "sedes" + File.separator + id;
+      return registrarSede(new Sede(id, carpeta));
+    }
+  }
+
+  /**
+   * Obtiene una sede por su identificador.
+   * @return La sede, o null si no existe.
+   */
+  public synchronized Sede getSede(String id) {
+    return id == null ? null : sedesPorId.obtener(id);
+  }
+
+  public Sede getSedePrincipal() {
+    return principal;
+  }
+
+  /**
+   * Copia de la lista de sedes, en orden de alta.
+   */
+  public synchronized ListaArreglo<Sede> getSedes() {
+    ListaArreglo<Sede> copia = new ListaArreglo<>(sedes.getTamano());
+    for (Sede sede : sedes) {
+      copia.agregarAlFinal(sede);
+    }
+    return copia;
+  }
+
+  /**
+   * Termina los hilos de todas las sedes.
+   */
+  public void cerrar() {
+    for (Sede sede : getSedes()) {
+      sede.cerrar();
+    }
+  }
+
+  // ============================================================================
+  // CONSULTAS ENTRE SEDES (en paralelo)
+  // ============================================================================
+
+  /**
+   * Busca el ticket activo de una placa en todas las sedes a la vez.
+   * @return Sede → ticket activo, solo con las sedes donde está la placa.
+   */
+  public TablaHash<String, Ticket> buscarPlacaEnSedes(String placa) {
+    ListaArreglo<Sede> consultadas = getSedes();
+    ListaArreglo<Ticket> porSede = consultarTodas(consultadas, g -> g.buscarTicketActivoPorPlaca(placa));
+    TablaHash<String, Ticket> resultado = new TablaHash<>();
+    for (int i = 0; i < porSede.getTamano(); i++) {
+      if (porSede.get(i) != null) {
+        resultado.poner(consultadas.get(i).getId(), porSede.get(i));
+      }
+    }
+    return resultado;
+  }
+
+  /**
+   * Ingreso cobrado sumando todas las sedes.
+   */
+  public double getIngresoGlobal() {
+    double total = 0.0;
+    for (Double ingreso : consultarTodas(g -> g.getEstadisticas().getIngresoCobrado())) {
+      total += ingreso;
+    }
+    return total;
+  }
+
+  /**
+   * Vehículos estacionados sumando todas las sedes.
+   */
+  public int getVehiculosEnEstacionamientoGlobal() {
+    int total = 0;
+    for (Integer cantidad : consultarTodas(GestorPrincipal::getCantidadVehiculosEnEstacionamiento)) {
+      total += cantidad;
+    }
+    return total;
+  }
+
+  /**
+   * Envía la misma consulta a todas las sedes a la vez y espera todas las
+   * respuestas.
+   * @return Los resultados, en el mismo orden que getSedes() (las sedes que
+   *         se den de alta durante la consulta no se incluyen).
+   */
+  public <R> ListaArreglo<R> consultarTodas(Function<GestorPrincipal, R> consulta) {
+    return consultarTodas(getSedes(), consulta);
+  }
+
+  private static <R> ListaArreglo<R> consultarTodas(ListaArreglo<Sede> sedes,
+                                                    Function<GestorPrincipal, R> consulta) {
+    ListaArreglo<CompletableFuture<R>> futuros = new ListaArreglo<>(sedes.getTamano());
+    for (Sede sede : sedes) {
+      futuros.agregarAlFinal(sede.enviar(consulta));
+    }
+    ListaArreglo<R> resultados = new ListaArreglo<>(futuros.getTamano());
+    for (CompletableFuture<R> futuro : futuros) {
+      resultados.agregarAlFinal(Sede.esperar(futuro));
+    }
+    return resultados;
+  }
+
+  private synchronized Sede registrarSede(Sede sede) {
+    sedesPorId.poner(sede.getId(), sede);
+    sedes.agregarAlFinal(sede);
+    return sede;
   }
 }
@@ -2,6 +2,7 @@ package modelo.persistencia;
 
 import modelo.entidades.Cliente;
 import modelo.entidades.TipoUsuario;
+import modelo.estructuras.ListaArreglo;
 import modelo.estructuras.ListaEnlazada;
 import utilidad.ManejadorArchivos;
 
@@ -22,9 +23,9 @@ public class ClienteDAO {
       return "";
     }
     StringBuilder sb = new StringBuilder();
-    for (int i = 0; i < lista.getTamano(); i++) {
-      if (i > 0) sb.append(",");
-      sb.append(lista.get(i));
+    for (String placa : lista) {
+      if (sb.length() > 0) sb.append(",");
+      sb.append(placa);
     }
     return sb.toString();
   }
@@ -33,32 +34,35 @@ public class ClienteDAO {
    * Guarda un cliente en el archivo.
    */
   public static boolean guardarCliente(Cliente cliente) {
+    return guardarCliente(ManejadorArchivos.CARPETA_DATOS, cliente);
+  }
+  
+  public static boolean guardarCliente(String carpeta, Cliente cliente) {
     // Verificar si ya existe
-    if (buscarCliente(cliente.getDni()) != null) {
-      return actualizarCliente(cliente);
+    if (buscarCliente(carpeta, cliente.getDni()) != null) {
+      return actualizarCliente(carpeta, cliente);
     }
     
-    String vehiculos = listaAString(cliente.getPlacasVehiculos());
-    String linea = String.format("%s|%s|%s|%s|%s|%s|%s|%s|%s",
-      cliente.getDni(),
-      cliente.getNombres(),
-      cliente.getApellidos(),
-      cliente.getCorreo(),
-      cliente.getTelefono(),
-      cliente.getDireccion(),
-      cliente.getGenero(),
-      cliente.getTipoUsuario(),
-      vehiculos
-    );
-    
-    return ManejadorArchivos.agregarLinea(ARCHIVO, linea);
+    return ManejadorArchivos.agregarLinea(carpeta, ARCHIVO, lineaDe(cliente));
+  }
+  
+  /**
+   * Deja el cliente pendiente en una escritura diferida: se vuelca después,
+   * en lote, reemplazando la línea anterior del mismo DNI si existe.
+   */
+  public static void guardarCliente(EscrituraDiferida escritura, Cliente cliente) {
+    escritura.guardar(ARCHIVO, lineaDe(cliente));
   }
   
   /**
    * Busca un cliente por DNI.
    */
   public static Cliente buscarCliente(String dni) {
-    String linea = ManejadorArchivos.buscarLinea(ARCHIVO, dni + "|");
+    return buscarCliente(ManejadorArchivos.CARPETA_DATOS, dni);
+  }
+  
+  public static Cliente buscarCliente(String carpeta, String dni) {
+    String linea = ManejadorArchivos.buscarLinea(carpeta, ARCHIVO, dni + "|");
     if (linea == null) {
       return null;
     }
@@ -69,12 +73,16 @@ public class ClienteDAO {
   /**
    * Carga todos los clientes.
    */
-  public static ListaEnlazada<Cliente> cargarTodos() {
-    ListaEnlazada<Cliente> clientes = new ListaEnlazada<>();
-    ListaEnlazada<String> lineas = ManejadorArchivos.leerArchivo(ARCHIVO);
+  public static ListaArreglo<Cliente> cargarTodos() {
+    return cargarTodos(ManejadorArchivos.CARPETA_DATOS);
+  }
+  
+  public static ListaArreglo<Cliente> cargarTodos(String carpeta) {
+    ListaArreglo<String> lineas = ManejadorArchivos.leerArchivo(carpeta, ARCHIVO);
+    ListaArreglo<Cliente> clientes = new ListaArreglo<>(lineas.getTamano());
     
-    for (int i = 0; i < lineas.getTamano(); i++) {
-      Cliente cliente = parsearCliente(lineas.get(i));
+    for (String linea : lineas) {
+      Cliente cliente = parsearCliente(linea);
       if (cliente != null) {
         clientes.agregarAlFinal(cliente);
       }
@@ -87,31 +95,35 @@ public class ClienteDAO {
    * Actualiza un cliente existente.
    */
   public static boolean actualizarCliente(Cliente cliente) {
-    ListaEnlazada<String> lineas = ManejadorArchivos.leerArchivo(ARCHIVO);
+    return actualizarCliente(ManejadorArchivos.CARPETA_DATOS, cliente);
+  }
+  
+  public static boolean actualizarCliente(String carpeta, Cliente cliente) {
+    ListaArreglo<String> lineas = ManejadorArchivos.leerArchivo(carpeta, ARCHIVO);
     
-    for (int i = 0; i < lineas.getTamano(); i++) {
-      String linea = lineas.get(i);
+    for (String linea : lineas) {
       if (linea.startsWith(cliente.getDni() + "|")) {
-        String vehiculos = listaAString(cliente.getPlacasVehiculos());
-        String lineaNueva = String.format("%s|%s|%s|%s|%s|%s|%s|%s|%s",
-          cliente.getDni(),
-          cliente.getNombres(),
-          cliente.getApellidos(),
-          cliente.getCorreo(),
-          cliente.getTelefono(),
-          cliente.getDireccion(),
-          cliente.getGenero(),
-          cliente.getTipoUsuario(),
-          vehiculos
-        );
-        
-        return ManejadorArchivos.actualizarLinea(ARCHIVO, linea, lineaNueva);
+        return ManejadorArchivos.actualizarLinea(carpeta, ARCHIVO, linea, lineaDe(cliente));
       }
     }
     
     return false;
   }
   
+  private static String lineaDe(Cliente cliente) {
+    return String.format("%s|%s|%s|%s|%s|%s|%s|%s|%s",
+      cliente.getDni(),
+      cliente.getNombres(),
+      cliente.getApellidos(),
+      cliente.getCorreo(),
+      cliente.getTelefono(),
+      cliente.getDireccion(),
+      cliente.getGenero(),
+      cliente.getTipoUsuario(),
+      listaAString(cliente.getPlacasVehiculos())
+    );
+  }
+  
   /**
    * Parsea una línea a objeto Cliente.
    */
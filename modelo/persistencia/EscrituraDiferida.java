@@ -0,0 +1,188 @@
+package modelo.persistencia;
+
+import modelo.estructuras.ListaArreglo;
+import modelo.estructuras.TablaHash;
+import utilidad.ManejadorArchivos;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Escritura por lotes de los archivos de una carpeta de datos, fuera del
+ * camino de las puertas: guardar una línea solo la deja pendiente (O(1)) y
+ * un hilo escritor propio la vuelca después, junto con todas las que se
+ * acumularon mientras tanto.
+ * <p>
+ * Cada línea se identifica por su clave, el texto antes del primer '|'
+ * (código de ticket, placa o DNI). Si la misma clave se guarda varias veces
+ * antes de volcarse, solo se escribe la última versión. Al volcar, cada
+ * archivo se lee y se reescribe una sola vez por lote: las claves que ya
+ * estaban se reemplazan y las nuevas se agregan al final, en el orden en que
+ * se guardaron por primera vez.
+ * <p>
+ * Quien formatea la línea lo hace bajo sus propios cerrojos, así que el
+ * escritor nunca lee entidades que otro hilo está modificando. Al terminar la
+ * JVM se vuelca lo pendiente.
+ */
+public class EscrituraDiferida {
+
+  private final String carpeta;
+  private final ReentrantLock cerrojo = new ReentrantLock();
+  private final Condition hayPendientes = cerrojo.newCondition();
+  private final Condition hayEscritos = cerrojo.newCondition();
+  private final Thread escritor;
+  private final Thread alTerminar;
+
+  // Protegidos por cerrojo
+  private ListaArreglo<String> archivos = new ListaArreglo<>();        // En orden de primer uso
+  private TablaHash<String, Lote> porArchivo = new TablaHash<>();
+  private long guardadas;   // Líneas recibidas desde el inicio
+  private long escritas;    // Líneas ya volcadas a disco
+  private boolean cerrada;
+
+  /**
+   * Líneas pendientes de un archivo, por clave y en orden de llegada.
+   */
+  private static final class Lote {
+    private final ListaArreglo<String> claves = new ListaArreglo<>();
+    private final TablaHash<String, String> lineas = new TablaHash<>();
+
+    void poner(String clave, String linea) {
+      if (lineas.poner(clave, linea) == null) {
+        claves.agregarAlFinal(clave);
+      }
+    }
+
+    ListaArreglo<String> enOrden() {
+      ListaArreglo<String> resultado = new ListaArreglo<>(claves.getTamano());
+      for (String clave : claves) {
+        resultado.agregarAlFinal(lineas.obtener(clave));
+      }
+      return resultado;
+    }
+  }
+
+  /**
+   * Crea la escritura y arranca su hilo escritor, una vez construida.
+   * @param carpeta Carpeta de datos donde están los archivos.
+   */
+  public static EscrituraDiferida abrir(String carpeta) {
+    EscrituraDiferida escritura = new EscrituraDiferida(carpeta);
+    escritura.escritor.start();
+    Runtime.getRuntime().addShutdownHook(escritura.alTerminar);
+    return escritura;
+  }
+  
+  private EscrituraDiferida(String carpeta) {
+    this.carpeta = carpeta;
+    this.escritor = new Thread(this::volcarLotes, "escritura-" + carpeta);
+    this.escritor.setDaemon(true);
+    this.alTerminar = new Thread(this::vaciar, "vaciar-" + carpeta);
+  }
+
+  /**
+   * Deja una línea pendiente de escribir en el archivo, reemplazando la
+   * versión anterior de la misma clave si todavía no se volcó.
+   * @param archivo Nombre del archivo dentro de la carpeta.
+   * @param linea Línea completa; su clave es el texto antes del primer '|'.
+   * @throws IllegalStateException si la escritura ya se cerró.
+   */
+  public void guardar(String archivo, String linea) {
+    String clave = ManejadorArchivos.claveDe(linea);
+    cerrojo.lock();
+    try {
+      if (cerrada) {
+        throw new IllegalStateException("La escritura diferida de " + carpeta + " está cerrada");
+      }
+      Lote lote = porArchivo.obtener(archivo);
+      if (lote == null) {
+        lote = new Lote();
+        porArchivo.poner(archivo, lote);
+        archivos.agregarAlFinal(archivo);
+      }
+      lote.poner(clave, linea);
+      guardadas++;
+      hayPendientes.signal();
+    } finally {
+      cerrojo.unlock();
+    }
+  }
+
+  /**
+   * Espera a que todo lo guardado hasta ahora esté escrito en disco.
+   */
+  public void vaciar() {
+    cerrojo.lock();
+    try {
+      long objetivo = guardadas;
+      while (escritas < objetivo && escritor.isAlive()) {
+        hayEscritos.awaitUninterruptibly();
+      }
+    } finally {
+      cerrojo.unlock();
+    }
+  }
+
+  /**
+   * Vuelca lo pendiente, deja de aceptar líneas y termina el hilo escritor.
+   */
+  public void cerrar() {
+    cerrojo.lock();
+    try {
+      cerrada = true;
+      hayPendientes.signal();
+    } finally {
+      cerrojo.unlock();
+    }
+    try {
+      escritor.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    try {
+      Runtime.getRuntime().removeShutdownHook(alTerminar);
+    } catch (IllegalStateException e) {
+      // La JVM ya está terminando: el gancho corre igual y no espera nada
+    }
+  }
+
+  // ============================================================================
+  // HILO ESCRITOR
+  // ============================================================================
+
+  private void volcarLotes() {
+    while (true) {
+      ListaArreglo<String> archivosLote;
+      TablaHash<String, Lote> lote;
+      long hasta;
+      cerrojo.lock();
+      try {
+        while (archivos.estaVacia() && !cerrada) {
+          hayPendientes.awaitUninterruptibly();
+        }
+        if (archivos.estaVacia()) {
+          hayEscritos.signalAll();
+          return; // Cerrada y sin pendientes
+        }
+        archivosLote = archivos;
+        lote = porArchivo;
+        hasta = guardadas;
+        archivos = new ListaArreglo<>();
+        porArchivo = new TablaHash<>();
+      } finally {
+        cerrojo.unlock();
+      }
+
+      for (String archivo : archivosLote) {
+        ManejadorArchivos.guardarLineasPorClave(carpeta, archivo, lote.obtener(archivo).enOrden());
+      }
+
+      cerrojo.lock();
+      try {
+        escritas = hasta;
+        hayEscritos.signalAll();
+      } finally {
+        cerrojo.unlock();
+      }
+    }
+  }
+}
@@ -0,0 +1,104 @@
+package modelo.persistencia;
+
+import modelo.entidades.Plaza;
+import modelo.entidades.Reserva;
+import modelo.estructuras.ListaArreglo;
+import utilidad.ManejadorArchivos;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * DAO para gestionar reservas en archivo TXT.
+ * Formato: codigo|placa|piso|sector|numero|inicio|fin
+ * Solo se guardan las reservas pendientes: al usarse, cancelarse o vencer se
+ * eliminan del archivo.
+ */
+public class ReservaDAO {
+
+  private static final String ARCHIVO = "reservas.txt";
+  private static final DateTimeFormatter FORMATO = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+  /**
+   * Guarda una reserva en el archivo.
+   */
+  public static boolean guardarReserva(Reserva reserva) {
+    return guardarReserva(ManejadorArchivos.CARPETA_DATOS, reserva);
+  }
+  
+  public static boolean guardarReserva(String carpeta, Reserva reserva) {
+    String linea = String.format("%s|%s|%d|%c|%d|%s|%s",
+      reserva.getCodigo(),
+      reserva.getPlaca(),
+      reserva.getPlaza().getPiso(),
+      reserva.getPlaza().getSector(),
+      reserva.getPlaza().getNumero(),
+      reserva.getInicio().format(FORMATO),
+      reserva.getFin().format(FORMATO)
+    );
+
+    return ManejadorArchivos.agregarLinea(carpeta, ARCHIVO, linea);
+  }
+
+  /**
+   * Elimina una reserva del archivo.
+   */
+  public static boolean eliminarReserva(String codigo) {
+    return eliminarReserva(ManejadorArchivos.CARPETA_DATOS, codigo);
+  }
+  
+  public static boolean eliminarReserva(String carpeta, String codigo) {
+    String linea = ManejadorArchivos.buscarLinea(carpeta, ARCHIVO, codigo + "|");
+    if (linea == null) {
+      return false;
+    }
+
+    return ManejadorArchivos.eliminarLinea(carpeta, ARCHIVO, linea);
+  }
+
+  /**
+   * Carga todas las reservas del archivo.
+   */
+  public static ListaArreglo<Reserva> cargarTodas() {
+    return cargarTodas(ManejadorArchivos.CARPETA_DATOS);
+  }
+  
+  public static ListaArreglo<Reserva> cargarTodas(String carpeta) {
+    ListaArreglo<String> lineas = ManejadorArchivos.leerArchivo(carpeta, ARCHIVO);
+    ListaArreglo<Reserva> reservas = new ListaArreglo<>(lineas.getTamano());
+
+    for (String linea : lineas) {
+      Reserva reserva = parsearReserva(linea);
+      if (reserva != null) {
+        reservas.agregarAlFinal(reserva);
+      }
+    }
+
+    return reservas;
+  }
+
+  /**
+   * Parsea una línea a objeto Reserva.
+   * Nota: la plaza solo trae sus coordenadas; el gestor la reemplaza por la real.
+   */
+  private static Reserva parsearReserva(String linea) {
+    try {
+      String[] datos = linea.split("\\|");
+      if (datos.length < 7) {
+        return null;
+      }
+
+      String codigo = datos[0];
+      String placa = datos[1];
+      int piso = Integer.parseInt(datos[2]);
+      char sector = datos[3].charAt(0);
+      int numero = Integer.parseInt(datos[4]);
+      LocalDateTime inicio = LocalDateTime.parse(datos[5], FORMATO);
+      LocalDateTime fin = LocalDateTime.parse(datos[6], FORMATO);
+
+      return new Reserva(codigo, placa, new Plaza(numero, piso, sector), inicio, fin);
+    } catch (Exception e) {
+      System.err.println("Error al parsear reserva: " + e.getMessage());
+      return null;
+    }
+  }
+}
@@ -4,7 +4,7 @@ import modelo.entidades.Ticket;
 import modelo.entidades.Ticket.EstadoTicket;
 import modelo.entidades.Vehiculo;
 import modelo.entidades.Plaza;
-import modelo.estructuras.ListaEnlazada;
+import modelo.estructuras.ListaArreglo;
 import utilidad.ManejadorArchivos;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -23,40 +23,39 @@ public class TicketDAO {
    * Si ya existe, lo actualiza.
    */
   public static boolean guardarTicket(Ticket ticket) {
+    return guardarTicket(ManejadorArchivos.CARPETA_DATOS, ticket);
+  }
+  
+  public static boolean guardarTicket(String carpeta, Ticket ticket) {
     // Verificar si ya existe
-    if (buscarTicket(ticket.getCodigo()) != null) {
-      return actualizarTicket(ticket);
+    if (buscarTicket(carpeta, ticket.getCodigo()) != null) {
+      return actualizarTicket(carpeta, ticket);
     }
     
-    String horaSalida = ticket.getHoraSalida() != null 
-                        ? ticket.getHoraSalida().format(FORMATO) 
-                        : "null";
-    
-    String linea = String.format("%s|%s|%d|%c|%d|%s|%s|%.2f|%s|%s",
-      ticket.getCodigo(),
-      ticket.getVehiculo().getPlaca(),
-      ticket.getPlaza().getPiso(),
-      ticket.getPlaza().getSector(),
-      ticket.getPlaza().getNumero(),
-      ticket.getHoraIngreso().format(FORMATO),
-      horaSalida,
-      ticket.getMontoAPagar(),
-      ticket.isPagado(),
-      ticket.getEstado()
-    );
-    
-    return ManejadorArchivos.agregarLinea(ARCHIVO, linea);
+    return ManejadorArchivos.agregarLinea(carpeta, ARCHIVO, lineaDe(ticket));
+  }
+  
+  /**
+   * Deja el ticket pendiente en una escritura diferida: se vuelca después,
+   * en lote, reemplazando la línea anterior del mismo código si existe.
+   */
+  public static void guardarTicket(EscrituraDiferida escritura, Ticket ticket) {
+    escritura.guardar(ARCHIVO, lineaDe(ticket));
   }
   
   /**
    * Carga todos los tickets del archivo.
    */
-  public static ListaEnlazada<Ticket> cargarTodos() {
-    ListaEnlazada<Ticket> tickets = new ListaEnlazada<>();
-    ListaEnlazada<String> lineas = ManejadorArchivos.leerArchivo(ARCHIVO);
+  public static ListaArreglo<Ticket> cargarTodos() {
+    return cargarTodos(ManejadorArchivos.CARPETA_DATOS);
+  }
+  
+  public static ListaArreglo<Ticket> cargarTodos(String carpeta) {
+    ListaArreglo<String> lineas = ManejadorArchivos.leerArchivo(carpeta, ARCHIVO);
+    ListaArreglo<Ticket> tickets = new ListaArreglo<>(lineas.getTamano());
     
-    for (int i = 0; i < lineas.getTamano(); i++) {
-      Ticket ticket = parsearTicket(lineas.get(i));
+    for (String linea : lineas) {
+      Ticket ticket = parsearTicket(carpeta, linea);
       if (ticket != null) {
         tickets.agregarAlFinal(ticket);
       }
@@ -69,40 +68,45 @@ public class TicketDAO {
    * Actualiza un ticket existente.
    */
   public static boolean actualizarTicket(Ticket ticket) {
-    ListaEnlazada<String> lineas = ManejadorArchivos.leerArchivo(ARCHIVO);
+    return actualizarTicket(ManejadorArchivos.CARPETA_DATOS, ticket);
+  }
+  
+  public static boolean actualizarTicket(String carpeta, Ticket ticket) {
+    ListaArreglo<String> lineas = ManejadorArchivos.leerArchivo(carpeta, ARCHIVO);
     
-    for (int i = 0; i < lineas.getTamano(); i++) {
-      String linea = lineas.get(i);
+    for (String linea : lineas) {
       if (linea.startsWith(ticket.getCodigo() + "|")) {
-        String horaSalida = ticket.getHoraSalida() != null 
-                            ? ticket.getHoraSalida().format(FORMATO) 
-                            : "null";
-        
-        String lineaNueva = String.format("%s|%s|%d|%c|%d|%s|%s|%.2f|%s|%s",
-          ticket.getCodigo(),
-          ticket.getVehiculo().getPlaca(),
-          ticket.getPlaza().getPiso(),
-          ticket.getPlaza().getSector(),
-          ticket.getPlaza().getNumero(),
-          ticket.getHoraIngreso().format(FORMATO),
-          horaSalida,
-          ticket.getMontoAPagar(),
-          ticket.isPagado(),
-          ticket.getEstado()
-        );
-        
-        return ManejadorArchivos.actualizarLinea(ARCHIVO, linea, lineaNueva);
+        return ManejadorArchivos.actualizarLinea(carpeta, ARCHIVO, linea, lineaDe(ticket));
       }
     }
     
     return false;
   }
   
+  private static String lineaDe(Ticket ticket) {
+    String horaSalida = ticket.getHoraSalida() != null 
+                        ? ticket.getHoraSalida().format(FORMATO) 
+                        : "null";
+    
+    return String.format("%s|%s|%d|%c|%d|%s|%s|%.2f|%s|%s",
+      ticket.getCodigo(),
+      ticket.getVehiculo().getPlaca(),
+      ticket.getPlaza().getPiso(),
+      ticket.getPlaza().getSector(),
+      ticket.getPlaza().getNumero(),
+      ticket.getHoraIngreso().format(FORMATO),
+      horaSalida,
+      ticket.getMontoAPagar(),
+      ticket.isPagado(),
+      ticket.getEstado()
+    );
+  }
+  
   /**
    * Parsea una línea a objeto Ticket.
-   * Nota: Requiere cargar el vehículo desde VehiculoDAO.
+   * Nota: Requiere cargar el vehículo desde VehiculoDAO (misma carpeta).
    */
-  private static Ticket parsearTicket(String linea) {
+  private static Ticket parsearTicket(String carpeta, String linea) {
     try {
       String[] datos = linea.split("\\|");
       if (datos.length < 10) {
@@ -121,13 +125,13 @@ public class TicketDAO {
       EstadoTicket estado = EstadoTicket.valueOf(datos[9]);
       
       // Buscar vehículo
-      Vehiculo vehiculo = VehiculoDAO.buscarVehiculo(placa);
+      Vehiculo vehiculo = VehiculoDAO.buscarVehiculo(carpeta, placa);
       if (vehiculo == null) {
         System.err.println("Vehículo no encontrado para ticket: " + codigo);
         return null;
       }
       
-      // Crear plaza temporal (constructor: numero, piso, sector)
+      // Plaza con solo sus coordenadas: el gestor la reemplaza por la plaza real
       Plaza plaza = new Plaza(numero, piso, sector);
       
       // Crear ticket
@@ -146,11 +150,15 @@ public class TicketDAO {
    * Busca un ticket por código.
    */
   public static Ticket buscarTicket(String codigo) {
-    String linea = ManejadorArchivos.buscarLinea(ARCHIVO, codigo + "|");
+    return buscarTicket(ManejadorArchivos.CARPETA_DATOS, codigo);
+  }
+  
+  public static Ticket buscarTicket(String carpeta, String codigo) {
+    String linea = ManejadorArchivos.buscarLinea(carpeta, ARCHIVO, codigo + "|");
     if (linea == null) {
       return null;
     }
     
-    return parsearTicket(linea);
+    return parsearTicket(carpeta, linea);
   }
 }
@@ -0,0 +1,141 @@
+package modelo.persistencia;
+
+import modelo.entidades.Topologia;
+import modelo.entidades.TipoVehiculo;
+import modelo.estructuras.ListaArreglo;
+import utilidad.ManejadorArchivos;
+
+/**
+ * DAO para la topología del estacionamiento en archivo TXT.
+ * Formato: pisos|sectores|plazasPorSector|tipoPermitido
+ * pisos y sectores admiten un valor o un rango (ej: 1-3|C-D|40|AUTO);
+ * tipoPermitido "-" = sin restricción. Las líneas que empiezan con # son
+ * comentarios. Las plazas se numeran por piso y luego por sector, sin
+ * importar el orden de las líneas.
+ */
+public class TopologiaDAO {
+
+  private static final String ARCHIVO = "topologia.txt";
+  private static final int PISO_MAXIMO = 999;
+  private static final int NUM_SECTORES = 26;
+
+  /**
+   * Carga la topología del archivo. Si no existe o no tiene tramos válidos,
+   * guarda y devuelve la topología por defecto. Las líneas inválidas se
+   * informan y se omiten.
+   */
+  public static Topologia cargar() {
+    return cargar(ManejadorArchivos.CARPETA_DATOS);
+  }
+  
+  public static Topologia cargar(String carpeta) {
+    ListaArreglo<String> lineas = ManejadorArchivos.leerArchivo(carpeta, ARCHIVO);
+    int[][] cantidades = new int[PISO_MAXIMO + 1][];
+    TipoVehiculo[][] tipos = new TipoVehiculo[PISO_MAXIMO + 1][];
+    int pisoMaximo = 0;
+
+    for (String linea : lineas) {
+      if (linea.trim().startsWith("#")) {
+        continue;
+      }
+      try {
+        String[] datos = linea.split("\\|");
+        if (datos.length < 4) {
+          throw new IllegalArgumentException("se esperaban 4 campos");
+        }
+        int[] pisos = parsearRango(datos[0].trim(), false);
+        int[] sectores = parsearRango(datos[1].trim().toUpperCase(), true);
+        int cantidad = Integer.parseInt(datos[2].trim());
+        String tipoStr = datos[3].trim().toUpperCase();
+        TipoVehiculo tipo = tipoStr.equals("-") ? null : TipoVehiculo.valueOf(tipoStr);
+        if (pisos[0] < 1 || pisos[1] > PISO_MAXIMO) {
+          throw new IllegalArgumentException("piso fuera de rango (1-" + PISO_MAXIMO + ")");
+        }
+        if (cantidad <= 0) {
+          throw new IllegalArgumentException("la cantidad de plazas debe ser mayor a 0");
+        }
+        for (int piso = pisos[0]; piso <= pisos[1]; piso++) {
+          if (cantidades[piso] == null) {
+            cantidades[piso] = new int[NUM_SECTORES];
+            tipos[piso] = new TipoVehiculo[NUM_SECTORES];
+          }
+          for (int s = sectores[0]; s <= sectores[1]; s++) {
+            cantidades[piso][s] = cantidad; // Una línea posterior redefine el tramo
+            tipos[piso][s] = tipo;
+          }
+        }
+        pisoMaximo = Math.max(pisoMaximo, pisos[1]);
+      } catch (Exception e) {
+        System.err.println("Línea de topología inválida (" + e.getMessage() + "): " + linea);
+      }
+    }
+
+    if (pisoMaximo == 0) {
+      Topologia porDefecto = Topologia.porDefecto();
+      guardar(carpeta, porDefecto);
+      return porDefecto;
+    }
+
+    Topologia topologia = new Topologia();
+    for (int piso = 1; piso <= pisoMaximo; piso++) {
+      if (cantidades[piso] == null) {
+        continue;
+      }
+      for (int s = 0; s < NUM_SECTORES; s++) {
+        if (cantidades[piso][s] > 0) {
+          topologia.agregarTramo(piso, (char) ('A' + s), cantidades[piso][s], tipos[piso][s]);
+        }
+      }
+    }
+    return topologia;
+  }
+
+  /**
+   * Guarda la topología en el archivo (sobrescribe), un tramo por línea.
+   */
+  public static boolean guardar(Topologia topologia) {
+    return guardar(ManejadorArchivos.CARPETA_DATOS, topologia);
+  }
+  
+  public static boolean guardar(String carpeta, Topologia topologia) {
+    ListaArreglo<String> lineas = new ListaArreglo<>(topologia.getNumTramos() + 1);
+    lineas.agregarAlFinal("# pisos|sectores|plazasPorSector|tipoPermitido");
+    for (int tramo = 0; tramo < topologia.getNumTramos(); tramo++) {
+      TipoVehiculo tipo = topologia.getTipoTramo(tramo);
+      lineas.agregarAlFinal(String.format("%d|%c|%d|%s",
+        topologia.getPisoTramo(tramo),
+        topologia.getSectorTramo(tramo),
+        topologia.getCantidadTramo(tramo),
+        tipo == null ? "-" : tipo.name()
+      ));
+    }
+    return ManejadorArchivos.escribirArchivo(carpeta, ARCHIVO, lineas);
+  }
+
+  /**
+   * Parsea "x" o "x-y" a {desde, hasta}. Los sectores se devuelven como
+   * posición desde 'A'.
+   */
+  private static int[] parsearRango(String texto, boolean esSector) {
+    String[] partes = texto.split("-");
+    if (partes.length < 1 || partes.length > 2) {
+      throw new IllegalArgumentException("rango inválido: " + texto);
+    }
+    int desde = parsearValor(partes[0].trim(), esSector);
+    int hasta = partes.length == 2 ? parsearValor(partes[1].trim(), esSector) : desde;
+    if (hasta < desde) {
+      throw new IllegalArgumentException("rango invertido: " + texto);
+    }
+    return new int[]{desde, hasta};
+  }
+
+  private static int parsearValor(String texto, boolean esSector) {
+    if (!esSector) {
+      return Integer.parseInt(texto);
+    }
+    if (texto.length() != 1 || texto.charAt(0) < 'A' || texto.charAt(0) > 'Z') {
+      throw new IllegalArgumentException("sector inválido: " + texto);
+    }
+    return texto.charAt(0) - 'A';
+  }
+}
@@ -1,7 +1,7 @@
 package modelo.persistencia;
 
 import utilidad.ManejadorArchivos;
-import modelo.estructuras.ListaEnlazada;
+import modelo.estructuras.ListaArreglo;
 
 /**
  * DAO para gestionar usuarios en archivo TXT.
@@ -18,10 +18,10 @@ public class UsuarioDAO {
    * @return Tipo de usuario (ADMINISTRADOR/CONSUMIDOR) o null si no es válido
    */
   public static String validarCredenciales(String usuario, String contrasena) {
-    ListaEnlazada<String> lineas = ManejadorArchivos.leerArchivo(ARCHIVO);
+    ListaArreglo<String> lineas = ManejadorArchivos.leerArchivo(ARCHIVO);
     
-    for (int i = 0; i < lineas.getTamano(); i++) {
-      String[] datos = lineas.get(i).split("\\|");
+    for (String linea : lineas) {
+      String[] datos = linea.split("\\|");
       if (datos.length == 3) {
         String user = datos[0];
         String pass = datos[1];
@@ -69,10 +69,9 @@ public class UsuarioDAO {
    * @return true si fue exitoso
    */
   public static boolean actualizarContrasena(String usuario, String nuevaContrasena) {
-    ListaEnlazada<String> lineas = ManejadorArchivos.leerArchivo(ARCHIVO);
+    ListaArreglo<String> lineas = ManejadorArchivos.leerArchivo(ARCHIVO);
     
-    for (int i = 0; i < lineas.getTamano(); i++) {
-      String linea = lineas.get(i);
+    for (String linea : lineas) {
       String[] datos = linea.split("\\|");
       
       if (datos.length == 3 && datos[0].equals(usuario)) {
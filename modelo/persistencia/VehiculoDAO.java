@@ -2,7 +2,7 @@ package modelo.persistencia;
 
 import modelo.entidades.Vehiculo;
 import modelo.entidades.TipoVehiculo;
-import modelo.estructuras.ListaEnlazada;
+import modelo.estructuras.ListaArreglo;
 import utilidad.ManejadorArchivos;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -20,29 +20,35 @@ public class VehiculoDAO {
    * Guarda un vehículo en el archivo.
    */
   public static boolean guardarVehiculo(Vehiculo vehiculo) {
+    return guardarVehiculo(ManejadorArchivos.CARPETA_DATOS, vehiculo);
+  }
+  
+  public static boolean guardarVehiculo(String carpeta, Vehiculo vehiculo) {
     // Verificar si ya existe
-    if (buscarVehiculo(vehiculo.getPlaca()) != null) {
-      return actualizarVehiculo(vehiculo);
+    if (buscarVehiculo(carpeta, vehiculo.getPlaca()) != null) {
+      return actualizarVehiculo(carpeta, vehiculo);
     }
     
-    String linea = String.format("%s|%s|%s|%s|%s|%s|%s",
-      vehiculo.getPlaca(),
-      vehiculo.getTipo(),
-      vehiculo.getPropietario(),
-      vehiculo.getMarca() != null ? vehiculo.getMarca() : "",
-      vehiculo.getModelo() != null ? vehiculo.getModelo() : "",
-      vehiculo.getColor() != null ? vehiculo.getColor() : "",
-      vehiculo.getFechaRegistro().format(FORMATO)
-    );
-    
-    return ManejadorArchivos.agregarLinea(ARCHIVO, linea);
+    return ManejadorArchivos.agregarLinea(carpeta, ARCHIVO, lineaDe(vehiculo));
+  }
+  
+  /**
+   * Deja el vehículo pendiente en una escritura diferida: se vuelca después,
+   * en lote, reemplazando la línea anterior de la misma placa si existe.
+   */
+  public static void guardarVehiculo(EscrituraDiferida escritura, Vehiculo vehiculo) {
+    escritura.guardar(ARCHIVO, lineaDe(vehiculo));
   }
   
   /**
    * Busca un vehículo por placa.
    */
   public static Vehiculo buscarVehiculo(String placa) {
-    String linea = ManejadorArchivos.buscarLinea(ARCHIVO, placa.toUpperCase() + "|");
+    return buscarVehiculo(ManejadorArchivos.CARPETA_DATOS, placa);
+  }
+  
+  public static Vehiculo buscarVehiculo(String carpeta, String placa) {
+    String linea = ManejadorArchivos.buscarLinea(carpeta, ARCHIVO, placa.toUpperCase() + "|");
     if (linea == null) {
       return null;
     }
@@ -53,12 +59,16 @@ public class VehiculoDAO {
   /**
    * Carga todos los vehículos.
    */
-  public static ListaEnlazada<Vehiculo> cargarTodos() {
-    ListaEnlazada<Vehiculo> vehiculos = new ListaEnlazada<>();
-    ListaEnlazada<String> lineas = ManejadorArchivos.leerArchivo(ARCHIVO);
+  public static ListaArreglo<Vehiculo> cargarTodos() {
+    return cargarTodos(ManejadorArchivos.CARPETA_DATOS);
+  }
+  
+  public static ListaArreglo<Vehiculo> cargarTodos(String carpeta) {
+    ListaArreglo<String> lineas = ManejadorArchivos.leerArchivo(carpeta, ARCHIVO);
+    ListaArreglo<Vehiculo> vehiculos = new ListaArreglo<>(lineas.getTamano());
     
-    for (int i = 0; i < lineas.getTamano(); i++) {
-      Vehiculo vehiculo = parsearVehiculo(lineas.get(i));
+    for (String linea : lineas) {
+      Vehiculo vehiculo = parsearVehiculo(linea);
       if (vehiculo != null) {
         vehiculos.agregarAlFinal(vehiculo);
       }
@@ -71,28 +81,33 @@ public class VehiculoDAO {
    * Actualiza un vehículo existente.
    */
   public static boolean actualizarVehiculo(Vehiculo vehiculo) {
-    ListaEnlazada<String> lineas = ManejadorArchivos.leerArchivo(ARCHIVO);
+    return actualizarVehiculo(ManejadorArchivos.CARPETA_DATOS, vehiculo);
+  }
+  
+  public static boolean actualizarVehiculo(String carpeta, Vehiculo vehiculo) {
+    ListaArreglo<String> lineas = ManejadorArchivos.leerArchivo(carpeta, ARCHIVO);
     
-    for (int i = 0; i < lineas.getTamano(); i++) {
-      String linea = lineas.get(i);
+    for (String linea : lineas) {
       if (linea.toUpperCase().startsWith(vehiculo.getPlaca().toUpperCase() + "|")) {
-        String lineaNueva = String.format("%s|%s|%s|%s|%s|%s|%s",
-          vehiculo.getPlaca(),
-          vehiculo.getTipo(),
-          vehiculo.getPropietario(),
-          vehiculo.getMarca() != null ? vehiculo.getMarca() : "",
-          vehiculo.getModelo() != null ? vehiculo.getModelo() : "",
-          vehiculo.getColor() != null ? vehiculo.getColor() : "",
-          vehiculo.getFechaRegistro().format(FORMATO)
-        );
-        
-        return ManejadorArchivos.actualizarLinea(ARCHIVO, linea, lineaNueva);
+        return ManejadorArchivos.actualizarLinea(carpeta, ARCHIVO, linea, lineaDe(vehiculo));
       }
     }
     
     return false;
   }
   
+  private static String lineaDe(Vehiculo vehiculo) {
+    return String.format("%s|%s|%s|%s|%s|%s|%s",
+      vehiculo.getPlaca(),
+      vehiculo.getTipo(),
+      vehiculo.getPropietario(),
+      vehiculo.getMarca() != null ? vehiculo.getMarca() : "",
+      vehiculo.getModelo() != null ? vehiculo.getModelo() : "",
+      vehiculo.getColor() != null ? vehiculo.getColor() : "",
+      vehiculo.getFechaRegistro().format(FORMATO)
+    );
+  }
+  
   /**
    * Parsea una línea a objeto Vehiculo.
    */
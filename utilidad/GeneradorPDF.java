@@ -40,8 +40,7 @@ public class GeneradorPDF {
       int countActivos = 0;
       int countFinalizados = 0;
       
-      for (int i = 0; i < tickets.getTamano(); i++) {
-        Ticket ticket = tickets.get(i);
+      for (Ticket ticket : tickets) {
         
         String fechaIngreso = ticket.getHoraIngreso().format(FORMATO_FECHA);
         String plaza = "P" + ticket.getPlaza().getPiso() + 
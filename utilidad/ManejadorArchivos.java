@@ -2,6 +2,10 @@ package utilidad;
 
 import java.io.*;
 import java.nio.file.*;
+import java.util.concurrent.ConcurrentHashMap;
+import modelo.estructuras.ILista;
+import modelo.estructuras.ListaArreglo;
+import modelo.estructuras.TablaHash;
 import modelo.estructuras.ListaEnlazada;
 
 /**
@@ -10,7 +14,12 @@ import modelo.estructuras.ListaEnlazada;
  */
 public class ManejadorArchivos {
   
-  private static final String CARPETA_DATOS = "datos";
+  /** Carpeta de datos de la sede principal (la de siempre). */
+  public static final String CARPETA_DATOS = "datos";
+  
+  // Un cerrojo por ruta: cada lectura o reescritura de un archivo es atómica
+  // frente a los demás hilos, sin bloquear a los que usan otros archivos
+  private static final ConcurrentHashMap<String, Object> CERROJOS = new ConcurrentHashMap<>();
   
   static {
     // Crear carpeta de datos si no existe
@@ -21,34 +30,62 @@ public class ManejadorArchivos {
     }
   }
   
+  /**
+   * Crea una carpeta de datos (por ejemplo, la de una sede) si no existe.
+   * @param carpeta Ruta de la carpeta
+   */
+  public static void crearCarpeta(String carpeta) {
+    try {
+      Files.createDirectories(Paths.get(carpeta));
+    } catch (IOException e) {
+      System.err.println("Error al crear carpeta de datos " + carpeta + ": " + e.getMessage());
+    }
+  }
+  
+  private static Object cerrojo(String carpeta, String nombreArchivo) {
+    String ruta = new File(carpeta, nombreArchivo).getAbsolutePath();
+    return CERROJOS.computeIfAbsent(ruta, r -> new Object());
+  }
+  
   /**
    * Lee todas las líneas de un archivo.
    * @param nombreArchivo Nombre del archivo (ej: "usuarios.txt")
-   * @return Lista de líneas del archivo
+   * @return Lista de líneas del archivo (respaldada por arreglo para acceso O(1))
+   */
+  public static ListaArreglo<String> leerArchivo(String nombreArchivo) {
+    return leerArchivo(CARPETA_DATOS, nombreArchivo);
+  }
+  
+  /**
+   * Lee todas las líneas de un archivo de la carpeta indicada.
+   * @param carpeta Carpeta de datos (ej: la de una sede)
+   * @param nombreArchivo Nombre del archivo
    */
-  public static ListaEnlazada<String> leerArchivo(String nombreArchivo) {
-    ListaEnlazada<String> lineas = new ListaEnlazada<>();
-    String ruta = CARPETA_DATOS + File.separator + nombreArchivo;
+  public static ListaArreglo<String> leerArchivo(String carpeta, String nombreArchivo) {
+    synchronized (cerrojo(carpeta, nombreArchivo)) {
+      ListaArreglo<String> lineas = new ListaArreglo<>();
+      String ruta = carpeta + File.separator + nombreArchivo;
     
-    try {
-      File archivo = new File(ruta);
-      if (!archivo.exists()) {
-        return lineas; // Retorna lista vacía si no existe
-      }
+      try {
+        File archivo = new File(ruta);
+        if (!archivo.exists()) {
+          return lineas; // Retorna lista vacía si no existe
+        }
       
-      BufferedReader reader = new BufferedReader(new FileReader(archivo));
-      String linea;
-      while ((linea = reader.readLine()) != null) {
-        if (!linea.trim().isEmpty()) {
-          lineas.agregarAlFinal(linea);
+        BufferedReader reader = new BufferedReader(new FileReader(archivo));
+        String linea;
+        while ((linea = reader.readLine()) != null) {
+          if (!linea.trim().isEmpty()) {
+            lineas.agregarAlFinal(linea);
+          }
         }
+        reader.close();
+      } catch (IOException e) {
+        System.err.println("Error al leer archivo " + nombreArchivo + ": " + e.getMessage());
       }
-      reader.close();
-    } catch (IOException e) {
-      System.err.println("Error al leer archivo " + nombreArchivo + ": " + e.getMessage());
-    }
     
-    return lineas;
+      return lineas;
+    }
   }
   
   /**
@@ -57,20 +94,26 @@ public class ManejadorArchivos {
    * @param lineas Lista de líneas a escribir
    * @return true si fue exitoso
    */
-  public static boolean escribirArchivo(String nombreArchivo, ListaEnlazada<String> lineas) {
-    String ruta = CARPETA_DATOS + File.separator + nombreArchivo;
+  public static boolean escribirArchivo(String nombreArchivo, ILista<String> lineas) {
+    return escribirArchivo(CARPETA_DATOS, nombreArchivo, lineas);
+  }
+  
+  public static boolean escribirArchivo(String carpeta, String nombreArchivo, ILista<String> lineas) {
+    synchronized (cerrojo(carpeta, nombreArchivo)) {
+      String ruta = carpeta + File.separator + nombreArchivo;
     
-    try {
-      BufferedWriter writer = new BufferedWriter(new FileWriter(ruta));
-      for (int i = 0; i < lineas.getTamano(); i++) {
-        writer.write(lineas.get(i));
-        writer.newLine();
+      try {
+        BufferedWriter writer = new BufferedWriter(new FileWriter(ruta));
+        for (String linea : lineas) {
+          writer.write(linea);
+          writer.newLine();
+        }
+        writer.close();
+        return true;
+      } catch (IOException e) {
+        System.err.println("Error al escribir archivo " + nombreArchivo + ": " + e.getMessage());
+        return false;
       }
-      writer.close();
-      return true;
-    } catch (IOException e) {
-      System.err.println("Error al escribir archivo " + nombreArchivo + ": " + e.getMessage());
-      return false;
     }
   }
   
@@ -81,17 +124,23 @@ public class ManejadorArchivos {
    * @return true si fue exitoso
    */
   public static boolean agregarLinea(String nombreArchivo, String linea) {
-    String ruta = CARPETA_DATOS + File.separator + nombreArchivo;
+    return agregarLinea(CARPETA_DATOS, nombreArchivo, linea);
+  }
+  
+  public static boolean agregarLinea(String carpeta, String nombreArchivo, String linea) {
+    synchronized (cerrojo(carpeta, nombreArchivo)) {
+      String ruta = carpeta + File.separator + nombreArchivo;
     
-    try {
-      BufferedWriter writer = new BufferedWriter(new FileWriter(ruta, true));
-      writer.write(linea);
-      writer.newLine();
-      writer.close();
-      return true;
-    } catch (IOException e) {
-      System.err.println("Error al agregar línea en " + nombreArchivo + ": " + e.getMessage());
-      return false;
+      try {
+        BufferedWriter writer = new BufferedWriter(new FileWriter(ruta, true));
+        writer.write(linea);
+        writer.newLine();
+        writer.close();
+        return true;
+      } catch (IOException e) {
+        System.err.println("Error al agregar línea en " + nombreArchivo + ": " + e.getMessage());
+        return false;
+      }
     }
   }
   
@@ -102,9 +151,12 @@ public class ManejadorArchivos {
    * @return La línea encontrada o null
    */
   public static String buscarLinea(String nombreArchivo, String textoBuscar) {
-    ListaEnlazada<String> lineas = leerArchivo(nombreArchivo);
-    for (int i = 0; i < lineas.getTamano(); i++) {
-      String linea = lineas.get(i);
+    return buscarLinea(CARPETA_DATOS, nombreArchivo, textoBuscar);
+  }
+  
+  public static String buscarLinea(String carpeta, String nombreArchivo, String textoBuscar) {
+    ListaArreglo<String> lineas = leerArchivo(carpeta, nombreArchivo);
+    for (String linea : lineas) {
       if (linea.contains(textoBuscar)) {
         return linea;
       }
@@ -119,12 +171,18 @@ public class ManejadorArchivos {
    * @return true si fue exitoso
    */
   public static boolean eliminarLinea(String nombreArchivo, String lineaEliminar) {
-    ListaEnlazada<String> lineas = leerArchivo(nombreArchivo);
-    boolean removido = lineas.eliminar(lineaEliminar);
-    if (removido) {
-      return escribirArchivo(nombreArchivo, lineas);
+    return eliminarLinea(CARPETA_DATOS, nombreArchivo, lineaEliminar);
+  }
+  
+  public static boolean eliminarLinea(String carpeta, String nombreArchivo, String lineaEliminar) {
+    synchronized (cerrojo(carpeta, nombreArchivo)) {
+      ListaArreglo<String> lineas = leerArchivo(carpeta, nombreArchivo);
+      boolean removido = lineas.eliminar(lineaEliminar);
+      if (removido) {
+        return escribirArchivo(carpeta, nombreArchivo, lineas);
+      }
+      return false;
     }
-    return false;
   }
   
   /**
@@ -135,37 +193,91 @@ public class ManejadorArchivos {
    * @return true si fue exitoso
    */
   public static boolean actualizarLinea(String nombreArchivo, String lineaAntigua, String lineaNueva) {
-    ListaEnlazada<String> lineas = leerArchivo(nombreArchivo);
-    ListaEnlazada<String> nuevasLineas = new ListaEnlazada<>();
+    return actualizarLinea(CARPETA_DATOS, nombreArchivo, lineaAntigua, lineaNueva);
+  }
+  
+  public static boolean actualizarLinea(String carpeta, String nombreArchivo, String lineaAntigua, String lineaNueva) {
+    synchronized (cerrojo(carpeta, nombreArchivo)) {
+      ListaArreglo<String> lineas = leerArchivo(carpeta, nombreArchivo);
+      ListaArreglo<String> nuevasLineas = new ListaArreglo<>(lineas.getTamano());
     
-    for (int i = 0; i < lineas.getTamano(); i++) {
-      if (lineas.get(i).equals(lineaAntigua)) {
-        nuevasLineas.agregarAlFinal(lineaNueva);
-      } else {
-        nuevasLineas.agregarAlFinal(lineas.get(i));
+      for (String linea : lineas) {
+        if (linea.equals(lineaAntigua)) {
+          nuevasLineas.agregarAlFinal(lineaNueva);
+        } else {
+          nuevasLineas.agregarAlFinal(linea);
+        }
+      }
+      return escribirArchivo(carpeta, nombreArchivo, nuevasLineas);
+    }
+  }
+  
+  /**
+   * Guarda un lote de líneas identificadas por clave (el texto antes del
+   * primer '|'): reemplaza las que ya están en el archivo y agrega las demás
+   * al final. Lee y reescribe el archivo una sola vez para todo el lote.
+   * @param carpeta Carpeta de datos
+   * @param nombreArchivo Nombre del archivo
+   * @param lineas Líneas a guardar, a lo sumo una por clave
+   * @return true si fue exitoso
+   */
+  public static boolean guardarLineasPorClave(String carpeta, String nombreArchivo, ILista<String> lineas) {
+    synchronized (cerrojo(carpeta, nombreArchivo)) {
+      TablaHash<String, String> porClave = new TablaHash<>(lineas.getTamano());
+      for (String linea : lineas) {
+        porClave.poner(claveDe(linea), linea);
+      }
+
+      ListaArreglo<String> actuales = leerArchivo(carpeta, nombreArchivo);
+      ListaArreglo<String> nuevasLineas = new ListaArreglo<>(actuales.getTamano() + lineas.getTamano());
+      for (String linea : actuales) {
+        String nueva = porClave.eliminar(claveDe(linea));
+        nuevasLineas.agregarAlFinal(nueva != null ? nueva : linea);
+      }
+      for (String linea : lineas) {
+        if (porClave.eliminar(claveDe(linea)) != null) {
+          nuevasLineas.agregarAlFinal(linea);
+        }
       }
+      return escribirArchivo(carpeta, nombreArchivo, nuevasLineas);
     }
-    return escribirArchivo(nombreArchivo, nuevasLineas);
+  }
+  
+  /**
+   * Clave de una línea de datos: el texto antes del primer '|'.
+   */
+  public static String claveDe(String linea) {
+    int separador = linea.indexOf('|');
+    return separador < 0 ? linea : linea.substring(0, separador);
   }
   
   /**
    * Inicializa archivos con datos por defecto si no existen.
    */
   public static void inicializarArchivos() {
+    inicializarArchivos(CARPETA_DATOS);
+  }
+  
+  /**
+   * Inicializa los archivos de una carpeta de datos, creándola si hace falta.
+   */
+  public static void inicializarArchivos(String carpeta) {
+    crearCarpeta(carpeta);
+    
     // Crear usuarios.txt con usuario admin por defecto
-    File usuariosFile = new File(CARPETA_DATOS + File.separator + "usuarios.txt");
+    File usuariosFile = new File(carpeta + File.separator + "usuarios.txt");
     if (!usuariosFile.exists()) {
       ListaEnlazada<String> usuarios = new ListaEnlazada<>();
       usuarios.agregarAlFinal("admin|admin123|ADMINISTRADOR");
       usuarios.agregarAlFinal("usuario1|user123|CONSUMIDOR");
-      escribirArchivo("usuarios.txt", usuarios);
+      escribirArchivo(carpeta, "usuarios.txt", usuarios);
       System.out.println("Archivo usuarios.txt inicializado con usuarios por defecto");
     }
     
     // Crear archivos vacíos si no existen
     String[] archivos = {"clientes.txt", "vehiculos.txt", "tickets.txt"};
     for (String archivo : archivos) {
-      File file = new File(CARPETA_DATOS + File.separator + archivo);
+      File file = new File(carpeta + File.separator + archivo);
       if (!file.exists()) {
         try {
           file.createNewFile();